@@ -0,0 +1,125 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer, multi-consumer array queue without locks.
+ *
+ * <p>Each slot carries a sequence number that tells producers and consumers whose turn it is, so a single CAS
+ * on the head or tail claims a slot. Capacity is rounded up to a power of two.</p>
+ */
+final class BoundedMpmcQueue<E> {
+
+  private static final int SPIN_LIMIT = 128;
+  private static final long PARK_NANOS = 20_000L;
+
+  private final AtomicReferenceArray<E> items;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  BoundedMpmcQueue(int requestedCapacity) {
+    if (requestedCapacity < 2 || requestedCapacity > (1 << 30)) {
+      throw new IllegalArgumentException("Invalid queue capacity: " + requestedCapacity);
+    }
+    int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+    this.items = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    this.mask = capacity - 1;
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  boolean offer(E item) {
+    long position = tail.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          items.lazySet(index, item);
+          sequences.lazySet(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Backpressure: waits, spinning then parking, until the item fits.
+   */
+  void put(E item) {
+    int attempts = 0;
+    while (!offer(item)) {
+      attempts = backoff(attempts);
+    }
+  }
+
+  E poll() {
+    long position = head.get();
+    while (true) {
+      int index = (int) (position & mask);
+      long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          E item = items.get(index);
+          items.lazySet(index, null);
+          sequences.lazySet(index, position + mask + 1);
+          return item;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+
+  boolean isEmpty() {
+    return head.get() >= tail.get();
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  static int backoff(int attempts) {
+    if (attempts < SPIN_LIMIT) {
+      Thread.onSpinWait();
+    } else {
+      LockSupport.parkNanos(PARK_NANOS);
+    }
+    return attempts + 1;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.message.Version;
+import lombok.Data;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable routing decision for one frame, filled from the header and the {@code target_system}/{@code target_component}
+ * bytes alone (see {@link io.mapsmessaging.mavlink.codec.MavlinkFrameCodec#tryRoute(ByteBuffer, FrameRoute)}).
+ *
+ * <p>Targets follow MAVLink routing rules: {@link #NO_TARGET} when the message has no such field (broadcast), and
+ * {@code 0} is also a broadcast address. The frame's location is kept so the original bytes can be forwarded
+ * unchanged; it is only valid until the source buffer is compacted or refilled.</p>
+ */
+@Data
+public class FrameRoute {
+
+  /** Target value for messages that carry no target field. */
+  public static final int NO_TARGET = -1;
+
+  private Version version;
+  private int messageId;
+  private int systemId;
+  private int componentId;
+  private int sequence;
+  private boolean signed;
+  private FrameFailureReason validated = FrameFailureReason.OK;
+
+  private int targetSystem = NO_TARGET;
+  private int targetComponent = NO_TARGET;
+
+  private int frameStartIndex;
+  private int frameLength;
+
+  /**
+   * @return true if the frame is addressed to every system (no {@code target_system}, or {@code target_system == 0})
+   */
+  public boolean isBroadcast() {
+    return targetSystem <= 0;
+  }
+
+  /**
+   * Returns true if a node with the given ids should receive this frame: broadcasts, frames targeted at the system
+   * with no or a broadcast component, and frames targeted at exactly this system and component. A frame that failed
+   * an integrity check is addressed to nobody.
+   */
+  public boolean isAddressedTo(int nodeSystemId, int nodeComponentId) {
+    if (validated != null && validated.isIntegrityFailure()) {
+      return false;
+    }
+    if (isBroadcast()) {
+      return true;
+    }
+    if (targetSystem != nodeSystemId) {
+      return false;
+    }
+    return targetComponent <= 0 || targetComponent == nodeComponentId;
+  }
+
+  /**
+   * Returns a read-only view of the original wire bytes of the frame in {@code source}. No bytes are copied.
+   */
+  public ByteBuffer frameView(ByteBuffer source) {
+    return source.slice(frameStartIndex, frameLength).asReadOnlyBuffer();
+  }
+
+  /**
+   * Copies the original wire bytes of the frame from {@code source} into {@code out} at its position.
+   *
+   * @throws BufferOverflowException if {@code out} has less than {@link #getFrameLength()} bytes remaining
+   */
+  public void copyFrameTo(ByteBuffer source, ByteBuffer out) {
+    if (out.remaining() < frameLength) {
+      throw new BufferOverflowException();
+    }
+    out.put(out.position(), source, frameStartIndex, frameLength);
+    out.position(out.position() + frameLength);
+  }
+}
@@ -24,6 +24,7 @@ import io.mapsmessaging.mavlink.codec.MavlinkCodec;
 import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
 import io.mapsmessaging.mavlink.context.Detection;
 import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.context.PipelineConfig;
 import io.mapsmessaging.mavlink.message.CompiledMessage;
 import io.mapsmessaging.mavlink.message.Frame;
 import org.xml.sax.SAXException;
@@ -35,6 +36,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class MavlinkEventFactory {
 
@@ -76,17 +78,21 @@ public class MavlinkEventFactory {
     if (frameOptional.isEmpty()) {
       return Optional.empty();
     }
-    Frame frame = frameOptional.get();
+    return Optional.of(process(streamName, frameOptional.get(), timestamp));
+  }
+
+  // Sequence tracking plus a lazily decoded ProcessedFrame; shared by unpack and the pipeline's sequence stage
+  ProcessedFrame process(String streamName, Frame frame, long timestamp) {
     FrameFailureReason failureReason = frame.getValidated();
-    Map<String, Object> fields = frameCodec.parsePayload(frame);
     String name = "";
-    CompiledMessage message = frameCodec.getRegistry().getCompiledMessagesById().get(frame.getMessageId());
+    CompiledMessage message = frameCodec.getRegistry().byId(frame.getMessageId());
     if(message != null){
       name = message.getName();
     }
     if (failureReason == FrameFailureReason.OK || failureReason == FrameFailureReason.UNSIGNED) {
       List<Detection> detectionList = systemContextManager.onValidatedFrame(frame, streamName, timestamp);
-      return Optional.of(new ProcessedFrame(name, frame, fields, true, detectionList));
+      // Fields are decoded on first ProcessedFrame.getFields() call, not here
+      return new ProcessedFrame(name, frame, message, frameCodec::parsePayload, true, detectionList);
     }
     List<Detection> detectionList = systemContextManager.onInvalidFrame(
         frame.getSystemId(),
@@ -94,7 +100,36 @@ public class MavlinkEventFactory {
         timestamp,
         failureReason
     );
-    return Optional.of(new ProcessedFrame(name, frame, Map.of(), false, detectionList));
+    return new ProcessedFrame(name, frame, Map.of(), false, detectionList);
+  }
+
+  MavlinkFrameCodec getFrameCodec() {
+    return frameCodec;
+  }
+
+  /**
+   * Creates a staged pipeline that frames on the submitting thread, tracks sequences on one thread per
+   * system id and decodes payloads on a worker pool.
+   *
+   * @param config stage sizing
+   * @param sink receives every processed frame, from the pipeline's parse threads
+   * @return a started pipeline; close it to stop its threads
+   */
+  public MavlinkPipeline createPipeline(PipelineConfig config, Consumer<ProcessedFrame> sink) {
+    return new MavlinkPipeline(this, config, sink);
+  }
+
+  /**
+   * Routing mode: finds the next valid frame and fills {@code route} from its header and target fields only.
+   * The payload is not decoded and no {@link ProcessedFrame} is built, and system context tracking is skipped.
+   *
+   * @param readModeBuffer buffer in read-mode; its position is advanced past the frame and it is never compacted here
+   * @param route reusable routing result
+   * @return true if a frame was found
+   * @see MavlinkFrameCodec#tryRoute(ByteBuffer, FrameRoute)
+   */
+  public boolean route(ByteBuffer readModeBuffer, FrameRoute route) {
+    return frameCodec.tryRoute(readModeBuffer, route);
   }
 
 
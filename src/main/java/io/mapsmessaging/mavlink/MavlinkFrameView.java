@@ -0,0 +1,52 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.message.Version;
+import lombok.Value;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Zero-copy counterpart of {@link MavlinkFrameEnvelope}.
+ *
+ * <p>{@code payload} and {@code frame} are read-only views into the network buffer the frame was decoded from.
+ * They are only valid until that buffer is compacted, cleared or refilled; copy the bytes if they must outlive it.
+ * {@code frame} holds the complete wire frame (header, payload, CRC and signature) and can be forwarded as-is.</p>
+ */
+@Value
+public class MavlinkFrameView {
+
+  Version version;
+  int messageId;
+
+  int systemId;
+  int componentId;
+  int sequence;
+
+  int payloadLength;
+  ByteBuffer payload;
+  ByteBuffer frame;
+
+  boolean signed;
+  FrameFailureReason validated;
+}
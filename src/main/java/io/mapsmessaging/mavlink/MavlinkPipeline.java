@@ -0,0 +1,237 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.context.PipelineConfig;
+import io.mapsmessaging.mavlink.message.Frame;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Staged alternative to {@link MavlinkEventFactory#unpack(String, ByteBuffer)} for high-rate links.
+ *
+ * <ol>
+ *   <li>Framing runs on the thread calling {@link #submit(String, ByteBuffer)}.</li>
+ *   <li>Sequence tracking runs on one of {@link PipelineConfig#getSequenceThreads()} threads, chosen by system id,
+ *   so every system's frames are tracked in arrival order.</li>
+ *   <li>Payload decoding fans out over {@link PipelineConfig#getParseThreads()} workers, which then hand the
+ *   {@link ProcessedFrame} (fields already decoded) to the sink.</li>
+ * </ol>
+ *
+ * <p>Stages are joined by bounded lock-free queues. A full queue makes the upstream stage wait, so a slow sink
+ * eventually slows {@code submit}. The sink is called concurrently from the parse threads and frames from
+ * different systems, or from the same system, may arrive out of order there.</p>
+ */
+public class MavlinkPipeline implements AutoCloseable {
+
+  private final MavlinkEventFactory factory;
+  private final Consumer<ProcessedFrame> sink;
+  private final BoundedMpmcQueue<FrameEvent>[] sequenceQueues;
+  private final BoundedMpmcQueue<ProcessedFrame> parseQueue;
+  private final List<Thread> sequenceThreads;
+  private final List<Thread> parseThreads;
+
+  private final AtomicInteger activeSubmitters = new AtomicInteger();
+  private final LongAdder sinkFailures = new LongAdder();
+  private final LongAdder stageFailures = new LongAdder();
+  private volatile boolean accepting = true;
+  private volatile boolean sequenceStopping;
+  private volatile boolean parseStopping;
+
+  @SuppressWarnings("unchecked")
+  public MavlinkPipeline(MavlinkEventFactory factory, PipelineConfig config, Consumer<ProcessedFrame> sink) {
+    if (config.getParseThreads() < 1 || config.getSequenceThreads() < 1) {
+      throw new IllegalArgumentException("parseThreads and sequenceThreads must be at least 1");
+    }
+    this.factory = factory;
+    this.sink = sink;
+    this.parseQueue = new BoundedMpmcQueue<>(config.getQueueCapacity());
+    this.sequenceQueues = new BoundedMpmcQueue[config.getSequenceThreads()];
+    this.sequenceThreads = new ArrayList<>();
+    this.parseThreads = new ArrayList<>();
+    for (int i = 0; i < sequenceQueues.length; i++) {
+      BoundedMpmcQueue<FrameEvent> queue = new BoundedMpmcQueue<>(config.getQueueCapacity());
+      sequenceQueues[i] = queue;
+      sequenceThreads.add(start("mavlink-sequence-" + i, () -> runSequenceStage(queue)));
+    }
+    for (int i = 0; i < config.getParseThreads(); i++) {
+      parseThreads.add(start("mavlink-parse-" + i, this::runParseStage));
+    }
+  }
+
+  /**
+   * Stage 1: frames every complete frame in the buffer and queues it for sequence tracking.
+   * Same buffer contract as {@link io.mapsmessaging.mavlink.codec.MavlinkFrameCodec#drainFrames}: read-mode in,
+   * compacted once on return.
+   *
+   * @return number of frames queued
+   */
+  public int submit(String streamName, ByteBuffer networkOwnedBuffer) {
+    enter();
+    try {
+      long timestamp = System.nanoTime();
+      return factory.getFrameCodec().drainFrames(networkOwnedBuffer,
+          frame -> enqueue(new FrameEvent(streamName, frame.toFrame(), timestamp)));
+    } finally {
+      activeSubmitters.decrementAndGet();
+    }
+  }
+
+  /**
+   * Queues an already framed frame, for example one delivered by a {@link StreamDecoder}.
+   */
+  public void submit(String streamName, Frame frame, long receivedAtNanos) {
+    enter();
+    try {
+      enqueue(new FrameEvent(streamName, frame, receivedAtNanos));
+    } finally {
+      activeSubmitters.decrementAndGet();
+    }
+  }
+
+  /**
+   * @return number of sink invocations that threw; the pipeline keeps running
+   */
+  public long getSinkFailures() {
+    return sinkFailures.sum();
+  }
+
+  /**
+   * @return number of frames dropped because sequence tracking or decoding threw; the stage threads keep running
+   */
+  public long getStageFailures() {
+    return stageFailures.sum();
+  }
+
+  /**
+   * Stops accepting frames, lets every queued frame reach the sink, then stops the stage threads.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    accepting = false;
+    int attempts = 0;
+    while (activeSubmitters.get() != 0) {
+      attempts = BoundedMpmcQueue.backoff(attempts);
+    }
+    sequenceStopping = true;
+    for (Thread thread : sequenceThreads) {
+      thread.join();
+    }
+    parseStopping = true;
+    for (Thread thread : parseThreads) {
+      thread.join();
+    }
+  }
+
+  private void enter() {
+    activeSubmitters.incrementAndGet();
+    if (!accepting) {
+      activeSubmitters.decrementAndGet();
+      throw new IllegalStateException("Pipeline is closed");
+    }
+  }
+
+  private void enqueue(FrameEvent event) {
+    sequenceQueues[event.frame.getSystemId() % sequenceQueues.length].put(event);
+  }
+
+  private void runSequenceStage(BoundedMpmcQueue<FrameEvent> queue) {
+    int idle = 0;
+    while (true) {
+      FrameEvent event = queue.poll();
+      if (event != null) {
+        idle = 0;
+        ProcessedFrame processed;
+        try {
+          processed = factory.process(event.streamName, event.frame, event.receivedAtNanos);
+        } catch (RuntimeException | Error e) {
+          // A dead stage thread would leave its queue full and block submit forever
+          stageFailures.increment();
+          continue;
+        }
+        parseQueue.put(processed);
+      } else if (sequenceStopping && queue.isEmpty()) {
+        return;
+      } else {
+        idle = BoundedMpmcQueue.backoff(idle);
+      }
+    }
+  }
+
+  private void runParseStage() {
+    int idle = 0;
+    while (true) {
+      ProcessedFrame processed = parseQueue.poll();
+      if (processed != null) {
+        idle = 0;
+        try {
+          deliver(processed);
+        } catch (RuntimeException | Error e) {
+          stageFailures.increment();
+        }
+      } else if (parseStopping && parseQueue.isEmpty()) {
+        return;
+      } else {
+        idle = BoundedMpmcQueue.backoff(idle);
+      }
+    }
+  }
+
+  private void deliver(ProcessedFrame processed) {
+    if (processed.isValid()) {
+      try {
+        processed.getFields();
+      } catch (UncheckedIOException ignored) {
+        // Left undecoded; the sink sees the same failure from getFields()
+      }
+    }
+    try {
+      sink.accept(processed);
+    } catch (RuntimeException e) {
+      sinkFailures.increment();
+    }
+  }
+
+  private static Thread start(String name, Runnable task) {
+    Thread thread = new Thread(task, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  private static final class FrameEvent {
+    private final String streamName;
+    private final Frame frame;
+    private final long receivedAtNanos;
+
+    private FrameEvent(String streamName, Frame frame, long receivedAtNanos) {
+      this.streamName = streamName;
+      this.frame = frame;
+      this.receivedAtNanos = receivedAtNanos;
+    }
+  }
+}
@@ -21,17 +21,128 @@
 package io.mapsmessaging.mavlink;
 
 import io.mapsmessaging.mavlink.context.Detection;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
 import io.mapsmessaging.mavlink.message.Frame;
-import lombok.Value;
+import io.mapsmessaging.mavlink.message.MessageView;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
-@Value
+/**
+ * Result of {@link MavlinkEventFactory#unpack}: the frame, its validation outcome and detections.
+ *
+ * <p>Payload fields are decoded lazily: nothing is parsed until {@link #getFields()} is first called, and the
+ * resulting map is then memoised. Consumers that only inspect the header, {@link #getMessageName()} or the
+ * detections never pay for the decode. {@link #getView()} offers typed, allocation-free reads instead of the map.
+ * Equality uses the frame (which carries the payload), never the decoded fields, so it never forces a decode.</p>
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class ProcessedFrame {
-  String messageName;
-  Frame frame;
-  Map<String, Object> fields;
-  boolean valid;
-  List<Detection> detections;
+
+  /** Decodes the payload of a frame into a field map. */
+  @FunctionalInterface
+  public interface FieldDecoder {
+    Map<String, Object> decode(Frame frame) throws IOException;
+  }
+
+  @Getter
+  @ToString.Include
+  @EqualsAndHashCode.Include
+  private final String messageName;
+
+  @Getter
+  @ToString.Include
+  @EqualsAndHashCode.Include
+  private final Frame frame;
+
+  @Getter
+  @ToString.Include
+  @EqualsAndHashCode.Include
+  private final boolean valid;
+
+  @Getter
+  @ToString.Include
+  @EqualsAndHashCode.Include
+  private final List<Detection> detections;
+
+  private final CompiledMessage compiledMessage;
+  private final FieldDecoder decoder;
+
+  private volatile Map<String, Object> fields;
+  private volatile MessageView view;
+
+  /**
+   * Creates a frame whose fields are already decoded. A {@code null} map is treated as empty.
+   */
+  public ProcessedFrame(String messageName, Frame frame, Map<String, Object> fields, boolean valid, List<Detection> detections) {
+    this.messageName = messageName;
+    this.frame = frame;
+    this.fields = fields != null ? fields : Map.of();
+    this.valid = valid;
+    this.detections = detections;
+    this.compiledMessage = null;
+    this.decoder = null;
+  }
+
+  /**
+   * Creates a frame whose fields are decoded by {@code decoder} on first access.
+   *
+   * @param compiledMessage compiled message for the frame's id, or {@code null} if unknown (no typed view)
+   */
+  public ProcessedFrame(String messageName, Frame frame, CompiledMessage compiledMessage, FieldDecoder decoder,
+                        boolean valid, List<Detection> detections) {
+    this.messageName = messageName;
+    this.frame = frame;
+    this.compiledMessage = compiledMessage;
+    this.decoder = Objects.requireNonNull(decoder, "decoder");
+    this.valid = valid;
+    this.detections = detections;
+  }
+
+  /**
+   * Returns the decoded payload fields, decoding them on the first call.
+   *
+   * @throws UncheckedIOException if the payload cannot be decoded
+   */
+  public Map<String, Object> getFields() {
+    Map<String, Object> result = fields;
+    if (result == null) {
+      // Decoding is idempotent, so a race only costs a duplicate decode
+      try {
+        result = decoder.decode(frame);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to decode payload of " + messageName, e);
+      }
+      fields = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return true once the field map has been decoded (or was supplied up front)
+   */
+  public boolean isDecoded() {
+    return fields != null;
+  }
+
+  /**
+   * Returns a flyweight view for typed reads straight from the payload bytes, created on first call.
+   *
+   * @return the view, or {@code null} if the message is not known to the dialect
+   */
+  public MessageView getView() {
+    MessageView result = view;
+    if (result == null && compiledMessage != null && frame.getPayload() != null) {
+      result = new MessageView().wrap(compiledMessage, frame.getPayload(), frame.getPayloadLength());
+      view = result;
+    }
+    return result;
+  }
 }
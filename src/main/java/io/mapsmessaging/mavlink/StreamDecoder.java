@@ -0,0 +1,258 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.context.StreamDecoderConfig;
+import io.mapsmessaging.mavlink.context.StreamStats;
+import io.mapsmessaging.mavlink.framing.FrameConsumer;
+import io.mapsmessaging.mavlink.framing.FrameScanStats;
+import io.mapsmessaging.mavlink.message.MutableFrame;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Demultiplexes many byte streams (UDP peers, serial ports, ...) onto one {@link MavlinkFrameCodec}.
+ *
+ * <p>Each stream id owns a bounded receive buffer, optionally off-heap, that carries partial frames across
+ * reads, plus its own byte, frame, CRC failure, signature failure and resync counters. Streams that have been
+ * idle longer than {@link StreamDecoderConfig#getIdleTtlNanos()} are dropped by {@link #sweep(long)} and their
+ * buffers are pooled for reuse by new streams.</p>
+ *
+ * <p>Different streams may be fed from different threads; calls for the same stream are serialised.</p>
+ */
+public class StreamDecoder {
+
+  // Largest possible frame: v2 header, 255 byte payload, CRC and signature, plus the STX byte
+  private static final int MAX_FRAME_LENGTH = 1 + 10 + 255 + 2 + 13;
+
+  private final MavlinkFrameCodec frameCodec;
+  private final StreamDecoderConfig config;
+  private final Map<String, StreamState> streams;
+  private final Queue<ByteBuffer> bufferPool;
+  private final AtomicInteger pooledBuffers;
+
+  public StreamDecoder(MavlinkFrameCodec frameCodec) {
+    this(frameCodec, new StreamDecoderConfig());
+  }
+
+  public StreamDecoder(MavlinkFrameCodec frameCodec, StreamDecoderConfig config) {
+    if (config.getBufferSize() < 2 * MAX_FRAME_LENGTH) {
+      throw new IllegalArgumentException("bufferSize must be at least " + (2 * MAX_FRAME_LENGTH));
+    }
+    this.frameCodec = frameCodec;
+    this.config = config;
+    this.streams = new ConcurrentHashMap<>();
+    this.bufferPool = new ConcurrentLinkedQueue<>();
+    this.pooledBuffers = new AtomicInteger();
+  }
+
+  public int decode(String streamId, ByteBuffer data, FrameConsumer consumer) {
+    return decode(streamId, data, consumer, System.nanoTime());
+  }
+
+  /**
+   * Appends {@code data} to the stream's receive buffer and hands every complete frame to {@code consumer}.
+   * Trailing partial frames are kept for the next call.
+   *
+   * <p>The frame passed to the consumer is reused; call {@link MutableFrame#toFrame()} to keep it.</p>
+   *
+   * @param data received bytes in read-mode; fully consumed
+   * @return number of frames delivered
+   */
+  public int decode(String streamId, ByteBuffer data, FrameConsumer consumer, long nowNanos) {
+    while (true) {
+      StreamState state = streams.computeIfAbsent(streamId, this::createState);
+      synchronized (state) {
+        if (!state.closed) {
+          return state.decode(data, consumer, nowNanos);
+        }
+      }
+    }
+  }
+
+  public Optional<StreamStats> getStats(String streamId) {
+    StreamState state = streams.get(streamId);
+    if (state == null) {
+      return Optional.empty();
+    }
+    synchronized (state) {
+      return Optional.of(state.snapshot());
+    }
+  }
+
+  public List<StreamStats> snapshotAll() {
+    List<StreamStats> snapshots = new ArrayList<>();
+    for (StreamState state : streams.values()) {
+      synchronized (state) {
+        if (!state.closed) {
+          snapshots.add(state.snapshot());
+        }
+      }
+    }
+    return snapshots;
+  }
+
+  public int getStreamCount() {
+    return streams.size();
+  }
+
+  /**
+   * Drops a stream and any partial frame it was holding.
+   *
+   * @return true if this call removed the stream; false if it did not exist or was already removed or swept
+   */
+  public boolean remove(String streamId) {
+    StreamState state = streams.get(streamId);
+    if (state == null) {
+      return false;
+    }
+    synchronized (state) {
+      if (state.closed) {
+        return false;
+      }
+      close(state);
+    }
+    return true;
+  }
+
+  /**
+   * Removes every stream that has seen no data for longer than the configured idle TTL.
+   *
+   * @return number of streams removed
+   */
+  public int sweep(long nowNanos) {
+    int removed = 0;
+    for (StreamState state : streams.values()) {
+      synchronized (state) {
+        if (!state.closed && nowNanos - state.lastActivityAtNanos > config.getIdleTtlNanos()) {
+          close(state);
+          removed++;
+        }
+      }
+    }
+    return removed;
+  }
+
+  private StreamState createState(String streamId) {
+    ByteBuffer buffer = bufferPool.poll();
+    if (buffer != null) {
+      pooledBuffers.decrementAndGet();
+    } else {
+      buffer = config.isDirectBuffers()
+          ? ByteBuffer.allocateDirect(config.getBufferSize())
+          : ByteBuffer.allocate(config.getBufferSize());
+    }
+    return new StreamState(streamId, buffer);
+  }
+
+  // Caller holds the state's monitor
+  private void close(StreamState state) {
+    state.closed = true;
+    streams.remove(state.streamId, state);
+    ByteBuffer buffer = state.buffer;
+    buffer.clear();
+    if (pooledBuffers.incrementAndGet() <= config.getMaxPooledBuffers()) {
+      bufferPool.offer(buffer);
+    } else {
+      pooledBuffers.decrementAndGet();
+    }
+  }
+
+  private final class StreamState implements FrameConsumer {
+
+    private final String streamId;
+    // Write-mode between calls; holds at most one trailing partial frame
+    private final ByteBuffer buffer;
+    private final MutableFrame frame = new MutableFrame();
+    private final FrameScanStats scanStats = new FrameScanStats();
+
+    private FrameConsumer delegate;
+    private boolean closed;
+    private long bytesReceived;
+    private long framesDecoded;
+    private long crcFailures;
+    private long signatureFailures;
+    private long lastActivityAtNanos;
+
+    private StreamState(String streamId, ByteBuffer buffer) {
+      this.streamId = streamId;
+      this.buffer = buffer;
+    }
+
+    private int decode(ByteBuffer data, FrameConsumer consumer, long nowNanos) {
+      lastActivityAtNanos = nowNanos;
+      bytesReceived += data.remaining();
+      delegate = consumer;
+      int frames = 0;
+      try {
+        while (data.hasRemaining()) {
+          int chunk = Math.min(buffer.remaining(), data.remaining());
+          int end = data.position() + chunk;
+          int limit = data.limit();
+          data.limit(end);
+          buffer.put(data);
+          data.limit(limit);
+          buffer.flip();
+          frames += frameCodec.drainFrames(buffer, frame, this, scanStats);
+        }
+      } finally {
+        delegate = null;
+      }
+      return frames;
+    }
+
+    @Override
+    public void onFrame(MutableFrame decoded) {
+      framesDecoded++;
+      FrameFailureReason reason = decoded.getValidated();
+      if (reason == FrameFailureReason.CRC_FAILED || reason == FrameFailureReason.CRC_AND_SIGNATURE_FAILED) {
+        crcFailures++;
+      } else if (reason == FrameFailureReason.SIGNATURE_FAILED || reason == FrameFailureReason.REPLAYED) {
+        signatureFailures++;
+      }
+      delegate.onFrame(decoded);
+    }
+
+    private StreamStats snapshot() {
+      StreamStats stats = new StreamStats();
+      stats.setStreamId(streamId);
+      stats.setBytesReceived(bytesReceived);
+      stats.setFramesDecoded(framesDecoded);
+      stats.setCrcFailures(crcFailures);
+      stats.setSignatureFailures(signatureFailures);
+      stats.setResyncBytesSkipped(scanStats.getSkippedBytes());
+      stats.setFilteredFrames(scanStats.getFilteredFrames());
+      stats.setBufferedBytes(buffer.position());
+      stats.setLastActivityAtNanos(lastActivityAtNanos);
+      return stats;
+    }
+  }
+}
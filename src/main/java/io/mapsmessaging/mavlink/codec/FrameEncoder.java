@@ -49,13 +49,12 @@ public class FrameEncoder {
     writeHeader(buffer, payloadLength, sequence, systemId, componentId, messageId);
     buffer.put(payload);
 
-    byte[] bytesBeforeCrc = snapshot(buffer);
-    short crcValue = computeCrc(bytesBeforeCrc, compiledMessage);
+    short crcValue = computeCrc(buffer, compiledMessage);
 
     buffer.put((byte) (crcValue & 0xFF));
     buffer.put((byte) ((crcValue >> 8) & 0xFF));
 
-    return snapshot(buffer);
+    return buffer.array();
   }
 
   private void writeHeader(
@@ -78,21 +77,14 @@ public class FrameEncoder {
     buffer.put((byte) ((messageId >> 16) & 0xFF));
   }
 
-  private short computeCrc(byte[] frameBytesWithoutCrc, CompiledMessage compiledMessage) {
+  private short computeCrc(ByteBuffer frameWithoutCrc, CompiledMessage compiledMessage) {
     int start = 1;
-    int lengthForCrc = frameBytesWithoutCrc.length - 1;
+    int lengthForCrc = frameWithoutCrc.position() - 1;
 
     X25Crc crc = new X25Crc();
-    crc.update(frameBytesWithoutCrc, start, lengthForCrc);
+    crc.update(frameWithoutCrc, start, lengthForCrc);
     crc.update(compiledMessage.getMessageDefinition().getExtraCrc() & 0xFF);
 
     return crc.getCrcAsShort();
   }
-
-  private byte[] snapshot(ByteBuffer buffer) {
-    int length = buffer.position();
-    byte[] bytes = new byte[length];
-    System.arraycopy(buffer.array(), 0, bytes, 0, length);
-    return bytes;
-  }
 }
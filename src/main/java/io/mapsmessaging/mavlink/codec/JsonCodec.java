@@ -72,7 +72,7 @@ public class JsonCodec {
     int sequence = jsonObject.has("sequence") ? jsonObject.get("sequence").getAsInt() : 0;
 
     MessageRegistry registry = packer.getMessageRegistry();
-    CompiledMessage compiledMessage = registry.getCompiledMessagesById().get(messageId);
+    CompiledMessage compiledMessage = registry.byId(messageId);
     if (compiledMessage == null) {
       throw new IOException("Unknown MAVLink message id: " + messageId + " for dialect " + dialectName);
     }
@@ -20,10 +20,13 @@
 
 package io.mapsmessaging.mavlink.codec;
 
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageRecord;
 import io.mapsmessaging.mavlink.message.MessageRegistry;
 import lombok.Getter;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.Objects;
 /**
@@ -89,13 +92,127 @@ public final class MavlinkCodec {
   public Map<String, Object> parsePayload(int messageId, byte[] payloadBytes) throws IOException {
     Objects.requireNonNull(payloadBytes, "payloadBytes");
 
-    if (!registry.getCompiledMessagesById().containsKey(messageId)) {
+    if (registry.byId(messageId) == null) {
       throw new IOException("Unknown MAVLink message id: " + messageId);
     }
 
     return payloadParser.parsePayload(messageId, payloadBytes);
   }
 
+  /**
+   * Decodes the first {@code length} bytes of a (possibly larger, reused) array as a MAVLink payload.
+   *
+   * @param messageId MAVLink message id
+   * @param payloadBytes array holding the payload from index 0
+   * @param length number of payload bytes
+   * @return field map keyed by field name
+   * @throws IOException if the message id is unknown or decoding fails
+   * @throws NullPointerException if {@code payloadBytes} is {@code null}
+   */
+  public Map<String, Object> parsePayload(int messageId, byte[] payloadBytes, int length) throws IOException {
+    Objects.requireNonNull(payloadBytes, "payloadBytes");
+
+    if (registry.byId(messageId) == null) {
+      throw new IOException("Unknown MAVLink message id: " + messageId);
+    }
+
+    return payloadParser.parsePayload(messageId, payloadBytes, length);
+  }
+
+  /**
+   * Decodes the remaining bytes of a buffer (for example a payload view into a network buffer) without copying.
+   * The buffer's position and limit are not modified.
+   *
+   * @param messageId MAVLink message id
+   * @param payload buffer whose remaining bytes are the payload
+   * @return field map keyed by field name
+   * @throws IOException if the message id is unknown or decoding fails
+   * @throws NullPointerException if {@code payload} is {@code null}
+   */
+  public Map<String, Object> parsePayload(int messageId, ByteBuffer payload) throws IOException {
+    Objects.requireNonNull(payload, "payload");
+
+    if (registry.byId(messageId) == null) {
+      throw new IOException("Unknown MAVLink message id: " + messageId);
+    }
+
+    return payloadParser.parsePayload(messageId, payload);
+  }
+
+  /**
+   * Decodes a payload like {@link #parsePayload(int, ByteBuffer)}, but returns numeric array fields as primitive
+   * arrays matched to their wire type (for example {@code uint16_t[72]} as {@code int[72]}) rather than lists of
+   * boxed values. Scalar fields and char arrays are decoded as usual. The buffer is not modified.
+   *
+   * @param messageId MAVLink message id
+   * @param payload buffer whose remaining bytes are the payload
+   * @return field map keyed by field name
+   * @throws IOException if the message id is unknown or decoding fails
+   * @throws NullPointerException if {@code payload} is {@code null}
+   */
+  public Map<String, Object> parsePayloadWithPrimitiveArrays(int messageId, ByteBuffer payload) throws IOException {
+    Objects.requireNonNull(payload, "payload");
+
+    if (registry.byId(messageId) == null) {
+      throw new IOException("Unknown MAVLink message id: " + messageId);
+    }
+
+    return payloadParser.parsePayloadWithPrimitiveArrays(messageId, payload);
+  }
+
+  /**
+   * Creates a reusable primitive-backed record for the given message type.
+   *
+   * @param messageId MAVLink message id
+   * @return empty record sized for the message
+   * @throws IOException if the message id is unknown
+   */
+  public MessageRecord newRecord(int messageId) throws IOException {
+    CompiledMessage compiledMessage = registry.byId(messageId);
+    if (compiledMessage == null) {
+      throw new IOException("Unknown MAVLink message id: " + messageId);
+    }
+    return compiledMessage.getLayout().newRecord();
+  }
+
+  /**
+   * Decodes the remaining bytes of {@code payload} into a record without building a map or boxing values.
+   * The buffer's position and limit are not modified.
+   *
+   * @param payload buffer whose remaining bytes are the payload of the record's message type
+   * @param target record created by {@link #newRecord(int)}
+   * @throws NullPointerException if {@code payload} or {@code target} is {@code null}
+   */
+  public void decodeRecord(ByteBuffer payload, MessageRecord target) {
+    Objects.requireNonNull(payload, "payload");
+    Objects.requireNonNull(target, "target");
+    target.getLayout().decode(payload, target);
+  }
+
+  /**
+   * Encodes a record into {@code out} at its position, writing fields up to the first absent extension.
+   * The position is advanced past the encoded payload.
+   *
+   * @param source record to encode
+   * @param out destination buffer with at least the message's full payload size remaining
+   * @return number of payload bytes written
+   * @throws NullPointerException if {@code source} or {@code out} is {@code null}
+   */
+  public int encodeRecord(MessageRecord source, ByteBuffer out) {
+    Objects.requireNonNull(source, "source");
+    Objects.requireNonNull(out, "out");
+    return source.getLayout().encode(source, out);
+  }
+
+  /**
+   * Switches record encode/decode for every message in the dialect to generated straight-line codecs.
+   *
+   * @return number of messages now using a generated codec
+   */
+  public int enableGeneratedCodecs() {
+    return registry.enableGeneratedCodecs();
+  }
+
   /**
    * Encodes a field map into MAVLink payload bytes for the given message id.
    *
@@ -108,10 +225,31 @@ public final class MavlinkCodec {
   public byte[] encodePayload(int messageId, Map<String, Object> values) throws IOException {
     Objects.requireNonNull(values, "values");
 
-    if (!registry.getCompiledMessagesById().containsKey(messageId)) {
+    if (registry.byId(messageId) == null) {
       throw new IOException("Unknown MAVLink message id: " + messageId);
     }
 
     return payloadPacker.packPayload(messageId, values);
   }
+
+  /**
+   * Encodes a field map directly into {@code out} at its position, without an intermediate array.
+   *
+   * @param messageId MAVLink message id
+   * @param values field values keyed by field name
+   * @param out destination buffer; its position is advanced past the payload
+   * @return number of payload bytes written
+   * @throws IOException if the message id is unknown, encoding fails, or {@code out} is too small
+   * @throws NullPointerException if {@code values} or {@code out} is {@code null}
+   */
+  public int encodePayload(int messageId, Map<String, Object> values, ByteBuffer out) throws IOException {
+    Objects.requireNonNull(values, "values");
+    Objects.requireNonNull(out, "out");
+
+    if (registry.byId(messageId) == null) {
+      throw new IOException("Unknown MAVLink message id: " + messageId);
+    }
+
+    return payloadPacker.packPayload(messageId, values, out);
+  }
 }
@@ -20,11 +20,18 @@
 
 package io.mapsmessaging.mavlink.codec;
 
+import io.mapsmessaging.mavlink.FrameRoute;
 import io.mapsmessaging.mavlink.MavlinkFrameEnvelope;
+import io.mapsmessaging.mavlink.MavlinkFrameView;
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
 import io.mapsmessaging.mavlink.framing.*;
 import io.mapsmessaging.mavlink.message.CompiledMessage;
 import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MessageLookupTable;
+import io.mapsmessaging.mavlink.message.MessageRecord;
 import io.mapsmessaging.mavlink.message.MessageRegistry;
+import io.mapsmessaging.mavlink.message.MessageView;
+import io.mapsmessaging.mavlink.message.MutableFrame;
 import io.mapsmessaging.mavlink.message.Version;
 import io.mapsmessaging.mavlink.signing.NoSigningKeyProvider;
 
@@ -48,6 +55,8 @@ import java.util.Optional;
  * <ul>
  *   <li>{@link #tryUnpackFrame(ByteBuffer)} consumes a network-owned {@link ByteBuffer} in write-mode and
  *       may {@code flip}/{@code compact} internally.</li>
+ *   <li>{@link #tryUnpackHeaderAndPayloadView(ByteBuffer)} consumes a buffer in read-mode and never compacts it;
+ *       the returned views stay valid until the caller compacts or refills the buffer.</li>
  *   <li>{@link #packFrame(ByteBuffer, Frame)} writes a complete MAVLink frame into the provided output
  *       buffer at its current position.</li>
  * </ul>
@@ -57,7 +66,8 @@ public final class MavlinkFrameCodec {
   private final MavlinkCodec payloadCodec;
   private final FrameFramer framer;
   private final FramePacker packer;
-
+  private final MessageLookupTable lookupTable;
+  private final ThreadLocal<MutableFrame> viewScratch = ThreadLocal.withInitial(MutableFrame::new);
 
   public MavlinkFrameCodec(MavlinkCodec payloadCodec) {
     this(payloadCodec, new NoSigningKeyProvider());
@@ -75,6 +85,7 @@ public final class MavlinkFrameCodec {
 
     this.framer = new FrameFramer(dialectRegistry, signingKeyProvider);
     this.packer = new FramePacker(dialectRegistry, signingKeyProvider);
+    this.lookupTable = payloadCodec.getRegistry().getLookupTable();
   }
 
   /**
@@ -107,11 +118,58 @@ public final class MavlinkFrameCodec {
     return framer.tryDecode(networkOwnedBuffer);
   }
 
+  /**
+   * Allocation-free variant of {@link #tryUnpackFrame(ByteBuffer)}.
+   *
+   * <p>The decoded header, payload and signature are written into the caller-owned {@code target}, which
+   * is overwritten on the next call. Use {@link MutableFrame#toFrame()} to keep a frame beyond that.</p>
+   *
+   * @param networkOwnedBuffer network buffer in write-mode (may be flipped/compacted internally)
+   * @param target reusable frame to decode into
+   * @return true if a frame was decoded into {@code target}
+   */
+  public boolean tryUnpackFrameInto(ByteBuffer networkOwnedBuffer, MutableFrame target) {
+    return framer.tryDecodeInto(networkOwnedBuffer, target);
+  }
+
+  /**
+   * Decodes every complete frame in the buffer, compacting once at the end of the batch.
+   *
+   * <p>The frame passed to {@code consumer} is reused for each frame; copy it with {@link MutableFrame#toFrame()}
+   * if it must be retained.</p>
+   *
+   * @param networkOwnedBuffer network buffer (compacted once when the batch is done)
+   * @param consumer callback invoked for each decoded frame
+   * @return number of frames decoded
+   */
+  public int drainFrames(ByteBuffer networkOwnedBuffer, FrameConsumer consumer) {
+    return framer.drainFrames(networkOwnedBuffer, consumer);
+  }
+
+  /**
+   * Decodes every complete frame into a caller-owned {@code target}, adding resync and filter skips to
+   * {@code stats}. Same buffer contract as {@link #drainFrames(ByteBuffer, FrameConsumer)}.
+   *
+   * @param networkOwnedBuffer network buffer (compacted once when the batch is done)
+   * @param target reusable frame passed to {@code consumer}
+   * @param consumer callback invoked for each decoded frame
+   * @param stats accumulator for skipped bytes and filtered frames, or null
+   * @return number of frames decoded
+   */
+  public int drainFrames(ByteBuffer networkOwnedBuffer, MutableFrame target, FrameConsumer consumer, FrameScanStats stats) {
+    return framer.drainFrames(networkOwnedBuffer, target, consumer, stats);
+  }
+
   /**
    * Attempts to decode a single MAVLink frame and returns header + raw payload bytes only.
    *
    * <p>This does NOT decode payload fields. It is intended for routing decisions based on header metadata.</p>
    *
+   * <p>The envelope owns a copy of the payload (one copy, straight from the buffer), because the buffer is
+   * compacted before this method returns. Routing paths that forward bytes without copying should use
+   * {@link #tryUnpackHeaderAndPayloadView(ByteBuffer)} or {@link #tryRoute(ByteBuffer, FrameRoute)}, which leave
+   * compaction to the caller.</p>
+   *
    * @param networkOwnedBuffer network buffer in write-mode (may be flipped/compacted internally)
    * @return envelope containing header fields + raw payload bytes if a complete valid frame is available
    */
@@ -138,6 +196,83 @@ public final class MavlinkFrameCodec {
     return Optional.of(envelope);
   }
 
+  /**
+   * Zero-copy variant of {@link #tryUnpackHeaderAndPayload(ByteBuffer)}.
+   *
+   * <p>The buffer must be in read-mode (position..limit holds received bytes). On success its position is moved
+   * past the frame and the returned view references the payload and whole frame in place. The buffer is never
+   * compacted here: the caller compacts once it has finished with every view taken from it.</p>
+   *
+   * @param readModeBuffer buffer in read-mode, owned by the caller
+   * @return view of the next complete valid frame, if available
+   */
+  public Optional<MavlinkFrameView> tryUnpackHeaderAndPayloadView(ByteBuffer readModeBuffer) {
+    MutableFrame scratch = viewScratch.get();
+    if (!framer.tryDecodeHeader(readModeBuffer, scratch)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(new MavlinkFrameView(
+        scratch.getVersion(),
+        scratch.getMessageId(),
+        scratch.getSystemId(),
+        scratch.getComponentId(),
+        scratch.getSequence(),
+        scratch.getPayloadLength(),
+        scratch.payloadView(readModeBuffer),
+        scratch.frameView(readModeBuffer),
+        scratch.isSigned(),
+        scratch.getValidated()
+    ));
+  }
+
+  /**
+   * Routing fast path: validates the next frame and fills {@code route} from its header and, when the message has
+   * them, the {@code target_system}/{@code target_component} bytes read at precomputed payload offsets. No payload
+   * is copied and no field is decoded, so the frame can be forwarded with {@link FrameRoute#copyFrameTo} or
+   * {@link FrameRoute#frameView} exactly as received.
+   *
+   * <p>Frames that fail an integrity check (CRC, signature, replay or structure, see
+   * {@link FrameFailureReason#isIntegrityFailure()}) are consumed and skipped, so a router never forwards corrupted
+   * or forged bytes.</p>
+   *
+   * <p>The buffer contract matches {@link #tryUnpackHeaderAndPayloadView(ByteBuffer)}: read-mode, position advanced
+   * past the frame, never compacted here.</p>
+   *
+   * @param readModeBuffer buffer in read-mode, owned by the caller
+   * @param route reusable routing result, overwritten on success
+   * @return true if a complete valid frame was found
+   */
+  public boolean tryRoute(ByteBuffer readModeBuffer, FrameRoute route) {
+    MutableFrame scratch = viewScratch.get();
+    do {
+      if (!framer.tryDecodeHeader(readModeBuffer, scratch)) {
+        return false;
+      }
+    } while (scratch.getValidated().isIntegrityFailure());
+    int messageId = scratch.getMessageId();
+    route.setVersion(scratch.getVersion());
+    route.setMessageId(messageId);
+    route.setSystemId(scratch.getSystemId());
+    route.setComponentId(scratch.getComponentId());
+    route.setSequence(scratch.getSequence());
+    route.setSigned(scratch.isSigned());
+    route.setValidated(scratch.getValidated());
+    route.setFrameStartIndex(scratch.getFrameStartIndex());
+    route.setFrameLength(scratch.getFrameLength());
+    route.setTargetSystem(targetByte(readModeBuffer, scratch, lookupTable.targetSystemOffset(messageId)));
+    route.setTargetComponent(targetByte(readModeBuffer, scratch, lookupTable.targetComponentOffset(messageId)));
+    return true;
+  }
+
+  private static int targetByte(ByteBuffer buffer, MutableFrame frame, int offset) {
+    if (offset == MessageLookupTable.UNKNOWN) {
+      return FrameRoute.NO_TARGET;
+    }
+    // Bytes trimmed from a truncated v2 payload are zero, which is also the broadcast address
+    return offset < frame.getPayloadLength() ? buffer.get(frame.getPayloadStartIndex() + offset) & 0xFF : 0;
+  }
+
   /**
    * Packs a MAVLink frame into the provided output buffer at its current position.
    *
@@ -150,6 +285,131 @@ public final class MavlinkFrameCodec {
     packer.pack(out, frame);
   }
 
+  /**
+   * Encodes a complete frame for a field map in a single pass: header, payload fields, CRC and (if requested)
+   * signature are written straight into {@code out} and the length byte is backpatched. No payload array or
+   * {@link Frame} is allocated.
+   *
+   * @param out output buffer, written at its current position; on failure the position is restored
+   * @param version MAVLink version
+   * @param sequence packet sequence number
+   * @param systemId sending system id
+   * @param componentId sending component id
+   * @param messageId MAVLink message id
+   * @param values field values keyed by field name
+   * @param signed true to append a v2 signature using the configured signing key provider
+   * @return number of bytes written
+   * @throws IOException if the message id is unknown or the values cannot be encoded
+   * @throws IllegalArgumentException if {@code out} cannot hold the largest frame for the message
+   */
+  public int encodeFrame(ByteBuffer out, Version version, int sequence, int systemId, int componentId,
+                         int messageId, Map<String, Object> values, boolean signed) throws IOException {
+    Objects.requireNonNull(values, "values");
+    compiledMessage(messageId);
+    return packer.pack(out, version, sequence, systemId, componentId, messageId, signed,
+        buffer -> payloadCodec.encodePayload(messageId, values, buffer));
+  }
+
+  /**
+   * Record variant of {@link #encodeFrame(ByteBuffer, Version, int, int, int, int, Map, boolean)}: the payload is
+   * written from the record's primitive slots, up to its first absent extension.
+   *
+   * @return number of bytes written
+   * @throws IOException never for a record created by this dialect; declared for symmetry with the map variant
+   */
+  public int encodeFrame(ByteBuffer out, Version version, int sequence, int systemId, int componentId,
+                         MessageRecord record, boolean signed) throws IOException {
+    Objects.requireNonNull(record, "record");
+    return packer.pack(out, version, sequence, systemId, componentId, record.getMessageId(), signed,
+        buffer -> payloadCodec.encodeRecord(record, buffer));
+  }
+
+  /**
+   * Enables or disables MAVLink v2 trailing-zero payload truncation on {@link #packFrame(ByteBuffer, Frame)}.
+   *
+   * <p>The packed frame's {@code payloadLength} is updated to the number of bytes actually sent.
+   * Decoding always zero-extends short v2 payloads, so this only affects the sending side.</p>
+   *
+   * @param truncate true to trim trailing zero bytes from v2 payloads
+   */
+  public void setTruncateTrailingZeros(boolean truncate) {
+    packer.setTruncateTrailingZeros(truncate);
+  }
+
+  /**
+   * Returns whether v2 payloads are packed with trailing zero bytes removed.
+   *
+   * @return true if truncation is enabled
+   */
+  public boolean isTruncateTrailingZeros() {
+    return packer.isTruncateTrailingZeros();
+  }
+
+  /**
+   * Sets the link id and timestamp source used when packing signed v2 frames.
+   *
+   * @param signingContext signing context; must not be null
+   */
+  public void setSigningContext(SigningContext signingContext) {
+    packer.setSigningContext(Objects.requireNonNull(signingContext, "signingContext"));
+  }
+
+  /**
+   * @return the signing context used when packing signed v2 frames
+   */
+  public SigningContext getSigningContext() {
+    return packer.getSigningContext();
+  }
+
+  /**
+   * Enables replay protection for signed v2 frames: correctly signed frames whose 48-bit signing timestamp
+   * does not advance for their (system, component, link) decode with {@link FrameFailureReason#REPLAYED}.
+   * Call {@link SigningTimestampTable#sweep(long, long)} periodically to drop silent links.
+   *
+   * @param table timestamp table, or null to disable
+   */
+  public void setSigningTimestampTable(SigningTimestampTable table) {
+    framer.setSigningTimestampTable(table);
+  }
+
+  /**
+   * @return the replay protection table, or null if disabled
+   */
+  public SigningTimestampTable getSigningTimestampTable() {
+    return framer.getSigningTimestampTable();
+  }
+
+  /**
+   * Installs a header-level filter on the unpack side. Rejected frames are skipped inside the framer,
+   * before any payload copy, and are never returned by the unpack, drain or route methods.
+   *
+   * @param filter filter to apply, or null to deliver every frame
+   */
+  public void setFrameFilter(FrameFilter filter) {
+    framer.setFrameFilter(filter);
+  }
+
+  /**
+   * @return the current frame filter, or null if none is installed
+   */
+  public FrameFilter getFrameFilter() {
+    return framer.getFrameFilter();
+  }
+
+  /**
+   * @return number of complete frames skipped by the frame filter
+   */
+  public long getFilteredFrameCount() {
+    return framer.getFilteredFrameCount();
+  }
+
+  /**
+   * @return number of filtered frames that failed CRC or signature checks (only with CRC audit enabled)
+   */
+  public long getFilteredCrcFailureCount() {
+    return framer.getFilteredCrcFailureCount();
+  }
+
   /**
    * Parses the payload of a decoded MAVLink frame into a field map.
    *
@@ -165,6 +425,98 @@ public final class MavlinkFrameCodec {
     return payloadCodec.parsePayload(frame.getMessageId(), payload);
   }
 
+  /**
+   * Parses the payload held by a reusable frame into a field map.
+   *
+   * @param frame decoded frame containing {@code messageId} and payload bytes
+   * @return field map keyed by field name
+   * @throws IOException if payload decoding fails for the message type
+   * @throws NullPointerException if {@code frame} is {@code null}
+   */
+  public Map<String, Object> parsePayload(MutableFrame frame) throws IOException {
+    Objects.requireNonNull(frame, "frame");
+    return payloadCodec.parsePayload(frame.getMessageId(), frame.getPayload(), frame.getPayloadLength());
+  }
+
+  /**
+   * Parses the payload held by a reusable frame, returning numeric arrays as primitive arrays.
+   *
+   * @param frame decoded frame containing {@code messageId} and payload bytes
+   * @return field map keyed by field name
+   * @throws IOException if payload decoding fails for the message type
+   * @throws NullPointerException if {@code frame} is {@code null}
+   * @see MavlinkCodec#parsePayloadWithPrimitiveArrays(int, ByteBuffer)
+   */
+  public Map<String, Object> parsePayloadWithPrimitiveArrays(MutableFrame frame) throws IOException {
+    Objects.requireNonNull(frame, "frame");
+    return payloadCodec.parsePayloadWithPrimitiveArrays(frame.getMessageId(),
+        ByteBuffer.wrap(frame.getPayload(), 0, frame.getPayloadLength()));
+  }
+
+  /**
+   * Parses the payload of a frame view in place, without copying it out of the network buffer.
+   *
+   * @param view frame view whose source buffer has not yet been compacted
+   * @return field map keyed by field name
+   * @throws IOException if payload decoding fails for the message type
+   * @throws NullPointerException if {@code view} is {@code null}
+   */
+  public Map<String, Object> parsePayload(MavlinkFrameView view) throws IOException {
+    Objects.requireNonNull(view, "view");
+    return payloadCodec.parsePayload(view.getMessageId(), view.getPayload());
+  }
+
+  /**
+   * Decodes the payload held by a reusable frame into a primitive-backed record, without a map or boxing.
+   *
+   * @param frame decoded frame
+   * @param target record for the frame's message type (see {@link MavlinkCodec#newRecord(int)})
+   * @throws IllegalArgumentException if the record is for a different message id
+   * @throws NullPointerException if {@code frame} or {@code target} is {@code null}
+   */
+  public void decodeRecord(MutableFrame frame, MessageRecord target) {
+    Objects.requireNonNull(frame, "frame");
+    Objects.requireNonNull(target, "target");
+    if (frame.getMessageId() != target.getMessageId()) {
+      throw new IllegalArgumentException("Record is for message " + target.getMessageId()
+          + " but frame carries " + frame.getMessageId());
+    }
+    payloadCodec.decodeRecord(ByteBuffer.wrap(frame.getPayload(), 0, frame.getPayloadLength()), target);
+  }
+
+  /**
+   * Binds a reusable flyweight view to the payload of a decoded frame. Fields are decoded only when read.
+   *
+   * @param frame decoded frame; the view reads its payload array in place
+   * @param view view to bind
+   * @return {@code view}
+   * @throws IOException if the frame's message id is unknown to the dialect
+   */
+  public MessageView bindView(MutableFrame frame, MessageView view) throws IOException {
+    return view.wrap(compiledMessage(frame.getMessageId()), frame.getPayload(), frame.getPayloadLength());
+  }
+
+  /**
+   * Binds a reusable flyweight view to the zero-copy payload of a frame view. The message view is only valid
+   * until the network buffer behind {@code frame} is compacted.
+   *
+   * @param frame frame view from {@link #tryUnpackHeaderAndPayloadView(ByteBuffer)}
+   * @param view view to bind
+   * @return {@code view}
+   * @throws IOException if the frame's message id is unknown to the dialect
+   */
+  public MessageView bindView(MavlinkFrameView frame, MessageView view) throws IOException {
+    return view.wrap(compiledMessage(frame.getMessageId()), frame.getPayload());
+  }
+
+  private CompiledMessage compiledMessage(int messageId) throws IOException {
+    CompiledMessage compiledMessage = payloadCodec.getRegistry().byId(messageId);
+    if (compiledMessage == null) {
+      throw new IOException("Unknown MAVLink message id: " + messageId);
+    }
+    return compiledMessage;
+  }
+
   /**
    * Encodes the supplied field map into payload bytes for the given message id.
    *
@@ -203,10 +555,10 @@ public final class MavlinkFrameCodec {
    */
   private static final class RegistryAdapter implements DialectRegistry {
 
-    private final MessageRegistry registry;
+    private final MessageLookupTable lookupTable;
 
     private RegistryAdapter(MessageRegistry registry) {
-      this.registry = Objects.requireNonNull(registry, "registry");
+      this.lookupTable = Objects.requireNonNull(registry, "registry").getLookupTable();
     }
 
     /**
@@ -219,18 +571,24 @@ public final class MavlinkFrameCodec {
      */
     @Override
     public int crcExtra(Version version, int messageId) {
-      CompiledMessage compiled = registry.getCompiledMessagesById().get(messageId);
-      if (compiled == null) {
+      int crcExtra = lookupTable.crcExtra(messageId);
+      if (crcExtra == MessageLookupTable.UNKNOWN) {
         throw new IllegalArgumentException("Unknown MAVLink message id: " + messageId);
       }
-      return compiled.getCrcExtra() & 0xFF;
+      return crcExtra;
+    }
+
+    @Override
+    public boolean isKnownMessage(Version version, int messageId) {
+      return lookupTable.contains(messageId);
     }
 
     /**
      * Returns the minimum payload length required for a message id.
      *
-     * <p>For MAVLink v1 this is the fixed payload size.
-     * For MAVLink v2 this is the base payload size (extensions are optional).</p>
+     * <p>For MAVLink v1 this is the fixed base payload size.
+     * For MAVLink v2 trailing zero bytes may be truncated by the sender (the first byte is always kept),
+     * so any non-empty payload is acceptable.</p>
      *
      * @param version MAVLink version
      * @param messageId MAVLink message id
@@ -238,15 +596,30 @@ public final class MavlinkFrameCodec {
      */
     @Override
     public int minimumPayloadLength(Version version, int messageId) {
-      CompiledMessage compiled = registry.getCompiledMessagesById().get(messageId);
-      if (compiled == null) {
+      int baseLength = lookupTable.minimumPayloadLength(messageId);
+      if (baseLength == MessageLookupTable.UNKNOWN) {
         return Integer.MAX_VALUE; // force failure
       }
+      if (version == Version.V1) {
+        return baseLength;
+      }
+      return Math.min(1, baseLength);
+    }
 
+    /**
+     * Returns the maximum payload length for a message id: the base size for v1 (no extensions on the wire)
+     * and base plus extensions for v2.
+     *
+     * @param version MAVLink version
+     * @param messageId MAVLink message id
+     * @return maximum payload length in bytes; {@code -1} if unknown
+     */
+    @Override
+    public int maximumPayloadLength(Version version, int messageId) {
       if (version == Version.V1) {
-        return compiled.getPayloadSizeBytes();
+        return lookupTable.minimumPayloadLength(messageId);
       }
-      return compiled.getMinimumPayloadSizeBytes();
+      return lookupTable.maximumPayloadLength(messageId);
     }
   }
-}
\ No newline at end of file
+}
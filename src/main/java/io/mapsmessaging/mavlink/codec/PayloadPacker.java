@@ -26,6 +26,7 @@ import io.mapsmessaging.mavlink.message.EnumResolver;
 import io.mapsmessaging.mavlink.message.MessageRegistry;
 import io.mapsmessaging.mavlink.message.fields.AbstractMavlinkFieldCodec;
 import io.mapsmessaging.mavlink.message.fields.FieldDefinition;
+import io.mapsmessaging.mavlink.message.fields.PrimitiveArrays;
 import io.mapsmessaging.mavlink.message.fields.WireType;
 import lombok.Getter;
 
@@ -67,8 +68,36 @@ public class PayloadPacker {
     return out;
   }
 
+  /**
+   * Encodes the payload directly into {@code out} at its position, advancing the position past the payload.
+   * The buffer's byte order is left unchanged.
+   *
+   * @return number of payload bytes written
+   * @throws IOException if the message id is unknown, a value cannot be encoded, or {@code out} is too small
+   */
+  public int packPayload(int messageId, Map<String, Object> values, ByteBuffer out) throws IOException {
+    CompiledMessage compiledMessage = getCompiledMessage(messageId);
+    List<CompiledField> compiledFields = compiledMessage.getCompiledFields();
+
+    int lastExtensionIndex = findLastIncludedExtensionIndex(compiledFields, values);
+    int payloadSize = computePayloadSize(compiledFields, lastExtensionIndex);
+    if (out.remaining() < payloadSize) {
+      throw new IOException("Insufficient space in output buffer. required=" + payloadSize + " remaining=" + out.remaining());
+    }
+
+    int start = out.position();
+    ByteOrder order = out.order();
+    out.order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      encodePayload(compiledFields, lastExtensionIndex, values, out);
+    } finally {
+      out.order(order);
+    }
+    return out.position() - start;
+  }
+
   private CompiledMessage getCompiledMessage(int messageId) throws IOException {
-    CompiledMessage compiledMessage = messageRegistry.getCompiledMessagesById().get(messageId);
+    CompiledMessage compiledMessage = messageRegistry.byId(messageId);
     if (compiledMessage == null) {
       throw new IOException("Unknown MAVLink message id: " + messageId);
     }
@@ -176,7 +205,8 @@ public class PayloadPacker {
       return;
     }
 
-    List<?> elements = toElements(value, field.getName());
+    // Primitive arrays go to the codec as-is for a bulk write; anything else is normalised to a List
+    Object elements = PrimitiveArrays.isNumericArray(value) ? value : toElements(value, field.getName());
     encodeTypedArray(compiledField, buffer, elements);
   }
 
@@ -199,13 +229,11 @@ public class PayloadPacker {
     zeroBytes(buffer, len - copyLen);
   }
 
-  private void encodeTypedArray(CompiledField compiledField, ByteBuffer buffer, List<?> elements) throws IOException {
+  private void encodeTypedArray(CompiledField compiledField, ByteBuffer buffer, Object elements) throws IOException {
     FieldDefinition field = compiledField.getFieldDefinition();
     AbstractMavlinkFieldCodec codec = compiledField.getFieldCodec();
 
-    int len = field.getArrayLength();
-    int count = Math.min(len, elements.size());
-
+    // The array codec writes the full field, zero-filling any elements beyond those supplied
     try {
       codec.encode(buffer, elements);
     } catch (Exception e) {
@@ -213,12 +241,6 @@ public class PayloadPacker {
 
       throw new IOException("Failed to encode array field '" + field.getName() + "'", e);
     }
-
-    int remaining = len - count;
-    if (remaining > 0) {
-      int elementSize = field.getWireType().getSizeInBytes();
-      zeroBytes(buffer, remaining * elementSize);
-    }
   }
 
   private List<?> toElements(Object value, String fieldName) throws IOException {
@@ -242,8 +264,6 @@ public class PayloadPacker {
   }
 
   private void zeroBytes(ByteBuffer buffer, int count) {
-    for (int i = 0; i < count; i++) {
-      buffer.put((byte) 0);
-    }
+    PrimitiveArrays.zeroFill(buffer, count);
   }
 }
@@ -25,16 +25,16 @@ import io.mapsmessaging.mavlink.message.CompiledField;
 import io.mapsmessaging.mavlink.message.CompiledMessage;
 import io.mapsmessaging.mavlink.message.MessageRegistry;
 import io.mapsmessaging.mavlink.message.fields.AbstractMavlinkFieldCodec;
+import io.mapsmessaging.mavlink.message.fields.ArrayFieldCodec;
 import io.mapsmessaging.mavlink.message.fields.FieldDefinition;
+import io.mapsmessaging.mavlink.message.fields.PrimitiveArrays;
 import io.mapsmessaging.mavlink.message.fields.WireType;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class PayloadParser {
@@ -46,39 +46,59 @@ public class PayloadParser {
   }
 
   public Map<String, Object> parsePayload(int messageId, byte[] payload) throws IOException {
-    CompiledMessage compiledMessage = messageRegistry.getCompiledMessagesById().get(messageId);
+    return parsePayload(messageId, payload, payload.length);
+  }
+
+  public Map<String, Object> parsePayload(int messageId, byte[] payload, int length) throws IOException {
+    return parse(messageId, ByteBuffer.wrap(payload, 0, length), false);
+  }
+
+  /**
+   * Decodes the bytes between position and limit of the supplied buffer without copying them.
+   * The buffer's own position, limit and byte order are left untouched.
+   */
+  public Map<String, Object> parsePayload(int messageId, ByteBuffer payload) throws IOException {
+    return parse(messageId, payload.duplicate(), false);
+  }
+
+  /**
+   * Like {@link #parsePayload(int, ByteBuffer)}, but numeric array fields are returned as primitive arrays
+   * ({@code short[]}, {@code int[]}, {@code long[]}, {@code float[]}, ...; see {@link PrimitiveArrays}) instead of
+   * lists of boxed values. {@code uint64} arrays hold raw bits in a {@code long[]}.
+   */
+  public Map<String, Object> parsePayloadWithPrimitiveArrays(int messageId, ByteBuffer payload) throws IOException {
+    return parse(messageId, payload.duplicate(), true);
+  }
+
+  private Map<String, Object> parse(int messageId, ByteBuffer buffer, boolean primitiveArrays) throws IOException {
+    CompiledMessage compiledMessage = messageRegistry.byId(messageId);
     if (compiledMessage == null) {
       throw new IllegalArgumentException("Unknown MAVLink message id: " + messageId);
     }
 
     Map<String, Object> result = new HashMap<>();
 
-    ByteBuffer buffer = ByteBuffer.wrap(payload);
+    int receivedLength = buffer.remaining();
+    int fullLength = compiledMessage.getPayloadSizeBytes();
+    if (receivedLength < fullLength) {
+      // MAVLink v2 senders may trim trailing zero bytes; restore them so every field decodes at its own offset
+      byte[] extended = new byte[fullLength];
+      buffer.get(buffer.position(), extended, 0, receivedLength);
+      buffer = ByteBuffer.wrap(extended);
+    }
     buffer.order(ByteOrder.LITTLE_ENDIAN);
 
-    boolean truncated = false;
-
     for (CompiledField compiledField : compiledMessage.getCompiledFields()) {
       FieldDefinition fieldDefinition = compiledField.getFieldDefinition();
       AbstractMavlinkFieldCodec fieldCodec = compiledField.getFieldCodec();
       String fieldName = fieldDefinition.getName();
-      int fieldSize = compiledField.getSizeInBytes();
 
-      if (!fieldDefinition.isExtension()) {
-        if (truncated || buffer.remaining() < fieldSize) {
-          truncated = true;
-          result.put(fieldName, zeroValue(fieldDefinition));
-          continue;
-        }
-      } else {
-        // Extension fields: absent if not enough bytes (or if we've already truncated)
-        if (truncated || buffer.remaining() < fieldSize) {
-          result.put(fieldName, null);
-          continue;
-        }
+      // Extension fields are absent when the payload ends before them; extensions always trail the base fields
+      if (fieldDefinition.isExtension() && compiledField.getOffsetInPayload() >= receivedLength) {
+        result.put(fieldName, null);
+        continue;
       }
 
-      // Normal decode path (enough bytes available)
       if (!fieldDefinition.isArray()) {
         result.put(fieldName, fieldCodec.decode(buffer));
         continue;
@@ -95,43 +115,13 @@ public class PayloadParser {
         }
         result.put(fieldName, new String(raw, 0, end, StandardCharsets.UTF_8));
       } else {
-        List<Object> values = new ArrayList<>(len);
-        for (int i = 0; i < len; i++) {
-          values.add(fieldCodec.decode(buffer));
-        }
-        result.put(fieldName, values);
+        // One bulk read into a primitive array; elements are boxed only when the list is read
+        Object values = ((ArrayFieldCodec) fieldCodec).decodeArray(buffer);
+        result.put(fieldName, primitiveArrays ? values : PrimitiveArrays.asList(values, fieldDefinition.getWireType()));
       }
     }
 
     return result;
   }
 
-  private Object zeroValue(FieldDefinition fieldDefinition) {
-    if (!fieldDefinition.isArray()) {
-      // Scalars: 0 / 0.0 / false, etc.
-      return switch (fieldDefinition.getWireType()) {
-        case FLOAT, DOUBLE -> 0.0;
-        case CHAR -> ""; // should never happen for non-array in MAVLink, but safe
-        default -> 0L;   // ints: you can use Long universally in your map
-      };
-    }
-
-    int len = fieldDefinition.getArrayLength();
-
-    if (fieldDefinition.getWireType() == WireType.CHAR) {
-      return "";
-    }
-
-    // Numeric arrays: list of zeros
-    List<Object> zeros = new ArrayList<>(len);
-    Object z = switch (fieldDefinition.getWireType()) {
-      case FLOAT, DOUBLE -> 0.0;
-      default -> 0L;
-    };
-    for (int i = 0; i < len; i++) {
-      zeros.add(z);
-    }
-    return zeros;
-  }
-
 }
@@ -28,5 +28,6 @@ public enum DetectionType {
   SEQ_SUSPICIOUS_BACKWARDS,
   SEQ_SAME_SEQ_DIFFERENT_FINGERPRINT,
   SYSTEM_MULTI_SOURCE_ACTIVE,
-  FRAME_INVALID
+  FRAME_INVALID,
+  SIGNATURE_REPLAY
 }
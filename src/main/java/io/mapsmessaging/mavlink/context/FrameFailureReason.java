@@ -27,5 +27,18 @@ public enum FrameFailureReason {
   CRC_AND_SIGNATURE_FAILED,
   MALFORMED,
   UNSIGNED,
-  UNKNOWN
+  UNKNOWN,
+  /**
+   * Correctly signed, but the signing timestamp did not advance for its (system, component, link) or is too far
+   * ahead of the local clock.
+   */
+  REPLAYED;
+
+  /**
+   * @return true if the frame's bytes failed a CRC, signature, replay or structural check
+   */
+  public boolean isIntegrityFailure() {
+    return this == CRC_FAILED || this == SIGNATURE_FAILED || this == CRC_AND_SIGNATURE_FAILED || this == MALFORMED
+        || this == REPLAYED;
+  }
 }
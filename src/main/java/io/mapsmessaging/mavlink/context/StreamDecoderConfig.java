@@ -0,0 +1,39 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.context;
+
+import lombok.Data;
+
+@Data
+public class StreamDecoderConfig {
+
+  private int bufferSize;
+  private boolean directBuffers;
+  private long idleTtlNanos;
+  private int maxPooledBuffers;
+
+  public StreamDecoderConfig() {
+    this.bufferSize = 4096;
+    this.directBuffers = false;
+    this.idleTtlNanos = 60L * 1_000_000_000L;
+    this.maxPooledBuffers = 64;
+  }
+}
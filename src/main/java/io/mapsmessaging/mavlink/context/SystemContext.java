@@ -70,8 +70,13 @@ public class SystemContext {
     detection.setSystemId(systemId);
     detection.setStreamId(streamId);
     detection.setOccurredAtNanos(receivedAtNanos);
-    detection.setType(DetectionType.FRAME_INVALID);
-    detection.setSeverity(DetectionSeverity.WARN);
+    if (reason == FrameFailureReason.REPLAYED) {
+      detection.setType(DetectionType.SIGNATURE_REPLAY);
+      detection.setSeverity(DetectionSeverity.ALERT);
+    } else {
+      detection.setType(DetectionType.FRAME_INVALID);
+      detection.setSeverity(DetectionSeverity.WARN);
+    }
     detection.setDetails(reason.name());
 
     detections.add(detection);
@@ -27,14 +27,9 @@ import java.nio.ByteBuffer;
 public class CrcHelper {
 
   public static int computeChecksumFromWritten(ByteBuffer out, int index, int length, int crcExtra) {
-    X25Crc crc = new X25Crc();
-    int endIndex = index + length;
-
-    for (int currentIndex = index; currentIndex < endIndex; currentIndex++) {
-      crc.update(out.get(currentIndex));
-    }
-    crc.update(crcExtra);
-    return crc.getCrc() & 0xFFFF;
+    int crc = X25Crc.accumulate(X25Crc.INITIAL_CRC, out, index, length);
+    crc = X25Crc.accumulate(crc, crcExtra);
+    return crc & 0xFFFF;
   }
 
   private CrcHelper(){}
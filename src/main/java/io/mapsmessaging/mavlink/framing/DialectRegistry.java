@@ -27,4 +27,19 @@ public interface DialectRegistry {
   int crcExtra(Version version, int messageId);
 
   int minimumPayloadLength(Version version, int messageId);
+
+  /**
+   * Returns the largest payload length a frame of this message can legally carry.
+   */
+  default int maximumPayloadLength(Version version, int messageId) {
+    return 255;
+  }
+
+  /**
+   * Returns true if the message id belongs to the dialect. Used by the framer to reject candidate frames from
+   * the header alone, before waiting for the rest of the frame or computing a CRC.
+   */
+  default boolean isKnownMessage(Version version, int messageId) {
+    return minimumPayloadLength(version, messageId) != Integer.MAX_VALUE;
+  }
 }
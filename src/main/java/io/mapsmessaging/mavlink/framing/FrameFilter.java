@@ -0,0 +1,173 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+import java.util.Arrays;
+
+/**
+ * Header-level frame filter applied by {@link FrameFramer} as soon as a frame's header is available.
+ *
+ * <p>Frames that fail the filter are skipped whole: the payload is never copied, no {@code Frame} is
+ * produced and the caller never sees them. Message ids are held in a bitset; system and component ids each
+ * have an optional allow set and a deny set. An empty allow set means "any id".</p>
+ *
+ * <p>Instances are immutable and safe to share between framers. Build them with {@link #builder()}.</p>
+ */
+public final class FrameFilter {
+
+  private static final int ID_SPACE = 256;
+  private static final int MAX_MESSAGE_ID = 0xFFFFFF;
+
+  private final long[] messageIds;
+  private final long[] allowedSystems;
+  private final long[] deniedSystems;
+  private final long[] allowedComponents;
+  private final long[] deniedComponents;
+  private final boolean verifyCrc;
+
+  private FrameFilter(Builder builder) {
+    this.messageIds = builder.messageIds == null ? null : builder.messageIds.clone();
+    this.allowedSystems = builder.allowedSystems == null ? null : builder.allowedSystems.clone();
+    this.deniedSystems = builder.deniedSystems.clone();
+    this.allowedComponents = builder.allowedComponents == null ? null : builder.allowedComponents.clone();
+    this.deniedComponents = builder.deniedComponents.clone();
+    this.verifyCrc = builder.verifyCrc;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return true if a frame with these header ids should be delivered
+   */
+  public boolean accepts(int messageId, int systemId, int componentId) {
+    if (messageIds != null && !isSet(messageIds, messageId)) {
+      return false;
+    }
+    if (allowedSystems != null && !isSet(allowedSystems, systemId)) {
+      return false;
+    }
+    if (isSet(deniedSystems, systemId)) {
+      return false;
+    }
+    if (allowedComponents != null && !isSet(allowedComponents, componentId)) {
+      return false;
+    }
+    return !isSet(deniedComponents, componentId);
+  }
+
+  /**
+   * When true the framer still checks the CRC (and signature) of rejected frames so that corrupt traffic
+   * is counted in {@link FrameFramer#getFilteredCrcFailureCount()}. The frame is skipped either way.
+   */
+  public boolean isVerifyCrc() {
+    return verifyCrc;
+  }
+
+  private static boolean isSet(long[] bits, int id) {
+    int word = id >>> 6;
+    return word < bits.length && (bits[word] & (1L << id)) != 0;
+  }
+
+  private static long[] set(long[] bits, int id, int maxId) {
+    if (id < 0 || id > maxId) {
+      throw new IllegalArgumentException("id out of range: " + id);
+    }
+    int word = id >>> 6;
+    long[] target = bits;
+    if (target == null) {
+      target = new long[word + 1];
+    } else if (word >= target.length) {
+      target = Arrays.copyOf(target, word + 1);
+    }
+    target[word] |= 1L << id;
+    return target;
+  }
+
+  public static final class Builder {
+
+    private long[] messageIds;
+    private long[] allowedSystems;
+    private long[] deniedSystems = new long[ID_SPACE / 64];
+    private long[] allowedComponents;
+    private long[] deniedComponents = new long[ID_SPACE / 64];
+    private boolean verifyCrc;
+
+    private Builder() {
+    }
+
+    /** Restricts delivery to the given message ids. May be called repeatedly; ids accumulate. */
+    public Builder allowMessageIds(int... ids) {
+      if (messageIds == null) {
+        messageIds = new long[0];
+      }
+      for (int id : ids) {
+        messageIds = set(messageIds, id, MAX_MESSAGE_ID);
+      }
+      return this;
+    }
+
+    public Builder allowSystems(int... ids) {
+      if (allowedSystems == null) {
+        allowedSystems = new long[ID_SPACE / 64];
+      }
+      for (int id : ids) {
+        set(allowedSystems, id, ID_SPACE - 1);
+      }
+      return this;
+    }
+
+    public Builder denySystems(int... ids) {
+      for (int id : ids) {
+        set(deniedSystems, id, ID_SPACE - 1);
+      }
+      return this;
+    }
+
+    public Builder allowComponents(int... ids) {
+      if (allowedComponents == null) {
+        allowedComponents = new long[ID_SPACE / 64];
+      }
+      for (int id : ids) {
+        set(allowedComponents, id, ID_SPACE - 1);
+      }
+      return this;
+    }
+
+    public Builder denyComponents(int... ids) {
+      for (int id : ids) {
+        set(deniedComponents, id, ID_SPACE - 1);
+      }
+      return this;
+    }
+
+    /** See {@link FrameFilter#isVerifyCrc()}. Off by default. */
+    public Builder verifyCrc(boolean verify) {
+      this.verifyCrc = verify;
+      return this;
+    }
+
+    public FrameFilter build() {
+      return new FrameFilter(this);
+    }
+  }
+}
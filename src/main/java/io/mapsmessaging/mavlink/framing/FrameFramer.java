@@ -20,10 +20,16 @@
 
 package io.mapsmessaging.mavlink.framing;
 
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
 import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MutableFrame;
+
+import lombok.Getter;
+import lombok.Setter;
 
 import java.nio.ByteBuffer;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Network-owned ByteBuffer framer.
@@ -36,11 +42,26 @@ import java.util.Optional;
 public final class FrameFramer {
 
   private static final int MAVLINK_V1_STX = 0xFE;
-  private static final int MAVLINK_V2_STX = 0xFD;
   private static final int MAVLINK_MAX_PAYLOAD_LENGTH = 255;
 
+  // Header-only decode scratch for the Optional-returning path; the result is copied out via toFrame(ByteBuffer)
+  private static final ThreadLocal<MutableFrame> SCRATCH_FRAME = ThreadLocal.withInitial(MutableFrame::new);
+  // Header-only decode target for CRC auditing of filtered frames; never handed to callers
+  private static final ThreadLocal<MutableFrame> AUDIT_FRAME = ThreadLocal.withInitial(MutableFrame::new);
+
   private final FrameHandler mavlinkV1FrameHandler;
-  private final FrameHandler mavlinkV2FrameHandler;
+  private final V2FrameHandler mavlinkV2FrameHandler;
+
+  private final LongAdder filteredFrames = new LongAdder();
+  private final LongAdder filteredCrcFailures = new LongAdder();
+
+  /**
+   * Optional header-level filter. Frames it rejects are skipped without a payload copy and are never
+   * returned by any decode method. Null delivers every frame.
+   */
+  @Getter
+  @Setter
+  private volatile FrameFilter frameFilter;
 
   public FrameFramer(DialectRegistry dialectRegistry, SigningKeyProvider signingKeyProvider) {
     this.mavlinkV1FrameHandler = new V1FrameHandler(dialectRegistry);
@@ -48,67 +69,223 @@ public final class FrameFramer {
   }
 
   public Optional<Frame> tryDecode(ByteBuffer networkOwnedBuffer) {
+    // Header-only decode, then a single copy from the buffer into the returned Frame
     try {
       if (!networkOwnedBuffer.hasRemaining()) {
         return Optional.empty();
       }
+      MutableFrame scratch = SCRATCH_FRAME.get();
+      if (decodeNext(networkOwnedBuffer, scratch, false, null)) {
+        return Optional.of(scratch.toFrame(networkOwnedBuffer));
+      }
+      return Optional.empty();
+    } finally {
+      networkOwnedBuffer.compact();
+    }
+  }
 
-      int scanIndex = networkOwnedBuffer.position();
-      int bufferLimit = networkOwnedBuffer.limit();
-
-      while (scanIndex < bufferLimit) {
-        int startByte = networkOwnedBuffer.get(scanIndex) & 0xFF;
-
-        FrameHandler handler = null;
-        if (startByte == MAVLINK_V1_STX) {
-          handler = mavlinkV1FrameHandler;
-        } else if (startByte == MAVLINK_V2_STX) {
-          handler = mavlinkV2FrameHandler;
-        } else {
-          scanIndex++;
-          continue;
-        }
-
-        int minimumHeaderBytes = handler.minimumBytesRequiredForHeader();
-        if (scanIndex + minimumHeaderBytes > bufferLimit) {
-          networkOwnedBuffer.position(scanIndex);
-          return Optional.empty();
-        }
-
-        int payloadLength = handler.peekPayloadLength(networkOwnedBuffer, scanIndex);
-        if (payloadLength < 0 || payloadLength > MAVLINK_MAX_PAYLOAD_LENGTH) {
-          scanIndex++;
-          continue;
-        }
-
-        int totalFrameLength = handler.computeTotalFrameLength(networkOwnedBuffer, scanIndex, payloadLength);
-        if (totalFrameLength <= 0) {
-          scanIndex++;
-          continue;
-        }
-
-        if (scanIndex + totalFrameLength > bufferLimit) {
-          networkOwnedBuffer.position(scanIndex);
-          return Optional.empty();
-        }
-
-        ByteBuffer candidateFrame = networkOwnedBuffer.duplicate();
-        candidateFrame.position(scanIndex);
-        candidateFrame.limit(scanIndex + totalFrameLength);
-
-        Optional<Frame> decodedFrame = handler.tryDecode(candidateFrame);
-        if (decodedFrame.isPresent()) {
-          networkOwnedBuffer.position(scanIndex + totalFrameLength);
-          return decodedFrame;
-        }
-
-        scanIndex++;
+  /**
+   * Allocation-free variant of {@link #tryDecode(ByteBuffer)}: the frame header, payload and signature are
+   * written into the caller-owned {@code target}, which can be reused for every frame on the link.
+   *
+   * @return true if a frame was decoded into {@code target}
+   */
+  public boolean tryDecodeInto(ByteBuffer networkOwnedBuffer, MutableFrame target) {
+    try {
+      if (!networkOwnedBuffer.hasRemaining()) {
+        return false;
       }
+      return decodeNext(networkOwnedBuffer, target, true, null);
+    } finally {
+      networkOwnedBuffer.compact();
+    }
+  }
 
-      networkOwnedBuffer.position(bufferLimit);
-      return Optional.empty();
+  /**
+   * Decodes every complete frame currently in the buffer, handing each to {@code consumer}, and compacts once
+   * at the end rather than once per frame.
+   *
+   * <p>Same buffer contract as {@link #tryDecode(ByteBuffer)}. A single scratch frame is reused for the whole
+   * batch. The buffer is not compacted until the batch completes, so {@link MutableFrame#frameView(ByteBuffer)}
+   * may also be used from inside the callback.</p>
+   *
+   * @return number of frames delivered
+   */
+  public int drainFrames(ByteBuffer networkOwnedBuffer, FrameConsumer consumer) {
+    return drainFrames(networkOwnedBuffer, SCRATCH_FRAME.get(), consumer);
+  }
+
+  /**
+   * As {@link #drainFrames(ByteBuffer, FrameConsumer)} but decoding into a caller-owned frame.
+   *
+   * @return number of frames delivered
+   */
+  public int drainFrames(ByteBuffer networkOwnedBuffer, MutableFrame target, FrameConsumer consumer) {
+    return drainFrames(networkOwnedBuffer, target, consumer, null);
+  }
+
+  /**
+   * As {@link #drainFrames(ByteBuffer, MutableFrame, FrameConsumer)}, additionally adding resync and filter
+   * skips to {@code stats}.
+   *
+   * @param stats accumulator to add to, or null
+   * @return number of frames delivered
+   */
+  public int drainFrames(ByteBuffer networkOwnedBuffer, MutableFrame target, FrameConsumer consumer, FrameScanStats stats) {
+    int count = 0;
+    try {
+      while (networkOwnedBuffer.hasRemaining() && decodeNext(networkOwnedBuffer, target, true, stats)) {
+        consumer.onFrame(target);
+        count++;
+      }
     } finally {
       networkOwnedBuffer.compact();
     }
+    return count;
+  }
+
+  /**
+   * Zero-copy variant: locates and validates the next frame in a read-mode buffer without copying the
+   * payload and without compacting.
+   *
+   * <p>On success the buffer position is moved past the frame and {@code target} records where the frame
+   * and its payload sit in the buffer (see {@link MutableFrame#frameView(ByteBuffer)} and
+   * {@link MutableFrame#payloadView(ByteBuffer)}). The payload array of {@code target} is not written.
+   * If no complete frame is available the position is left at the first byte still worth keeping.
+   * The caller owns the buffer and must compact it once it no longer needs views into it.</p>
+   *
+   * @return true if a frame was located
+   */
+  public boolean tryDecodeHeader(ByteBuffer readModeBuffer, MutableFrame target) {
+    if (!readModeBuffer.hasRemaining()) {
+      return false;
+    }
+    return decodeNext(readModeBuffer, target, false, null);
+  }
+
+  /**
+   * Enables replay protection for signed v2 frames: a correctly signed frame whose timestamp does not advance
+   * for its (system, component, link) is reported as {@link FrameFailureReason#REPLAYED}.
+   * Only applies when the signing key provider can validate.
+   *
+   * @param table timestamp table, possibly shared between framers, or null to disable
+   */
+  public void setSigningTimestampTable(SigningTimestampTable table) {
+    mavlinkV2FrameHandler.setSigningTimestampTable(table);
+  }
+
+  public SigningTimestampTable getSigningTimestampTable() {
+    return mavlinkV2FrameHandler.getSigningTimestampTable();
+  }
+
+  /**
+   * @return number of complete frames skipped by the {@link #getFrameFilter() frame filter}
+   */
+  public long getFilteredFrameCount() {
+    return filteredFrames.sum();
+  }
+
+  /**
+   * @return number of filtered frames that failed CRC or signature checks; only counted when the filter
+   *     has {@link FrameFilter#isVerifyCrc()} set
+   */
+  public long getFilteredCrcFailureCount() {
+    return filteredCrcFailures.sum();
+  }
+
+  private boolean decodeNext(ByteBuffer networkOwnedBuffer, MutableFrame target, boolean copyPayload,
+                             FrameScanStats stats) {
+    FrameFilter filter = frameFilter;
+    int startIndex = networkOwnedBuffer.position();
+    int scanIndex = startIndex;
+    int bufferLimit = networkOwnedBuffer.limit();
+    int filteredBytes = 0;
+    int filteredCount = 0;
+
+    while (true) {
+      scanIndex = StxScanner.indexOfStx(networkOwnedBuffer, scanIndex, bufferLimit);
+      if (scanIndex >= bufferLimit) {
+        break;
+      }
+      int startByte = networkOwnedBuffer.get(scanIndex) & 0xFF;
+      FrameHandler handler = (startByte == MAVLINK_V1_STX) ? mavlinkV1FrameHandler : mavlinkV2FrameHandler;
+
+      int minimumHeaderBytes = handler.minimumBytesRequiredForHeader();
+      if (scanIndex + minimumHeaderBytes > bufferLimit) {
+        networkOwnedBuffer.position(scanIndex);
+        recordSkips(stats, scanIndex - startIndex - filteredBytes, filteredCount);
+        return false;
+      }
+
+      // Reject noise from the header alone: never wait for, or CRC, a frame that cannot be valid
+      if (!handler.isPlausibleHeader(networkOwnedBuffer, scanIndex)) {
+        scanIndex++;
+        continue;
+      }
+
+      int payloadLength = handler.peekPayloadLength(networkOwnedBuffer, scanIndex);
+      if (payloadLength < 0 || payloadLength > MAVLINK_MAX_PAYLOAD_LENGTH) {
+        scanIndex++;
+        continue;
+      }
+
+      int totalFrameLength = handler.computeTotalFrameLength(networkOwnedBuffer, scanIndex, payloadLength);
+      if (totalFrameLength <= 0) {
+        scanIndex++;
+        continue;
+      }
+
+      if (scanIndex + totalFrameLength > bufferLimit) {
+        networkOwnedBuffer.position(scanIndex);
+        recordSkips(stats, scanIndex - startIndex - filteredBytes, filteredCount);
+        return false;
+      }
+
+      if (filter != null && isFiltered(filter, handler, networkOwnedBuffer, scanIndex)) {
+        scanIndex += totalFrameLength;
+        filteredBytes += totalFrameLength;
+        filteredCount++;
+        continue;
+      }
+
+      boolean decoded = copyPayload
+          ? handler.tryDecodeInto(networkOwnedBuffer, scanIndex, target)
+          : handler.tryDecodeHeaderInto(networkOwnedBuffer, scanIndex, target);
+      if (decoded) {
+        networkOwnedBuffer.position(scanIndex + totalFrameLength);
+        recordSkips(stats, scanIndex - startIndex - filteredBytes, filteredCount);
+        return true;
+      }
+
+      scanIndex++;
+    }
+
+    networkOwnedBuffer.position(bufferLimit);
+    recordSkips(stats, bufferLimit - startIndex - filteredBytes, filteredCount);
+    return false;
+  }
+
+  private static void recordSkips(FrameScanStats stats, int skippedBytes, int filteredCount) {
+    if (stats != null) {
+      stats.setSkippedBytes(stats.getSkippedBytes() + skippedBytes);
+      stats.setFilteredFrames(stats.getFilteredFrames() + filteredCount);
+    }
+  }
+
+  private boolean isFiltered(FrameFilter filter, FrameHandler handler, ByteBuffer buffer, int frameStartIndex) {
+    if (filter.accepts(
+        handler.peekMessageId(buffer, frameStartIndex),
+        handler.peekSystemId(buffer, frameStartIndex),
+        handler.peekComponentId(buffer, frameStartIndex))) {
+      return false;
+    }
+    filteredFrames.increment();
+    if (filter.isVerifyCrc()) {
+      MutableFrame audit = AUDIT_FRAME.get();
+      if (!handler.tryDecodeHeaderInto(buffer, frameStartIndex, audit) || audit.getValidated().isIntegrityFailure()) {
+        filteredCrcFailures.increment();
+      }
+    }
+    return true;
   }
 }
@@ -21,6 +21,7 @@
 package io.mapsmessaging.mavlink.framing;
 
 import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MutableFrame;
 
 import java.nio.ByteBuffer;
 import java.util.Optional;
@@ -33,5 +34,37 @@ public interface FrameHandler {
 
   int computeTotalFrameLength(ByteBuffer buffer, int frameStartIndex, int payloadLength);
 
+  /**
+   * Header peeks used by {@link FrameFilter}; only valid once {@link #minimumBytesRequiredForHeader()} bytes
+   * are available.
+   */
+  int peekMessageId(ByteBuffer buffer, int frameStartIndex);
+
+  int peekSystemId(ByteBuffer buffer, int frameStartIndex);
+
+  int peekComponentId(ByteBuffer buffer, int frameStartIndex);
+
+  /**
+   * Cheap header-only sanity check, run as soon as the header bytes are available and before any CRC work.
+   * Rejects candidates with an unknown message id, an impossible payload length or unsupported flags.
+   *
+   * @return false if the bytes at {@code frameStartIndex} cannot be the start of a frame this handler accepts
+   */
+  boolean isPlausibleHeader(ByteBuffer buffer, int frameStartIndex);
+
   Optional<Frame> tryDecode(ByteBuffer candidateFrame);
+
+  /**
+   * Decodes the frame starting at absolute {@code frameStartIndex} into the supplied target.
+   * The buffer position and limit are not modified.
+   *
+   * @return true if the target now holds a frame (which may still carry a failed validation reason)
+   */
+  boolean tryDecodeInto(ByteBuffer buffer, int frameStartIndex, MutableFrame target);
+
+  /**
+   * Same as {@link #tryDecodeInto(ByteBuffer, int, MutableFrame)} but leaves the payload in the source buffer.
+   * The target records the frame and payload location so callers can take a view of the bytes instead of a copy.
+   */
+  boolean tryDecodeHeaderInto(ByteBuffer buffer, int frameStartIndex, MutableFrame target);
 }
@@ -23,7 +23,10 @@ package io.mapsmessaging.mavlink.framing;
 import io.mapsmessaging.mavlink.context.FrameFailureReason;
 import io.mapsmessaging.mavlink.message.Frame;
 import io.mapsmessaging.mavlink.message.Version;
+import lombok.Getter;
+import lombok.Setter;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 
 public final class FramePacker {
@@ -33,7 +36,7 @@ public final class FramePacker {
 
   private static final int MAVLINK_MAX_PAYLOAD_LENGTH = 255;
 
-  private static final int MAVLINK_V1_HEADER_LENGTH = 6;  // LEN, SEQ, SYSID, COMPID, MSGID
+  private static final int MAVLINK_V1_HEADER_LENGTH = 5;  // LEN, SEQ, SYSID, COMPID, MSGID
   private static final int MAVLINK_V2_HEADER_LENGTH = 10; // LEN, INC, COMP, SEQ, SYSID, COMPID, MSGID(3)
 
   private static final int CRC_LENGTH = 2;
@@ -41,9 +44,26 @@ public final class FramePacker {
   private static final int V2_SIGNATURE_LENGTH = 13;
   private static final int V2_INCOMPAT_FLAG_SIGNED = 0x01;
 
+  // Shared so that packers signing for the same link never hand out the same timestamp
+  private static final SigningContext DEFAULT_SIGNING_CONTEXT = new MonotonicSigningContext(0);
+
   private final DialectRegistry dialectRegistry;
   private final SigningKeyProvider signingKeyProvider;
 
+  /**
+   * When set, v2 payloads are sent with trailing zero bytes removed (the first byte is always kept),
+   * as allowed by the MAVLink v2 spec. Receivers zero-extend short payloads. Has no effect on v1 frames.
+   */
+  @Getter
+  @Setter
+  private volatile boolean truncateTrailingZeros;
+
+  /**
+   * Link id and timestamp source for signed v2 frames. Defaults to link 0 with a process-wide monotonic clock.
+   */
+  @Getter
+  @Setter
+  private volatile SigningContext signingContext = DEFAULT_SIGNING_CONTEXT;
 
   public FramePacker(DialectRegistry dialectRegistry, SigningKeyProvider signingKeyProvider) {
     this.dialectRegistry = dialectRegistry;
@@ -125,12 +145,20 @@ public final class FramePacker {
     if (payload.length < payloadLength) {
       throw new IllegalArgumentException("payload length (" + payload.length + ") < payloadLength (" + payloadLength + ")");
     }
+    if (truncateTrailingZeros) {
+      payloadLength = truncatedLength(payload, payloadLength);
+    }
 
     boolean signed = frame.isSigned();
 
     int required = 1 + MAVLINK_V2_HEADER_LENGTH + payloadLength + CRC_LENGTH + (signed ? V2_SIGNATURE_LENGTH : 0);
     requireRemaining(out, required);
 
+    // Resolve signing inputs before writing, so a missing key leaves the buffer untouched
+    SigningContext context = signingContext;
+    int linkId = signed ? context.linkId(frame.getSystemId(), frame.getComponentId()) : 0;
+    byte[] signingKey = signed ? requireSigningKey(frame.getSystemId(), frame.getComponentId(), linkId) : null;
+
     int startPosition = out.position();
 
     out.put((byte) MAVLINK_V2_STX);
@@ -167,33 +195,141 @@ public final class FramePacker {
 
     byte[] signature = null;
     if (signed) {
-      int linkId = 0;
-      long timestampMicros = System.currentTimeMillis() * 1000L;
-
-      byte[] signingKey = signingKeyProvider.getSigningKey(frame.getSystemId(), frame.getComponentId(), linkId);
-      if (signingKey == null || signingKey.length != 32) {
-        throw new IllegalArgumentException("Signed v2 frame requires 32-byte signing key");
-      }
-
-      int crcStartIndex = out.position() - CRC_LENGTH;
-
-      signature = V2SignatureGenerator.buildSignature(
-          out,
-          startPosition,
-          crcStartIndex,
-          linkId,
-          timestampMicros,
-          signingKey
-      );
-
-      out.put(signature, 0, V2_SIGNATURE_LENGTH);
+      int signatureIndex = out.position();
+      writeSignature(out, startPosition, context, linkId, signingKey);
+      signature = ByteBufferUtils.copyBytes(out, signatureIndex, V2_SIGNATURE_LENGTH);
     }
 
+    frame.setPayloadLength(payloadLength);
     frame.setChecksum(checksum);
     frame.setIncompatibilityFlags(incompatibilityFlags);
     frame.setSignature(signature);
     frame.setValidated(FrameFailureReason.OK);
   }
+  /**
+   * Builds a complete frame in a single pass: the header is written first, {@code payloadEncoder} writes the payload
+   * directly after it, then the length byte is backpatched and the CRC (and signature, if requested) appended.
+   * No intermediate payload array or {@link Frame} is created.
+   *
+   * <p>v1 frames carry only the base payload; anything the encoder writes past
+   * {@link DialectRegistry#maximumPayloadLength(Version, int)} for v1 (extension fields) is dropped. v2 payloads are
+   * truncated if {@link #isTruncateTrailingZeros()} is set. On failure the buffer position is restored.</p>
+   *
+   * @return number of bytes written
+   * @throws IOException if the payload encoder fails
+   * @throws IllegalArgumentException if an argument is invalid or the buffer cannot hold the largest frame for the message
+   */
+  public int pack(ByteBuffer out, Version version, int sequence, int systemId, int componentId, int messageId,
+                  boolean signed, PayloadEncoder payloadEncoder) throws IOException {
+    if (out == null) {
+      throw new IllegalArgumentException("out must not be null");
+    }
+    if (payloadEncoder == null) {
+      throw new IllegalArgumentException("payloadEncoder must not be null");
+    }
+    if (version != Version.V1 && version != Version.V2) {
+      throw new IllegalArgumentException("Unsupported MAVLink version: " + version);
+    }
+    if (signed && version == Version.V1) {
+      throw new IllegalArgumentException("MAVLink v1 frames cannot be signed");
+    }
+
+    boolean v2 = version == Version.V2;
+    int headerLength = v2 ? MAVLINK_V2_HEADER_LENGTH : MAVLINK_V1_HEADER_LENGTH;
+    int crcExtra = dialectRegistry.crcExtra(version, messageId);
+    // Room for the whole payload the encoder may write (v1 encoders may still write extensions before they are dropped)
+    int largestPayload = Math.min(MAVLINK_MAX_PAYLOAD_LENGTH, dialectRegistry.maximumPayloadLength(Version.V2, messageId));
+    requireRemaining(out, 1 + headerLength + largestPayload + CRC_LENGTH + (signed ? V2_SIGNATURE_LENGTH : 0));
+
+    // Resolve signing inputs before writing, so a missing key leaves the buffer untouched
+    SigningContext context = signingContext;
+    int linkId = signed ? context.linkId(systemId, componentId) : 0;
+    byte[] signingKey = signed ? requireSigningKey(systemId, componentId, linkId) : null;
+
+    int startPosition = out.position();
+    if (v2) {
+      out.put((byte) MAVLINK_V2_STX);
+      out.put((byte) 0); // length, backpatched below
+      out.put(signed ? (byte) V2_INCOMPAT_FLAG_SIGNED : 0);
+      out.put((byte) 0);
+      out.put((byte) sequence);
+      out.put((byte) systemId);
+      out.put((byte) componentId);
+      writeUnsigned24BitLittleEndian(out, messageId);
+    } else {
+      out.put((byte) MAVLINK_V1_STX);
+      out.put((byte) 0); // length, backpatched below
+      out.put((byte) sequence);
+      out.put((byte) systemId);
+      out.put((byte) componentId);
+      out.put((byte) messageId);
+    }
+
+    int payloadStart = out.position();
+    try {
+      payloadEncoder.encode(out);
+    } catch (IOException | RuntimeException exception) {
+      out.position(startPosition);
+      throw exception;
+    }
+
+    int payloadLength = out.position() - payloadStart;
+    if (payloadLength < 0 || payloadLength > largestPayload) {
+      out.position(startPosition);
+      throw new IllegalArgumentException("Invalid payloadLength: " + payloadLength);
+    }
+    if (!v2) {
+      payloadLength = Math.min(payloadLength, dialectRegistry.maximumPayloadLength(Version.V1, messageId));
+    } else if (truncateTrailingZeros) {
+      payloadLength = truncatedLength(out, payloadStart, payloadLength);
+    }
+    out.put(startPosition + 1, (byte) payloadLength);
+    out.position(payloadStart + payloadLength);
+
+    int checksum = CrcHelper.computeChecksumFromWritten(out, startPosition + 1, (v2 ? headerLength - 1 : headerLength) + payloadLength, crcExtra);
+    out.put((byte) (checksum & 0xFF));
+    out.put((byte) ((checksum >>> 8) & 0xFF));
+
+    if (signed) {
+      writeSignature(out, startPosition, context, linkId, signingKey);
+    }
+    return out.position() - startPosition;
+  }
+
+  private byte[] requireSigningKey(int systemId, int componentId, int linkId) {
+    byte[] signingKey = signingKeyProvider.getSigningKey(systemId, componentId, linkId);
+    if (signingKey == null || signingKey.length != 32) {
+      throw new IllegalArgumentException("Signed v2 frame requires 32-byte signing key");
+    }
+    return signingKey;
+  }
+
+  private void writeSignature(ByteBuffer out, int startPosition, SigningContext context, int linkId, byte[] signingKey) {
+    int signatureIndex = out.position();
+    V2SigningEngine.get().sign(out, startPosition, signatureIndex - CRC_LENGTH, linkId, context.nextTimestamp(),
+        signingKey, signatureIndex);
+    out.position(signatureIndex + V2_SIGNATURE_LENGTH);
+  }
+
+  /**
+   * Length of the payload with trailing zero bytes removed, never less than one byte.
+   */
+  static int truncatedLength(byte[] payload, int payloadLength) {
+    int length = payloadLength;
+    while (length > 1 && payload[length - 1] == 0) {
+      length--;
+    }
+    return length;
+  }
+
+  private static int truncatedLength(ByteBuffer out, int payloadStart, int payloadLength) {
+    int length = payloadLength;
+    while (length > 1 && out.get(payloadStart + length - 1) == 0) {
+      length--;
+    }
+    return length;
+  }
+
   private static void requireRemaining(ByteBuffer out, int required) {
     if (out.remaining() < required) {
       throw new IllegalArgumentException("Insufficient space in output buffer. required=" + required + " remaining=" + out.remaining());
@@ -0,0 +1,43 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+import lombok.Data;
+
+/**
+ * Caller-owned accumulator for what the framer consumed without delivering a frame.
+ * Pass one to {@link FrameFramer#drainFrames(java.nio.ByteBuffer, io.mapsmessaging.mavlink.message.MutableFrame,
+ * FrameConsumer, FrameScanStats)} to attribute noise and filtered traffic to a particular link.
+ */
+@Data
+public class FrameScanStats {
+
+  /** Bytes discarded while resynchronising on a start-of-frame marker. */
+  private long skippedBytes;
+
+  /** Complete frames dropped by the framer's {@link FrameFilter}. */
+  private long filteredFrames;
+
+  public void reset() {
+    skippedBytes = 0;
+    filteredFrames = 0;
+  }
+}
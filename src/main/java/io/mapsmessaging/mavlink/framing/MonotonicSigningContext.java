@@ -0,0 +1,67 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link SigningContext} with a fixed link id and a strictly increasing timestamp shared by every thread.
+ *
+ * <p>Timestamps follow the wall clock at 10 microsecond resolution (read through {@link System#nanoTime()}
+ * from a wall-clock base taken at construction). When frames are packed faster than one per tick, each one
+ * takes the previous value plus one, using a CAS loop, so bursts run slightly ahead of the clock and never
+ * repeat a value.</p>
+ */
+public class MonotonicSigningContext implements SigningContext {
+
+  /** 2015-01-01T00:00:00Z, the MAVLink signing epoch. */
+  public static final long SIGNING_EPOCH_MILLIS = 1_420_070_400_000L;
+
+  private static final long NANOS_PER_TICK = 10_000L;
+  private static final long TICKS_PER_MILLI = 100L;
+  private static final long MAX_TIMESTAMP = 0xFFFFFFFFFFFFL;
+
+  private final int linkId;
+  private final long baseTicks;
+  private final long baseNanos;
+  private final AtomicLong lastTimestamp = new AtomicLong();
+
+  public MonotonicSigningContext(int linkId) {
+    if (linkId < 0 || linkId > 0xFF) {
+      throw new IllegalArgumentException("linkId must be 0-255: " + linkId);
+    }
+    this.linkId = linkId;
+    this.baseTicks = (System.currentTimeMillis() - SIGNING_EPOCH_MILLIS) * TICKS_PER_MILLI;
+    this.baseNanos = System.nanoTime();
+  }
+
+  @Override
+  public int linkId(int systemId, int componentId) {
+    return linkId;
+  }
+
+  @Override
+  public long nextTimestamp() {
+    long now = baseTicks + (System.nanoTime() - baseNanos) / NANOS_PER_TICK;
+    long next = lastTimestamp.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+    return next & MAX_TIMESTAMP;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes a message payload straight into an output buffer, used by
+ * {@link FramePacker#pack(ByteBuffer, io.mapsmessaging.mavlink.message.Version, int, int, int, int, boolean, PayloadEncoder)}
+ * to build a frame in a single pass.
+ */
+@FunctionalInterface
+public interface PayloadEncoder {
+
+  /**
+   * Writes the payload at the buffer's position and advances the position past it.
+   *
+   * @param out destination buffer; the frame header has already been written in front of the position
+   * @throws IOException if the payload cannot be encoded
+   */
+  void encode(ByteBuffer out) throws IOException;
+}
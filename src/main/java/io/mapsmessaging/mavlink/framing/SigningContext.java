@@ -0,0 +1,39 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+/**
+ * Supplies the link id and signing timestamp for each signed v2 frame packed by {@link FramePacker}.
+ */
+public interface SigningContext {
+
+  /**
+   * @return link id (0-255) to sign a frame from this system and component with
+   */
+  int linkId(int systemId, int componentId);
+
+  /**
+   * Returns the 48-bit timestamp for the next signed frame, in 10 microsecond ticks since 1 January 2015 GMT.
+   * Receivers reject a timestamp that does not advance, so implementations must never hand out the same value
+   * twice for a link.
+   */
+  long nextTimestamp();
+}
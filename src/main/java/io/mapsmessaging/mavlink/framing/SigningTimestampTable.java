@@ -0,0 +1,180 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Last accepted signing timestamp per (systemId, componentId, linkId), used to reject replayed signed frames.
+ *
+ * <p>The MAVLink signing spec requires each signed frame's 48-bit timestamp to be strictly greater than the
+ * last one accepted for the same system, component and link. Lookups index straight into per-system and
+ * per-component arrays, and each link's timestamp is an atomic long slot updated by CAS, so the hot path takes
+ * no locks and allocates nothing once a (system, component) pair has been seen.</p>
+ *
+ * <p>Timestamps more than {@link #getMaxAheadMillis()} ahead of the local wall clock are rejected as well, so a
+ * sender with a runaway clock cannot push its link so far forward that its own later frames look like replays.</p>
+ *
+ * <p>Pairs that have been silent longer than the TTL passed to {@link #sweep(long, long)} are dropped, after
+ * which their next frame is accepted as the start of a new stream.</p>
+ */
+public final class SigningTimestampTable {
+
+  private static final int IDS = 256;
+  private static final long TICKS_PER_MILLI = 100L;
+
+  /** Default tolerance for timestamps ahead of the local clock: one minute, as for the spec's stale window. */
+  public static final long DEFAULT_MAX_AHEAD_MILLIS = 60_000L;
+
+  private final AtomicReferenceArray<AtomicReferenceArray<Entry>> systems = new AtomicReferenceArray<>(IDS);
+
+  @Getter
+  private final long maxAheadMillis;
+  private final long maxAheadTicks;
+
+  public SigningTimestampTable() {
+    this(DEFAULT_MAX_AHEAD_MILLIS);
+  }
+
+  /**
+   * @param maxAheadMillis how far a signing timestamp may run ahead of the local wall clock
+   */
+  public SigningTimestampTable(long maxAheadMillis) {
+    if (maxAheadMillis < 0) {
+      throw new IllegalArgumentException("maxAheadMillis must not be negative: " + maxAheadMillis);
+    }
+    this.maxAheadMillis = maxAheadMillis;
+    this.maxAheadTicks = maxAheadMillis > Long.MAX_VALUE / TICKS_PER_MILLI ? Long.MAX_VALUE : maxAheadMillis * TICKS_PER_MILLI;
+  }
+
+  /**
+   * Records {@code timestamp} if it is newer than the last accepted one for this link.
+   * Only call this for frames whose signature has already been verified.
+   *
+   * @return false if the frame is a replay (timestamp not strictly increasing) or its timestamp is too far ahead
+   */
+  public boolean accept(int systemId, int componentId, int linkId, long timestamp, long nowNanos) {
+    long localTicks = (System.currentTimeMillis() - MonotonicSigningContext.SIGNING_EPOCH_MILLIS) * TICKS_PER_MILLI;
+    if (timestamp - localTicks > maxAheadTicks) {
+      return false;
+    }
+    int component = componentId & 0xFF;
+    int slot = linkId & 0xFF;
+    AtomicReferenceArray<Entry> components = components(systemId & 0xFF);
+    while (true) {
+      Entry entry = entry(components, component, nowNanos);
+      entry.lastSeenAtNanos = nowNanos;
+      if (!entry.advance(slot, timestamp)) {
+        return false;
+      }
+      if (components.get(component) == entry) {
+        return true;
+      }
+      // Swept while we were updating it: record the timestamp again in the entry now installed, or it is lost
+    }
+  }
+
+  /**
+   * @return last accepted timestamp for the link, or -1 if none is recorded
+   */
+  public long lastTimestamp(int systemId, int componentId, int linkId) {
+    AtomicReferenceArray<Entry> components = systems.get(systemId & 0xFF);
+    if (components == null) {
+      return -1L;
+    }
+    Entry entry = components.get(componentId & 0xFF);
+    return entry == null ? -1L : entry.timestamps.get(linkId & 0xFF);
+  }
+
+  /**
+   * Drops every (system, component) pair with no frame for longer than {@code ttlNanos}.
+   *
+   * @return number of pairs removed
+   */
+  public int sweep(long nowNanos, long ttlNanos) {
+    int removed = 0;
+    for (int system = 0; system < IDS; system++) {
+      AtomicReferenceArray<Entry> components = systems.get(system);
+      if (components == null) {
+        continue;
+      }
+      for (int component = 0; component < IDS; component++) {
+        Entry entry = components.get(component);
+        if (entry != null && nowNanos - entry.lastSeenAtNanos > ttlNanos && components.compareAndSet(component, entry, null)) {
+          removed++;
+        }
+      }
+    }
+    return removed;
+  }
+
+  private AtomicReferenceArray<Entry> components(int systemId) {
+    AtomicReferenceArray<Entry> components = systems.get(systemId);
+    if (components == null) {
+      systems.compareAndSet(systemId, null, new AtomicReferenceArray<>(IDS));
+      components = systems.get(systemId);
+    }
+    return components;
+  }
+
+  private static Entry entry(AtomicReferenceArray<Entry> components, int componentId, long nowNanos) {
+    while (true) {
+      Entry entry = components.get(componentId);
+      if (entry != null) {
+        return entry;
+      }
+      // A concurrent sweep may remove it again straight away; loop until an installed entry is seen
+      Entry created = new Entry(nowNanos);
+      if (components.compareAndSet(componentId, null, created)) {
+        return created;
+      }
+    }
+  }
+
+  private static final class Entry {
+    // -1 so that a first timestamp of zero is still accepted
+    private final AtomicLongArray timestamps = new AtomicLongArray(IDS);
+    private volatile long lastSeenAtNanos;
+
+    private Entry(long nowNanos) {
+      for (int i = 0; i < IDS; i++) {
+        timestamps.set(i, -1L);
+      }
+      // Born fresh, so a concurrent sweep does not treat a new entry as stale
+      this.lastSeenAtNanos = nowNanos;
+    }
+
+    private boolean advance(int slot, long timestamp) {
+      while (true) {
+        long last = timestamps.get(slot);
+        if (timestamp <= last) {
+          return false;
+        }
+        if (timestamps.compareAndSet(slot, last, timestamp)) {
+          return true;
+        }
+      }
+    }
+  }
+}
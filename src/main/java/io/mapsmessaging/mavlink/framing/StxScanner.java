@@ -0,0 +1,74 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Locates MAVLink start-of-frame bytes (0xFE for v1, 0xFD for v2) eight bytes at a time.
+ *
+ * <p>Each 64-bit word is tested for either marker using the exact "has zero byte" bit trick, so runs of noise
+ * cost one load and a handful of ALU operations per eight bytes instead of a compare and branch per byte.</p>
+ */
+public final class StxScanner {
+
+  private static final VarHandle LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private static final long V1_PATTERN = 0xFEFEFEFEFEFEFEFEL;
+  private static final long V2_PATTERN = 0xFDFDFDFDFDFDFDFDL;
+  private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+  private StxScanner() {
+  }
+
+  /**
+   * Returns the absolute index of the first v1 or v2 STX byte in {@code [fromIndex, limit)}, or {@code limit}
+   * if there is none. The buffer position and limit are not modified.
+   */
+  public static int indexOfStx(ByteBuffer buffer, int fromIndex, int limit) {
+    int index = fromIndex;
+    while (index + Long.BYTES <= limit) {
+      long word = (long) LONG_LE.get(buffer, index);
+      long matches = zeroBytes(word ^ V1_PATTERN) | zeroBytes(word ^ V2_PATTERN);
+      if (matches != 0) {
+        return index + (Long.numberOfTrailingZeros(matches) >>> 3);
+      }
+      index += Long.BYTES;
+    }
+    while (index < limit) {
+      int value = buffer.get(index) & 0xFF;
+      if (value == 0xFD || value == 0xFE) {
+        return index;
+      }
+      index++;
+    }
+    return limit;
+  }
+
+  // Sets the high bit of every byte of value that is exactly zero, and no others
+  private static long zeroBytes(long value) {
+    long t = (value & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+    return ~(t | value | LOW_SEVEN_BITS);
+  }
+}
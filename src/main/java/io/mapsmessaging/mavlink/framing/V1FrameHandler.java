@@ -22,8 +22,8 @@ package io.mapsmessaging.mavlink.framing;
 
 import io.mapsmessaging.mavlink.context.FrameFailureReason;
 import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MutableFrame;
 import io.mapsmessaging.mavlink.message.Version;
-import io.mapsmessaging.mavlink.message.X25Crc;
 
 import java.nio.ByteBuffer;
 import java.util.Optional;
@@ -35,6 +35,9 @@ public final class V1FrameHandler implements FrameHandler {
   private static final int HEADER_LENGTH = 6; // LEN, SEQ, SYSID, COMPID, MSGID
   private static final int CRC_LENGTH = 2;
 
+  // Header-only decode scratch for tryDecode; the payload is copied once, straight into the returned Frame
+  private static final ThreadLocal<MutableFrame> SCRATCH_FRAME = ThreadLocal.withInitial(MutableFrame::new);
+
   private final DialectRegistry dialectRegistry;
 
   public V1FrameHandler(DialectRegistry dialectRegistry) {
@@ -56,62 +59,97 @@ public final class V1FrameHandler implements FrameHandler {
     return HEADER_LENGTH + payloadLength + CRC_LENGTH;
   }
 
+  @Override
+  public int peekMessageId(ByteBuffer buffer, int frameStartIndex) {
+    return buffer.get(frameStartIndex + 5) & 0xFF;
+  }
+
+  @Override
+  public int peekSystemId(ByteBuffer buffer, int frameStartIndex) {
+    return buffer.get(frameStartIndex + 3) & 0xFF;
+  }
+
+  @Override
+  public int peekComponentId(ByteBuffer buffer, int frameStartIndex) {
+    return buffer.get(frameStartIndex + 4) & 0xFF;
+  }
+
+  @Override
+  public boolean isPlausibleHeader(ByteBuffer buffer, int frameStartIndex) {
+    int messageId = buffer.get(frameStartIndex + 5) & 0xFF;
+    if (!dialectRegistry.isKnownMessage(Version.V1, messageId)) {
+      return false;
+    }
+    int payloadLength = buffer.get(frameStartIndex + 1) & 0xFF;
+    return isPlausibleLength(payloadLength, messageId);
+  }
+
+  private boolean isPlausibleLength(int payloadLength, int messageId) {
+    return payloadLength >= dialectRegistry.minimumPayloadLength(Version.V1, messageId)
+        && payloadLength <= dialectRegistry.maximumPayloadLength(Version.V1, messageId);
+  }
+
   @Override
   public Optional<Frame> tryDecode(ByteBuffer candidateFrame) {
-    int frameStartIndex = candidateFrame.position();
+    MutableFrame target = SCRATCH_FRAME.get();
+    if (!tryDecodeHeaderInto(candidateFrame, candidateFrame.position(), target)) {
+      return Optional.empty();
+    }
+    return Optional.of(target.toFrame(candidateFrame));
+  }
+
+  @Override
+  public boolean tryDecodeInto(ByteBuffer buffer, int frameStartIndex, MutableFrame target) {
+    if (!tryDecodeHeaderInto(buffer, frameStartIndex, target)) {
+      return false;
+    }
+    target.setPayload(buffer, target.getPayloadStartIndex(), target.getPayloadLength());
+    return true;
+  }
 
-    int stx = candidateFrame.get(frameStartIndex) & 0xFF;
+  @Override
+  public boolean tryDecodeHeaderInto(ByteBuffer buffer, int frameStartIndex, MutableFrame target) {
+    int stx = buffer.get(frameStartIndex) & 0xFF;
     if (stx != STX) {
-      return Optional.empty();
+      return false;
     }
 
-    int payloadLength = candidateFrame.get(frameStartIndex + 1) & 0xFF;
-    int sequence = candidateFrame.get(frameStartIndex + 2) & 0xFF;
-    int systemId = candidateFrame.get(frameStartIndex + 3) & 0xFF;
-    int componentId = candidateFrame.get(frameStartIndex + 4) & 0xFF;
-    int messageId = candidateFrame.get(frameStartIndex + 5) & 0xFF;
+    int payloadLength = buffer.get(frameStartIndex + 1) & 0xFF;
+    int sequence = buffer.get(frameStartIndex + 2) & 0xFF;
+    int systemId = buffer.get(frameStartIndex + 3) & 0xFF;
+    int componentId = buffer.get(frameStartIndex + 4) & 0xFF;
+    int messageId = buffer.get(frameStartIndex + 5) & 0xFF;
 
-    int minimumPayloadLength = dialectRegistry.minimumPayloadLength(Version.V1, messageId);
-    if (payloadLength < minimumPayloadLength) {
-      return Optional.empty();
+    if (!isPlausibleLength(payloadLength, messageId)) {
+      return false;
     }
 
     int payloadStartIndex = frameStartIndex + HEADER_LENGTH;
     int crcStartIndex = payloadStartIndex + payloadLength;
 
-    int receivedChecksum = ByteBufferUtils.readUnsignedLittleEndianShort(candidateFrame, crcStartIndex);
+    int receivedChecksum = ByteBufferUtils.readUnsignedLittleEndianShort(buffer, crcStartIndex);
 
     int crcExtra = dialectRegistry.crcExtra(Version.V1, messageId);
-    int computedChecksum = CrcHelper.computeChecksumFromWritten(candidateFrame, frameStartIndex + 1, (HEADER_LENGTH) + payloadLength-1, crcExtra);
+    int computedChecksum = CrcHelper.computeChecksumFromWritten(buffer, frameStartIndex + 1, (HEADER_LENGTH) + payloadLength-1, crcExtra);
     FrameFailureReason v = FrameFailureReason.OK;
     if (computedChecksum != receivedChecksum) {
       v = FrameFailureReason.CRC_FAILED;
     }
 
-    byte[] payload = ByteBufferUtils.copyBytes(candidateFrame, payloadStartIndex, payloadLength);
-
-    Frame frame = new Frame();
-    frame.setVersion(Version.V1);
-    frame.setSequence(sequence);
-    frame.setSystemId(systemId);
-    frame.setComponentId(componentId);
-    frame.setMessageId(messageId);
-    frame.setPayloadLength(payloadLength);
-    frame.setPayload(payload);
-    frame.setChecksum(receivedChecksum);
-    frame.setSigned(false);
-    frame.setIncompatibilityFlags((byte) 0);
-    frame.setCompatibilityFlags((byte) 0);
-    frame.setSignature(null);
-    frame.setValidated(v);
-
-    return Optional.of(frame);
-  }
-
-  private static void updateCrcFromCandidate(X25Crc crc, ByteBuffer candidateFrame, int index, int length) {
-    int endIndex = index + length;
-    for (int currentIndex = index; currentIndex < endIndex; currentIndex++) {
-      crc.update(candidateFrame.get(currentIndex));
-    }
+    target.setVersion(Version.V1);
+    target.setSequence(sequence);
+    target.setSystemId(systemId);
+    target.setComponentId(componentId);
+    target.setMessageId(messageId);
+    target.setPayloadLength(payloadLength);
+    target.setChecksum(receivedChecksum);
+    target.setSigned(false);
+    target.setIncompatibilityFlags((byte) 0);
+    target.setCompatibilityFlags((byte) 0);
+    target.setValidated(v);
+    target.setFrameStartIndex(frameStartIndex);
+    target.setFrameLength(computeTotalFrameLength(buffer, frameStartIndex, payloadLength));
+    target.setPayloadStartIndex(payloadStartIndex);
+    return true;
   }
 }
@@ -22,10 +22,13 @@ package io.mapsmessaging.mavlink.framing;
 
 import io.mapsmessaging.mavlink.context.FrameFailureReason;
 import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MutableFrame;
 import io.mapsmessaging.mavlink.message.Version;
 
+import lombok.Getter;
+import lombok.Setter;
+
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.Optional;
 
 public final class V2FrameHandler implements FrameHandler {
@@ -39,9 +42,17 @@ public final class V2FrameHandler implements FrameHandler {
   static final int CRC_LENGTH = 2;
   static final int SIGNATURE_LENGTH = 13;
 
+  // Header-only decode scratch for tryDecode; the payload is copied once, straight into the returned Frame
+  private static final ThreadLocal<MutableFrame> SCRATCH_FRAME = ThreadLocal.withInitial(MutableFrame::new);
+
   private final DialectRegistry dialectRegistry;
   private final SigningKeyProvider signingKeyProvider;
 
+  // Optional replay protection; null accepts any timestamp on a correctly signed frame
+  @Getter
+  @Setter
+  private volatile SigningTimestampTable signingTimestampTable;
+
   public V2FrameHandler(DialectRegistry dialectRegistry,
                         SigningKeyProvider signingKeyProvider) {
     this.dialectRegistry = dialectRegistry;
@@ -66,117 +77,142 @@ public final class V2FrameHandler implements FrameHandler {
     return HEADER_LENGTH + payloadLength + CRC_LENGTH + signatureBytes;
   }
 
+  @Override
+  public int peekMessageId(ByteBuffer buffer, int frameStartIndex) {
+    return ByteBufferUtils.readUnsigned24BitLittleEndian(buffer, frameStartIndex + 7);
+  }
+
+  @Override
+  public int peekSystemId(ByteBuffer buffer, int frameStartIndex) {
+    return buffer.get(frameStartIndex + 5) & 0xFF;
+  }
+
+  @Override
+  public int peekComponentId(ByteBuffer buffer, int frameStartIndex) {
+    return buffer.get(frameStartIndex + 6) & 0xFF;
+  }
+
+  @Override
+  public boolean isPlausibleHeader(ByteBuffer buffer, int frameStartIndex) {
+    int incompatibilityFlags = buffer.get(frameStartIndex + 2) & 0xFF;
+    if ((incompatibilityFlags & ~INCOMPAT_FLAG_SIGNED) != 0) {
+      return false;
+    }
+    int messageId = ByteBufferUtils.readUnsigned24BitLittleEndian(buffer, frameStartIndex + 7);
+    if (!dialectRegistry.isKnownMessage(Version.V2, messageId)) {
+      return false;
+    }
+    int payloadLength = buffer.get(frameStartIndex + 1) & 0xFF;
+    return isPlausibleLength(payloadLength, messageId);
+  }
+
+  private boolean isPlausibleLength(int payloadLength, int messageId) {
+    return payloadLength >= dialectRegistry.minimumPayloadLength(Version.V2, messageId)
+        && payloadLength <= dialectRegistry.maximumPayloadLength(Version.V2, messageId);
+  }
+
   @Override
   public Optional<Frame> tryDecode(ByteBuffer candidateFrame) {
-    FrameFailureReason validated = FrameFailureReason.OK;
+    MutableFrame target = SCRATCH_FRAME.get();
+    if (!tryDecodeHeaderInto(candidateFrame, candidateFrame.position(), target)) {
+      return Optional.empty();
+    }
+    return Optional.of(target.toFrame(candidateFrame));
+  }
+
+  @Override
+  public boolean tryDecodeInto(ByteBuffer buffer, int frameStartIndex, MutableFrame target) {
+    if (!tryDecodeHeaderInto(buffer, frameStartIndex, target)) {
+      return false;
+    }
+    target.setPayload(buffer, target.getPayloadStartIndex(), target.getPayloadLength());
+    return true;
+  }
 
-    int frameStartIndex = candidateFrame.position();
+  @Override
+  public boolean tryDecodeHeaderInto(ByteBuffer buffer, int frameStartIndex, MutableFrame target) {
+    FrameFailureReason validated = FrameFailureReason.OK;
 
-    int stx = candidateFrame.get(frameStartIndex) & 0xFF;
+    int stx = buffer.get(frameStartIndex) & 0xFF;
     if (stx != STX) {
-      return Optional.empty();
+      return false;
     }
 
-    int payloadLength = candidateFrame.get(frameStartIndex + 1) & 0xFF;
+    int payloadLength = buffer.get(frameStartIndex + 1) & 0xFF;
 
-    byte incompatibilityFlags = candidateFrame.get(frameStartIndex + 2);
-    byte compatibilityFlags = candidateFrame.get(frameStartIndex + 3);
+    byte incompatibilityFlags = buffer.get(frameStartIndex + 2);
+    byte compatibilityFlags = buffer.get(frameStartIndex + 3);
 
-    int sequence = candidateFrame.get(frameStartIndex + 4) & 0xFF;
-    int systemId = candidateFrame.get(frameStartIndex + 5) & 0xFF;
-    int componentId = candidateFrame.get(frameStartIndex + 6) & 0xFF;
+    int sequence = buffer.get(frameStartIndex + 4) & 0xFF;
+    int systemId = buffer.get(frameStartIndex + 5) & 0xFF;
+    int componentId = buffer.get(frameStartIndex + 6) & 0xFF;
 
-    int messageId = ByteBufferUtils.readUnsigned24BitLittleEndian(candidateFrame, frameStartIndex + 7);
+    int messageId = ByteBufferUtils.readUnsigned24BitLittleEndian(buffer, frameStartIndex + 7);
 
-    int minimumPayloadLength = dialectRegistry.minimumPayloadLength(Version.V2, messageId);
-    if (payloadLength < minimumPayloadLength) {
-      return Optional.empty();
+    if (!isPlausibleLength(payloadLength, messageId)) {
+      return false;
     }
 
     boolean signed = ((incompatibilityFlags & INCOMPAT_FLAG_SIGNED) != 0);
     int payloadStartIndex = frameStartIndex  + HEADER_LENGTH;
     int crcStartIndex = payloadStartIndex + payloadLength;
 
-    int receivedChecksum = ByteBufferUtils.readUnsignedLittleEndianShort(candidateFrame, crcStartIndex);
+    int receivedChecksum = ByteBufferUtils.readUnsignedLittleEndianShort(buffer, crcStartIndex);
 
     int crcExtra = dialectRegistry.crcExtra(Version.V2, messageId);
-    int checksum = CrcHelper.computeChecksumFromWritten(candidateFrame, frameStartIndex+1, (HEADER_LENGTH-1) + payloadLength, crcExtra);
+    int checksum = CrcHelper.computeChecksumFromWritten(buffer, frameStartIndex+1, (HEADER_LENGTH-1) + payloadLength, crcExtra);
 
-    byte[] payload = new byte[0];
-    byte[] signature = null;
+    if (signed) {
+      target.setSignature(buffer, crcStartIndex + CRC_LENGTH);
+    }
     if (checksum != receivedChecksum) {
       validated = FrameFailureReason.CRC_FAILED;
     }
     else {
-      payload = ByteBufferUtils.copyBytes(candidateFrame, payloadStartIndex, payloadLength);
       if (signed) {
-        int signatureStartIndex = crcStartIndex + CRC_LENGTH;
-        signature = ByteBufferUtils.copyBytes(candidateFrame, signatureStartIndex, SIGNATURE_LENGTH);
-        if (signingKeyProvider.canValidate() &&
-            !validateSignature(candidateFrame, frameStartIndex, crcStartIndex, systemId, componentId, signature)) {
-          validated = FrameFailureReason.SIGNATURE_FAILED;
+        if (signingKeyProvider.canValidate()) {
+          validated = validateSignature(buffer, frameStartIndex, crcStartIndex, systemId, componentId);
         }
       }
       else{
         validated = FrameFailureReason.UNSIGNED;
       }
     }
-    Frame frame = new Frame();
-    frame.setVersion(Version.V2);
-    frame.setSequence(sequence);
-    frame.setSystemId(systemId);
-    frame.setComponentId(componentId);
-    frame.setMessageId(messageId);
-    frame.setPayloadLength(payloadLength);
-    frame.setPayload(payload);
-    frame.setChecksum(receivedChecksum);
-    frame.setSigned(signed);
-    frame.setIncompatibilityFlags(incompatibilityFlags);
-    frame.setCompatibilityFlags(compatibilityFlags);
-    frame.setSignature(signature);
-    frame.setValidated(validated);
-    return Optional.of(frame);
+    target.setVersion(Version.V2);
+    target.setSequence(sequence);
+    target.setSystemId(systemId);
+    target.setComponentId(componentId);
+    target.setMessageId(messageId);
+    target.setPayloadLength(payloadLength);
+    target.setChecksum(receivedChecksum);
+    target.setSigned(signed);
+    target.setIncompatibilityFlags(incompatibilityFlags);
+    target.setCompatibilityFlags(compatibilityFlags);
+    target.setValidated(validated);
+    target.setFrameStartIndex(frameStartIndex);
+    target.setFrameLength(computeTotalFrameLength(buffer, frameStartIndex, payloadLength));
+    target.setPayloadStartIndex(payloadStartIndex);
+    return true;
   }
 
-  private boolean validateSignature(ByteBuffer candidateFrame,
-                                    int frameStartIndex,
-                                    int crcStartIndex,
-                                    int systemId,
-                                    int componentId,
-                                    byte[] receivedSignatureBlock) {
-
-    if (receivedSignatureBlock == null || receivedSignatureBlock.length != SIGNATURE_LENGTH) {
-      return false;
-    }
-
-    int linkId = receivedSignatureBlock[0] & 0xFF;
-    long timestamp = readUnsigned48BitLittleEndian(receivedSignatureBlock, 1);
+  private FrameFailureReason validateSignature(ByteBuffer candidateFrame,
+                                               int frameStartIndex,
+                                               int crcStartIndex,
+                                               int systemId,
+                                               int componentId) {
+    int signatureIndex = crcStartIndex + CRC_LENGTH;
+    int linkId = V2SigningEngine.readLinkId(candidateFrame, signatureIndex);
 
     byte[] signingKey = signingKeyProvider.getSigningKey(systemId, componentId, linkId);
-    if (signingKey == null || signingKey.length == 0) {
-      return false;
+    if (signingKey == null || signingKey.length == 0
+        || !V2SigningEngine.get().verify(candidateFrame, frameStartIndex, crcStartIndex, signingKey, signatureIndex)) {
+      return FrameFailureReason.SIGNATURE_FAILED;
     }
-
-    byte[] expectedSignatureBlock = V2SignatureGenerator.buildSignature(
-        candidateFrame,
-        frameStartIndex,
-        crcStartIndex,
-        linkId,
-        timestamp,
-        signingKey
-    );
-
-    return Arrays.equals(expectedSignatureBlock, receivedSignatureBlock);
-  }
-
-  private static long readUnsigned48BitLittleEndian(byte[] source, int offset) {
-    long value = 0;
-    value |= (source[offset] & 0xFFL);
-    value |= ((source[offset + 1] & 0xFFL) << 8);
-    value |= ((source[offset + 2] & 0xFFL) << 16);
-    value |= ((source[offset + 3] & 0xFFL) << 24);
-    value |= ((source[offset + 4] & 0xFFL) << 32);
-    value |= ((source[offset + 5] & 0xFFL) << 40);
-    return value;
+    SigningTimestampTable table = signingTimestampTable;
+    if (table != null && !table.accept(systemId, componentId, linkId,
+        V2SigningEngine.readTimestamp(candidateFrame, signatureIndex), System.nanoTime())) {
+      return FrameFailureReason.REPLAYED;
+    }
+    return FrameFailureReason.OK;
   }
 }
@@ -21,7 +21,6 @@
 package io.mapsmessaging.mavlink.framing;
 
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 
 import static io.mapsmessaging.mavlink.framing.V2FrameHandler.CRC_LENGTH;
 import static io.mapsmessaging.mavlink.framing.V2FrameHandler.SIGNATURE_LENGTH;
@@ -53,18 +52,11 @@ public final class V2FrameSigning {
 
     int crcStartIndex = frameLimit - CRC_LENGTH;
 
-    byte[] signatureBlock = V2SignatureGenerator.buildSignature(
-        readOnly,
-        frameStartIndex,
-        crcStartIndex,
-        linkId,
-        timestamp,
-        signingKey
-    );
-
-    ByteBuffer signedFrame = ByteBuffer.allocate((frameLimit - frameStartIndex) + SIGNATURE_LENGTH);
-    signedFrame.put(readOnly.duplicate());
-    signedFrame.put(signatureBlock);
+    int frameLength = frameLimit - frameStartIndex;
+    ByteBuffer signedFrame = ByteBuffer.allocate(frameLength + SIGNATURE_LENGTH);
+    signedFrame.put(readOnly);
+    V2SigningEngine.get().sign(signedFrame, 0, frameLength - CRC_LENGTH, linkId, timestamp, signingKey, frameLength);
+    signedFrame.position(frameLength + SIGNATURE_LENGTH);
     signedFrame.flip();
     return signedFrame;
   }
@@ -76,37 +68,12 @@ public final class V2FrameSigning {
                                           int componentId,
                                           SigningKeyProvider signingKeyProvider) {
     int signatureStartIndex = crcStartIndex + CRC_LENGTH;
-
-    byte[] receivedSignatureBlock = ByteBufferUtils.copyBytes(signedFrame, signatureStartIndex, SIGNATURE_LENGTH);
-
-    int linkId = receivedSignatureBlock[0] & 0xFF;
-    long timestamp = readUnsigned48BitLittleEndian(receivedSignatureBlock, 1);
+    int linkId = V2SigningEngine.readLinkId(signedFrame, signatureStartIndex);
 
     byte[] signingKey = signingKeyProvider.getSigningKey(systemId, componentId, linkId);
     if (signingKey == null || signingKey.length != 32) {
       return false;
     }
-
-    byte[] expectedSignatureBlock = V2SignatureGenerator.buildSignature(
-        signedFrame,
-        frameStartIndex,
-        crcStartIndex,
-        linkId,
-        timestamp,
-        signingKey
-    );
-
-    return Arrays.equals(expectedSignatureBlock, receivedSignatureBlock);
-  }
-
-  private static long readUnsigned48BitLittleEndian(byte[] source, int offset) {
-    long value = 0;
-    value |= (source[offset] & 0xFFL);
-    value |= ((source[offset + 1] & 0xFFL) << 8);
-    value |= ((source[offset + 2] & 0xFFL) << 16);
-    value |= ((source[offset + 3] & 0xFFL) << 24);
-    value |= ((source[offset + 4] & 0xFFL) << 32);
-    value |= ((source[offset + 5] & 0xFFL) << 40);
-    return value;
+    return V2SigningEngine.get().verify(signedFrame, frameStartIndex, crcStartIndex, signingKey, signatureStartIndex);
   }
 }
@@ -20,13 +20,12 @@
 package io.mapsmessaging.mavlink.framing;
 
 import java.nio.ByteBuffer;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
 
-import static io.mapsmessaging.mavlink.framing.V2FrameHandler.CRC_LENGTH;
 import static io.mapsmessaging.mavlink.framing.V2FrameHandler.SIGNATURE_LENGTH;
 
+/**
+ * Array-returning signature helper. Hot paths sign in place through {@link V2SigningEngine} instead.
+ */
 public final class V2SignatureGenerator {
 
   public static byte[] buildSignature(ByteBuffer candidateFrame,
@@ -40,27 +39,13 @@ public final class V2SignatureGenerator {
       throw new IllegalArgumentException("signingKey must be provided");
     }
 
-    int packetEndExclusive = crcStartIndex + CRC_LENGTH;
-    int packetLength = packetEndExclusive - frameStartIndex;
-
-    if (packetLength <= 0) {
-      throw new IllegalArgumentException("Invalid frameStartIndex or crcStartIndex");
-    }
-
-    byte[] packetBytes = new byte[packetLength];
-    ByteBuffer readOnly = candidateFrame.duplicate();
-    readOnly.position(frameStartIndex);
-    readOnly.get(packetBytes);
-
-    byte[] digest = sha256(packetBytes, signingKey);
-    byte[] signatureBytes = Arrays.copyOf(digest, 6);
-
     byte[] signatureBlock = new byte[SIGNATURE_LENGTH];
     signatureBlock[0] = (byte) linkId;
 
     writeUnsigned48BitLittleEndian(signatureBlock, 1, timestamp);
 
-    System.arraycopy(signatureBytes, 0, signatureBlock, 7, 6);
+    byte[] digest = V2SigningEngine.get().hash(candidateFrame, frameStartIndex, crcStartIndex, linkId, timestamp, signingKey);
+    System.arraycopy(digest, 0, signatureBlock, 7, V2SigningEngine.SIGNATURE_HASH_LENGTH);
     return signatureBlock;
   }
 
@@ -75,19 +60,6 @@ public final class V2SignatureGenerator {
     target[offset + 5] = (byte) (masked >>> 40);
   }
 
-  private static byte[] sha256(byte[] packetBytes, byte[] signingKey) {
-    MessageDigest digest;
-    try {
-      digest = MessageDigest.getInstance("SHA-256");
-    } catch (NoSuchAlgorithmException e) {
-      throw new IllegalStateException("SHA-256 not available", e);
-    }
-
-    digest.update(packetBytes);
-    digest.update(signingKey);
-    return digest.digest();
-  }
-
   private V2SignatureGenerator() {
   }
 }
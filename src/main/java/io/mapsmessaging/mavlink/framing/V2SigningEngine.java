@@ -0,0 +1,165 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.framing;
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static io.mapsmessaging.mavlink.framing.V2FrameHandler.CRC_LENGTH;
+import static io.mapsmessaging.mavlink.framing.V2FrameHandler.SIGNATURE_LENGTH;
+
+/**
+ * Per-thread MAVLink v2 signing state: one SHA-256 {@link MessageDigest} and its output block, reused for
+ * every frame the thread signs or verifies.
+ *
+ * <p>The packet bytes are fed to the digest straight from the frame's buffer (heap buffers by backing array,
+ * direct buffers through a small per-thread scratch array) and the 13-byte signature block is written into the
+ * output buffer in place, so signing a frame allocates nothing.</p>
+ */
+public final class V2SigningEngine {
+
+  static final int SIGNATURE_HASH_LENGTH = 6;
+
+  private static final int HASH_LENGTH = 32;
+  private static final int SIGNATURE_PREFIX_LENGTH = 7; // link id + 48-bit timestamp
+  private static final int MAX_PACKET_LENGTH = 1 + 10 + 255 + CRC_LENGTH;
+
+  private static final ThreadLocal<V2SigningEngine> ENGINES = ThreadLocal.withInitial(V2SigningEngine::new);
+
+  private final MessageDigest digest;
+  private final byte[] hash = new byte[HASH_LENGTH];
+  private final byte[] scratch = new byte[MAX_PACKET_LENGTH];
+  private final byte[] prefix = new byte[SIGNATURE_PREFIX_LENGTH];
+  private final byte[] expectedHash = new byte[SIGNATURE_HASH_LENGTH];
+  private final byte[] receivedHash = new byte[SIGNATURE_HASH_LENGTH];
+
+  private V2SigningEngine() {
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * @return the calling thread's engine
+   */
+  public static V2SigningEngine get() {
+    return ENGINES.get();
+  }
+
+  /**
+   * Signs the packet {@code [frameStartIndex, crcStartIndex + 2)} together with the link id and timestamp, and writes link id, 48-bit timestamp and
+   * truncated hash at absolute {@code signatureIndex}. The buffer position and limit are not modified.
+   */
+  public void sign(ByteBuffer buffer,
+                   int frameStartIndex,
+                   int crcStartIndex,
+                   int linkId,
+                   long timestamp,
+                   byte[] signingKey,
+                   int signatureIndex) {
+    if (buffer.limit() < signatureIndex + SIGNATURE_LENGTH) {
+      throw new IllegalArgumentException("No room for the signature block");
+    }
+    byte[] computed = hash(buffer, frameStartIndex, crcStartIndex, linkId, timestamp, signingKey);
+
+    buffer.put(signatureIndex, prefix, 0, SIGNATURE_PREFIX_LENGTH);
+    for (int i = 0; i < SIGNATURE_HASH_LENGTH; i++) {
+      buffer.put(signatureIndex + 7 + i, computed[i]);
+    }
+  }
+
+  /**
+   * Checks the signature block at absolute {@code signatureIndex} against the packet
+   * {@code [frameStartIndex, crcStartIndex + 2)}, using the link id and timestamp stored in the block.
+   * Only the six hash bytes are compared, in constant time;
+   * nothing is allocated and the buffer position and limit are not modified.
+   *
+   * @return true if the hash matches
+   */
+  public boolean verify(ByteBuffer buffer,
+                        int frameStartIndex,
+                        int crcStartIndex,
+                        byte[] signingKey,
+                        int signatureIndex) {
+    if (buffer.limit() < signatureIndex + SIGNATURE_LENGTH) {
+      return false;
+    }
+    byte[] computed = hash(buffer, frameStartIndex, crcStartIndex,
+        readLinkId(buffer, signatureIndex), readTimestamp(buffer, signatureIndex), signingKey);
+    System.arraycopy(computed, 0, expectedHash, 0, SIGNATURE_HASH_LENGTH);
+    buffer.get(signatureIndex + 7, receivedHash, 0, SIGNATURE_HASH_LENGTH);
+    return MessageDigest.isEqual(expectedHash, receivedHash);
+  }
+
+  public static int readLinkId(ByteBuffer buffer, int signatureIndex) {
+    return buffer.get(signatureIndex) & 0xFF;
+  }
+
+  public static long readTimestamp(ByteBuffer buffer, int signatureIndex) {
+    long value = 0;
+    for (int i = 5; i >= 0; i--) {
+      value = (value << 8) | (buffer.get(signatureIndex + 1 + i) & 0xFFL);
+    }
+    return value;
+  }
+
+  /**
+   * Computes the MAVLink v2 signature hash: SHA-256 over the key, the packet bytes and then the link id and
+   * 48-bit timestamp of the signature block, so neither can be rewritten without breaking the signature.
+   *
+   * @return this engine's internal hash block; valid until the next call on this thread
+   */
+  byte[] hash(ByteBuffer buffer, int frameStartIndex, int crcStartIndex, int linkId, long timestamp, byte[] signingKey) {
+    if (signingKey == null || signingKey.length == 0) {
+      throw new IllegalArgumentException("signingKey must be provided");
+    }
+    int packetLength = crcStartIndex + CRC_LENGTH - frameStartIndex;
+    if (packetLength <= 0 || packetLength > MAX_PACKET_LENGTH) {
+      throw new IllegalArgumentException("Invalid frameStartIndex or crcStartIndex");
+    }
+
+    prefix[0] = (byte) linkId;
+    long masked = timestamp & 0xFFFFFFFFFFFFL;
+    for (int i = 0; i < 6; i++) {
+      prefix[1 + i] = (byte) (masked >>> (8 * i));
+    }
+
+    digest.update(signingKey);
+    if (buffer.hasArray()) {
+      digest.update(buffer.array(), buffer.arrayOffset() + frameStartIndex, packetLength);
+    } else {
+      buffer.get(frameStartIndex, scratch, 0, packetLength);
+      digest.update(scratch, 0, packetLength);
+    }
+    digest.update(prefix, 0, SIGNATURE_PREFIX_LENGTH);
+    try {
+      digest.digest(hash, 0, HASH_LENGTH);
+    } catch (DigestException e) {
+      digest.reset();
+      throw new IllegalStateException("SHA-256 digest failed", e);
+    }
+    return hash;
+  }
+}
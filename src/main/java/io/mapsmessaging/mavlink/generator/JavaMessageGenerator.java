@@ -0,0 +1,427 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.generator;
+
+import io.mapsmessaging.mavlink.MavlinkMessageFormatLoader;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.message.CompiledField;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageRegistry;
+import io.mapsmessaging.mavlink.message.fields.FieldDefinition;
+import io.mapsmessaging.mavlink.message.fields.WireType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Generates typed Java message classes from a compiled dialect.
+ *
+ * <p>Each generated class holds its fields as primitives (char arrays as {@code byte[]}), carries the message id,
+ * CRC extra and payload sizes as constants, and encodes/decodes itself with allocation-free
+ * {@code encodeTo(ByteBuffer)}/{@code decodeFrom(ByteBuffer)} methods built on {@code PayloadReader} and
+ * {@code PayloadWriter}. Instances are mutable and intended to be reused.</p>
+ *
+ * <p>Usage from the command line or an {@code exec-maven-plugin} execution:</p>
+ * <pre>
+ *   java io.mapsmessaging.mavlink.generator.JavaMessageGenerator &lt;dialect&gt; &lt;outputDir&gt; &lt;package&gt; [MESSAGE_NAME ...]
+ * </pre>
+ * <p>{@code dialect} is a built-in dialect name (for example {@code common}) or a path to a dialect XML file.
+ * If message names are given only those messages are generated.</p>
+ */
+public final class JavaMessageGenerator {
+
+  private static final Set<String> RESERVED = Set.of(
+      "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+      "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+      "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+      "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+      "throw", "throws", "transient", "try", "void", "volatile", "while", "true", "false", "null", "record",
+      "var", "yield", "start", "length", "in", "out", "index"
+  );
+
+  private final String packageName;
+
+  public JavaMessageGenerator(String packageName) {
+    this.packageName = Objects.requireNonNull(packageName, "packageName");
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 3) {
+      System.err.println("Usage: JavaMessageGenerator <dialect name | dialect.xml> <outputDir> <package> [MESSAGE_NAME ...]");
+      System.exit(1);
+      return;
+    }
+    MavlinkMessageFormatLoader loader = MavlinkMessageFormatLoader.getInstance();
+    Path dialectPath = Path.of(args[0]);
+    MavlinkCodec codec = Files.isRegularFile(dialectPath) ? loader.loadDialect(dialectPath) : loader.getDialectOrThrow(args[0]);
+
+    JavaMessageGenerator generator = new JavaMessageGenerator(args[2]);
+    List<String> names = Arrays.asList(args).subList(3, args.length);
+    Map<String, String> sources = generator.generate(codec.getRegistry(), names);
+    generator.write(sources, Path.of(args[1]));
+    System.out.println("Generated " + sources.size() + " message classes for dialect " + codec.getName());
+  }
+
+  /**
+   * Generates a source file per message.
+   *
+   * @param registry compiled dialect
+   * @param messageNames message names to generate, or empty for every message
+   * @return source text keyed by simple class name, in dialect order
+   * @throws IllegalArgumentException if a requested message is not in the dialect
+   */
+  public Map<String, String> generate(MessageRegistry registry, List<String> messageNames) {
+    Map<String, String> sources = new LinkedHashMap<>();
+    for (CompiledMessage message : registry.getCompiledMessages()) {
+      if (messageNames.isEmpty() || messageNames.contains(message.getName())) {
+        sources.put(className(message.getName()), generate(message, registry.getDialectName()));
+      }
+    }
+    for (String name : messageNames) {
+      if (registry.getCompiledMessages().stream().noneMatch(message -> message.getName().equals(name))) {
+        throw new IllegalArgumentException("Unknown message in dialect " + registry.getDialectName() + ": " + name);
+      }
+    }
+    return sources;
+  }
+
+  /**
+   * Writes sources below {@code outputDirectory} using the package directory layout.
+   */
+  public void write(Map<String, String> sources, Path outputDirectory) throws IOException {
+    Path packageDirectory = outputDirectory.resolve(packageName.replace('.', '/'));
+    Files.createDirectories(packageDirectory);
+    for (Map.Entry<String, String> entry : sources.entrySet()) {
+      Files.writeString(packageDirectory.resolve(entry.getKey() + ".java"), entry.getValue(), StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * @return source text of the typed class for one message
+   */
+  public String generate(CompiledMessage message, String dialectName) {
+    String className = className(message.getName());
+    List<CompiledField> fields = message.getCompiledFields();
+    StringBuilder source = new StringBuilder(4096);
+
+    source.append("// Generated by ").append(JavaMessageGenerator.class.getName())
+        .append(" from MAVLink dialect '").append(dialectName).append("'. Do not edit.\n");
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source.append("import io.mapsmessaging.mavlink.message.PayloadReader;\n");
+    source.append("import io.mapsmessaging.mavlink.message.PayloadWriter;\n\n");
+    source.append("import java.nio.ByteBuffer;\n");
+    source.append("import java.nio.charset.StandardCharsets;\n");
+    source.append("import java.util.Arrays;\n\n");
+
+    source.append("/**\n * MAVLink ").append(message.getName()).append(" (id ").append(message.getMessageId()).append(").\n");
+    String description = message.getMessageDefinition().getDescription();
+    if (description != null && !description.isBlank()) {
+      source.append(" *\n * <p>").append(javadoc(description)).append("</p>\n");
+    }
+    source.append(" */\n");
+    source.append("public final class ").append(className).append(" {\n\n");
+
+    source.append("  public static final String NAME = \"").append(message.getName()).append("\";\n");
+    source.append("  public static final int MESSAGE_ID = ").append(message.getMessageId()).append(";\n");
+    source.append("  public static final int CRC_EXTRA = ").append(message.getCrcExtra()).append(";\n");
+    source.append("  /** Payload size including extensions. */\n");
+    source.append("  public static final int PAYLOAD_LENGTH = ").append(message.getPayloadSizeBytes()).append(";\n");
+    source.append("  /** Payload size of the base (non-extension) fields. */\n");
+    source.append("  public static final int BASE_PAYLOAD_LENGTH = ").append(message.getMinimumPayloadSizeBytes()).append(";\n\n");
+
+    for (CompiledField field : fields) {
+      FieldDefinition definition = field.getFieldDefinition();
+      String fieldName = fieldName(definition.getName());
+      String comment = fieldComment(definition);
+      if (!comment.isEmpty()) {
+        source.append("  /** ").append(comment).append(" */\n");
+      }
+      if (isCharArray(definition)) {
+        source.append("  private final byte[] ").append(fieldName).append(" = new byte[").append(definition.getArrayLength()).append("];\n");
+      } else if (definition.isArray()) {
+        String type = javaType(definition.getWireType());
+        source.append("  private final ").append(type).append("[] ").append(fieldName)
+            .append(" = new ").append(type).append("[").append(definition.getArrayLength()).append("];\n");
+      } else {
+        source.append("  private ").append(javaType(definition.getWireType())).append(" ").append(fieldName).append(";\n");
+      }
+    }
+    source.append("\n");
+
+    appendDecode(source, fields);
+    appendEncode(source, fields);
+    for (CompiledField field : fields) {
+      appendAccessors(source, className, field.getFieldDefinition());
+    }
+    appendToString(source, className, fields);
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private static void appendDecode(StringBuilder source, List<CompiledField> fields) {
+    source.append("  /**\n");
+    source.append("   * Decodes the payload between the buffer's position and limit, reading at most {@link #PAYLOAD_LENGTH} bytes.\n");
+    source.append("   * Missing trailing bytes (truncated v2 payloads, absent extensions) decode as zero.\n");
+    source.append("   * The position is advanced past the bytes consumed.\n");
+    source.append("   */\n");
+    source.append("  public void decodeFrom(ByteBuffer in) {\n");
+    source.append("    int start = in.position();\n");
+    source.append("    int length = Math.min(in.remaining(), PAYLOAD_LENGTH);\n");
+    for (CompiledField field : fields) {
+      FieldDefinition definition = field.getFieldDefinition();
+      WireType wireType = definition.getWireType();
+      String name = fieldName(definition.getName());
+      int offset = field.getOffsetInPayload();
+      if (isCharArray(definition)) {
+        source.append("    for (int index = 0; index < ").append(definition.getArrayLength()).append("; index++) {\n");
+        source.append("      ").append(name).append("[index] = (byte) PayloadReader.readUInt8(in, start, length, ")
+            .append(offset).append(" + index);\n");
+        source.append("    }\n");
+      } else if (definition.isArray()) {
+        source.append("    for (int index = 0; index < ").append(definition.getArrayLength()).append("; index++) {\n");
+        source.append("      ").append(name).append("[index] = ").append(readExpression(wireType, elementOffset(offset, wireType.getSizeInBytes()))).append(";\n");
+        source.append("    }\n");
+      } else {
+        source.append("    ").append(name).append(" = ").append(readExpression(wireType, Integer.toString(offset))).append(";\n");
+      }
+    }
+    source.append("    in.position(start + length);\n");
+    source.append("  }\n\n");
+  }
+
+  private static void appendEncode(StringBuilder source, List<CompiledField> fields) {
+    source.append("  /**\n");
+    source.append("   * Encodes the full payload, extensions included, at the buffer's position and advances the position.\n");
+    source.append("   *\n");
+    source.append("   * @return number of bytes written ({@link #PAYLOAD_LENGTH})\n");
+    source.append("   * @throws java.nio.BufferOverflowException if fewer than {@link #PAYLOAD_LENGTH} bytes remain\n");
+    source.append("   */\n");
+    source.append("  public int encodeTo(ByteBuffer out) {\n");
+    source.append("    if (out.remaining() < PAYLOAD_LENGTH) {\n");
+    source.append("      throw new java.nio.BufferOverflowException();\n");
+    source.append("    }\n");
+    source.append("    int start = out.position();\n");
+    for (CompiledField field : fields) {
+      FieldDefinition definition = field.getFieldDefinition();
+      WireType wireType = definition.getWireType();
+      String name = fieldName(definition.getName());
+      int offset = field.getOffsetInPayload();
+      if (definition.isArray()) {
+        int size = isCharArray(definition) ? 1 : wireType.getSizeInBytes();
+        source.append("    for (int index = 0; index < ").append(definition.getArrayLength()).append("; index++) {\n");
+        source.append("      ").append(writeStatement(isCharArray(definition) ? WireType.INT8 : wireType,
+            elementOffset(offset, size), name + "[index]")).append("\n");
+        source.append("    }\n");
+      } else {
+        source.append("    ").append(writeStatement(wireType, Integer.toString(offset), name)).append("\n");
+      }
+    }
+    source.append("    out.position(start + PAYLOAD_LENGTH);\n");
+    source.append("    return PAYLOAD_LENGTH;\n");
+    source.append("  }\n\n");
+  }
+
+  private static void appendAccessors(StringBuilder source, String className, FieldDefinition definition) {
+    String name = fieldName(definition.getName());
+    String property = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    if (isCharArray(definition)) {
+      source.append("  /** @return the NUL-padded backing bytes; changes are reflected in the message */\n");
+      source.append("  public byte[] get").append(property).append("Bytes() {\n");
+      source.append("    return ").append(name).append(";\n");
+      source.append("  }\n\n");
+      source.append("  public String get").append(property).append("() {\n");
+      source.append("    int end = 0;\n");
+      source.append("    while (end < ").append(name).append(".length && ").append(name).append("[end] != 0) {\n");
+      source.append("      end++;\n");
+      source.append("    }\n");
+      source.append("    return new String(").append(name).append(", 0, end, StandardCharsets.UTF_8);\n");
+      source.append("  }\n\n");
+      source.append("  /** Sets the value as UTF-8, truncated to ").append(definition.getArrayLength()).append(" bytes and NUL-padded. */\n");
+      source.append("  public ").append(className).append(" set").append(property).append("(String value) {\n");
+      source.append("    Arrays.fill(").append(name).append(", (byte) 0);\n");
+      source.append("    if (value != null) {\n");
+      source.append("      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);\n");
+      source.append("      System.arraycopy(bytes, 0, ").append(name).append(", 0, Math.min(bytes.length, ")
+          .append(name).append(".length));\n");
+      source.append("    }\n");
+      source.append("    return this;\n");
+      source.append("  }\n\n");
+    } else if (definition.isArray()) {
+      source.append("  /** @return the backing array; changes are reflected in the message */\n");
+      source.append("  public ").append(javaType(definition.getWireType())).append("[] get").append(property).append("() {\n");
+      source.append("    return ").append(name).append(";\n");
+      source.append("  }\n\n");
+    } else {
+      String type = javaType(definition.getWireType());
+      source.append("  public ").append(type).append(" get").append(property).append("() {\n");
+      source.append("    return ").append(name).append(";\n");
+      source.append("  }\n\n");
+      source.append("  public ").append(className).append(" set").append(property).append("(").append(type).append(" value) {\n");
+      source.append("    this.").append(name).append(" = value;\n");
+      source.append("    return this;\n");
+      source.append("  }\n\n");
+    }
+  }
+
+  private static void appendToString(StringBuilder source, String className, List<CompiledField> fields) {
+    source.append("  @Override\n");
+    source.append("  public String toString() {\n");
+    source.append("    return \"").append(className).append("{\"");
+    String separator = "";
+    for (CompiledField field : fields) {
+      FieldDefinition definition = field.getFieldDefinition();
+      String name = fieldName(definition.getName());
+      String property = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+      source.append("\n        + \"").append(separator).append(definition.getName()).append("=\" + ");
+      if (isCharArray(definition)) {
+        source.append("get").append(property).append("()");
+      } else if (definition.isArray()) {
+        source.append("Arrays.toString(").append(name).append(")");
+      } else {
+        source.append(name);
+      }
+      separator = ", ";
+    }
+    source.append("\n        + \"}\";\n");
+    source.append("  }\n");
+  }
+
+  private static String readExpression(WireType wireType, String offset) {
+    String args = "(in, start, length, " + offset + ")";
+    return switch (wireType) {
+      case INT8 -> "(byte) PayloadReader.readInt8" + args;
+      case UINT8, CHAR -> "(int) PayloadReader.readUInt8" + args;
+      case INT16 -> "(short) PayloadReader.readInt16" + args;
+      case UINT16 -> "(int) PayloadReader.readUInt16" + args;
+      case INT32 -> "(int) PayloadReader.readInt32" + args;
+      case UINT32 -> "PayloadReader.readUInt32" + args;
+      case INT64, UINT64 -> "PayloadReader.readInt64" + args;
+      case FLOAT -> "(float) PayloadReader.readFloat" + args;
+      case DOUBLE -> "PayloadReader.readDouble" + args;
+    };
+  }
+
+  private static String elementOffset(int offset, int elementSize) {
+    return elementSize == 1 ? offset + " + index" : offset + " + index * " + elementSize;
+  }
+
+  private static String writeStatement(WireType wireType, String offset, String value) {
+    String method = switch (wireType) {
+      case INT8, UINT8, CHAR -> "writeInt8";
+      case INT16, UINT16 -> "writeInt16";
+      case INT32, UINT32 -> "writeInt32";
+      case INT64, UINT64 -> "writeInt64";
+      case FLOAT -> "writeFloat";
+      case DOUBLE -> "writeDouble";
+    };
+    return "PayloadWriter." + method + "(out, start, " + offset + ", " + value + ");";
+  }
+
+  /**
+   * Java type used for a wire type: unsigned types widen to the next signed type, except {@code uint64}
+   * which keeps its bit pattern in a {@code long} (use {@link Long#toUnsignedString(long)} and friends).
+   */
+  static String javaType(WireType wireType) {
+    return switch (wireType) {
+      case INT8 -> "byte";
+      case INT16 -> "short";
+      case UINT8, UINT16, INT32, CHAR -> "int";
+      case UINT32, INT64, UINT64 -> "long";
+      case FLOAT -> "float";
+      case DOUBLE -> "double";
+    };
+  }
+
+  /**
+   * @return the UpperCamelCase class name for a MAVLink message name, e.g. {@code GPS_RAW_INT -> GpsRawInt}
+   */
+  public static String className(String messageName) {
+    String name = camelCase(messageName);
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  static String fieldName(String fieldName) {
+    String name = camelCase(fieldName);
+    return RESERVED.contains(name) ? name + "Value" : name;
+  }
+
+  private static String camelCase(String name) {
+    StringBuilder builder = new StringBuilder(name.length());
+    boolean upperNext = false;
+    for (char character : name.toLowerCase(Locale.ROOT).toCharArray()) {
+      if (character == '_') {
+        upperNext = builder.length() > 0;
+      } else if (Character.isJavaIdentifierPart(character)) {
+        builder.append(upperNext ? Character.toUpperCase(character) : character);
+        upperNext = false;
+      }
+    }
+    if (builder.length() == 0 || !Character.isJavaIdentifierStart(builder.charAt(0))) {
+      builder.insert(0, '_');
+    }
+    return builder.toString();
+  }
+
+  private static boolean isCharArray(FieldDefinition definition) {
+    return definition.isArray() && definition.getWireType() == WireType.CHAR;
+  }
+
+  private static String fieldComment(FieldDefinition definition) {
+    StringBuilder comment = new StringBuilder();
+    comment.append(definition.getType());
+    if (definition.isArray()) {
+      comment.append('[').append(definition.getArrayLength()).append(']');
+    }
+    if (definition.isExtension()) {
+      comment.append(", extension");
+    }
+    if (definition.getUnits() != null && !definition.getUnits().isBlank()) {
+      comment.append(", units ").append(javadoc(definition.getUnits()));
+    }
+    if (definition.getDescription() != null && !definition.getDescription().isBlank()) {
+      comment.append(": ").append(javadoc(definition.getDescription()));
+    }
+    return comment.toString();
+  }
+
+  private static String javadoc(String text) {
+    return text.strip()
+        .replaceAll("\\s+", " ")
+        .replace("*/", "*&#47;")
+        .replace("&", "&amp;")
+        .replace("&amp;#47;", "&#47;")
+        .replace("<", "&lt;")
+        .replace(">", "&gt;")
+        .replace("@", "&#64;")
+        .replace("\\u", "\\\\u");
+  }
+}
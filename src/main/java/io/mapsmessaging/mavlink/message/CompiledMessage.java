@@ -22,6 +22,7 @@ package io.mapsmessaging.mavlink.message;
 
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 import java.util.List;
 
@@ -32,8 +33,13 @@ public class CompiledMessage {
   private String name;
   private MessageDefinition messageDefinition;
   private List<CompiledField> compiledFields;
+  /** Size of every field including extensions: the largest payload this message can carry. */
   private int payloadSizeBytes;
+  /** Size of the base (non-extension) fields: the MAVLink v1 payload size and the v2 untruncated base. */
   private int minimumPayloadSizeBytes;
+  /** Flattened field layout used by the record decoder; derived from the fields above. */
+  @EqualsAndHashCode.Exclude
+  private PayloadLayout layout;
 
   public int getCrcExtra(){
     return messageDefinition.getExtraCrc();
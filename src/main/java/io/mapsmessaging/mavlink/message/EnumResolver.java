@@ -24,6 +24,7 @@ package io.mapsmessaging.mavlink.message;
 import io.mapsmessaging.mavlink.message.fields.EnumDefinition;
 import io.mapsmessaging.mavlink.message.fields.EnumEntry;
 import io.mapsmessaging.mavlink.message.fields.FieldDefinition;
+import io.mapsmessaging.mavlink.message.fields.PrimitiveArrays;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -62,6 +63,10 @@ public final class EnumResolver {
       return n.intValue();
     }
 
+    if (PrimitiveArrays.isNumericArray(value)) {
+      return value; // already raw enum values, e.g. from a primitive-array decode
+    }
+
     if (value instanceof String s) {
       EnumEntry entry = enumDef.getByName(s);
       if (entry == null) {
@@ -0,0 +1,86 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.message.fields.WireType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Layout-driven {@link RecordCodec}: loops over the field ordinals of a {@link PayloadLayout}.
+ * Always available and used whenever no generated codec is installed.
+ */
+final class InterpretedRecordCodec implements RecordCodec {
+
+  private final PayloadLayout layout;
+
+  InterpretedRecordCodec(PayloadLayout layout) {
+    this.layout = layout;
+  }
+
+  @Override
+  public void decode(ByteBuffer payload, int start, int length, long[] longs, double[] doubles, String[] strings) {
+    for (int ordinal = 0; ordinal < layout.getFieldCount(); ordinal++) {
+      WireType wireType = layout.wireType(ordinal);
+      int offset = layout.offset(ordinal);
+      int slot = layout.slot(ordinal);
+      int size = wireType.getSizeInBytes();
+      int count = layout.elementCount(ordinal);
+      switch (layout.kind(ordinal)) {
+        case LONG -> {
+          for (int element = 0; element < count; element++) {
+            longs[slot + element] = PayloadReader.readInteger(payload, start, length, offset + element * size, wireType);
+          }
+        }
+        case DOUBLE -> {
+          for (int element = 0; element < count; element++) {
+            doubles[slot + element] = PayloadReader.readFloating(payload, start, length, offset + element * size, wireType);
+          }
+        }
+        case STRING -> strings[slot] = PayloadReader.readString(payload, start, length, offset, count);
+      }
+    }
+  }
+
+  @Override
+  public void encode(ByteBuffer out, int start, long[] longs, double[] doubles, String[] strings) {
+    for (int ordinal = 0; ordinal < layout.getFieldCount(); ordinal++) {
+      WireType wireType = layout.wireType(ordinal);
+      int offset = layout.offset(ordinal);
+      int slot = layout.slot(ordinal);
+      int size = wireType.getSizeInBytes();
+      int count = layout.elementCount(ordinal);
+      switch (layout.kind(ordinal)) {
+        case LONG -> {
+          for (int element = 0; element < count; element++) {
+            PayloadWriter.writeInteger(out, start, offset + element * size, wireType, longs[slot + element]);
+          }
+        }
+        case DOUBLE -> {
+          for (int element = 0; element < count; element++) {
+            PayloadWriter.writeFloating(out, start, offset + element * size, wireType, doubles[slot + element]);
+          }
+        }
+        case STRING -> PayloadWriter.writeString(out, start, offset, count, strings[slot]);
+      }
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Primitive-keyed message id lookup for the per-frame hot path.
+ *
+ * <p>Ids below {@value #DIRECT_LIMIT} (every standard dialect) index straight into arrays sized to the highest
+ * such id. Any larger 24-bit ids are held in a sorted int array and found by binary search. CRC extra and
+ * payload size bounds are copied into parallel primitive arrays so the framer never touches the
+ * {@link CompiledMessage} itself.</p>
+ */
+public final class MessageLookupTable {
+
+  static final int DIRECT_LIMIT = 1 << 16;
+
+  /** Returned by the length lookups for ids the dialect does not define. */
+  public static final int UNKNOWN = -1;
+
+  private static final String TARGET_SYSTEM = "target_system";
+  private static final String TARGET_COMPONENT = "target_component";
+
+  private final CompiledMessage[] direct;
+  private final short[] directCrcExtra;
+  private final short[] directMinimumLength;
+  private final short[] directMaximumLength;
+  private final short[] directTargetSystemOffset;
+  private final short[] directTargetComponentOffset;
+
+  private final int[] sparseIds;
+  private final CompiledMessage[] sparse;
+
+  public MessageLookupTable(Collection<CompiledMessage> messages) {
+    int maxDirectId = -1;
+    int sparseCount = 0;
+    for (CompiledMessage message : messages) {
+      int id = message.getMessageId();
+      if (id < 0) {
+        throw new IllegalArgumentException("Negative MAVLink message id: " + id);
+      }
+      if (id < DIRECT_LIMIT) {
+        maxDirectId = Math.max(maxDirectId, id);
+      } else {
+        sparseCount++;
+      }
+    }
+
+    direct = new CompiledMessage[maxDirectId + 1];
+    directCrcExtra = new short[maxDirectId + 1];
+    directMinimumLength = new short[maxDirectId + 1];
+    directMaximumLength = new short[maxDirectId + 1];
+    Arrays.fill(directCrcExtra, (short) UNKNOWN);
+    Arrays.fill(directMinimumLength, (short) UNKNOWN);
+    Arrays.fill(directMaximumLength, (short) UNKNOWN);
+    directTargetSystemOffset = new short[maxDirectId + 1];
+    directTargetComponentOffset = new short[maxDirectId + 1];
+    Arrays.fill(directTargetSystemOffset, (short) UNKNOWN);
+    Arrays.fill(directTargetComponentOffset, (short) UNKNOWN);
+
+    CompiledMessage[] large = new CompiledMessage[sparseCount];
+    int sparseIndex = 0;
+    for (CompiledMessage message : messages) {
+      int id = message.getMessageId();
+      if (id < DIRECT_LIMIT) {
+        direct[id] = message;
+        directCrcExtra[id] = (short) (message.getCrcExtra() & 0xFF);
+        directMinimumLength[id] = (short) message.getMinimumPayloadSizeBytes();
+        directMaximumLength[id] = (short) message.getPayloadSizeBytes();
+        directTargetSystemOffset[id] = (short) scalarFieldOffset(message, TARGET_SYSTEM);
+        directTargetComponentOffset[id] = (short) scalarFieldOffset(message, TARGET_COMPONENT);
+      } else {
+        large[sparseIndex++] = message;
+      }
+    }
+    Arrays.sort(large, (a, b) -> Integer.compare(a.getMessageId(), b.getMessageId()));
+    sparse = large;
+    sparseIds = new int[large.length];
+    for (int i = 0; i < large.length; i++) {
+      sparseIds[i] = large[i].getMessageId();
+    }
+  }
+
+  /**
+   * @return the compiled message for {@code messageId}, or {@code null} if the dialect does not define it
+   */
+  public CompiledMessage byId(int messageId) {
+    if (messageId >= 0 && messageId < direct.length) {
+      return direct[messageId];
+    }
+    if (messageId < DIRECT_LIMIT) {
+      return null;
+    }
+    int index = Arrays.binarySearch(sparseIds, messageId);
+    return index >= 0 ? sparse[index] : null;
+  }
+
+  public boolean contains(int messageId) {
+    return byId(messageId) != null;
+  }
+
+  /**
+   * @return CRC extra byte (0..255), or {@link #UNKNOWN}
+   */
+  public int crcExtra(int messageId) {
+    if (messageId >= 0 && messageId < direct.length) {
+      return directCrcExtra[messageId];
+    }
+    CompiledMessage message = byId(messageId);
+    return message != null ? message.getCrcExtra() & 0xFF : UNKNOWN;
+  }
+
+  /**
+   * @return size of the non-extension fields in bytes, or {@link #UNKNOWN}
+   */
+  public int minimumPayloadLength(int messageId) {
+    if (messageId >= 0 && messageId < direct.length) {
+      return directMinimumLength[messageId];
+    }
+    CompiledMessage message = byId(messageId);
+    return message != null ? message.getMinimumPayloadSizeBytes() : UNKNOWN;
+  }
+
+  /**
+   * @return size of all fields including extensions in bytes, or {@link #UNKNOWN}
+   */
+  public int maximumPayloadLength(int messageId) {
+    if (messageId >= 0 && messageId < direct.length) {
+      return directMaximumLength[messageId];
+    }
+    CompiledMessage message = byId(messageId);
+    return message != null ? message.getPayloadSizeBytes() : UNKNOWN;
+  }
+
+  /**
+   * @return payload offset of the message's {@code target_system} byte, or {@link #UNKNOWN} if it has none
+   */
+  public int targetSystemOffset(int messageId) {
+    if (messageId >= 0 && messageId < direct.length) {
+      return directTargetSystemOffset[messageId];
+    }
+    CompiledMessage message = byId(messageId);
+    return message != null ? scalarFieldOffset(message, TARGET_SYSTEM) : UNKNOWN;
+  }
+
+  /**
+   * @return payload offset of the message's {@code target_component} byte, or {@link #UNKNOWN} if it has none
+   */
+  public int targetComponentOffset(int messageId) {
+    if (messageId >= 0 && messageId < direct.length) {
+      return directTargetComponentOffset[messageId];
+    }
+    CompiledMessage message = byId(messageId);
+    return message != null ? scalarFieldOffset(message, TARGET_COMPONENT) : UNKNOWN;
+  }
+
+  private static int scalarFieldOffset(CompiledMessage message, String name) {
+    if (message.getCompiledFields() == null) {
+      return UNKNOWN;
+    }
+    for (CompiledField field : message.getCompiledFields()) {
+      if (field.getFieldDefinition() != null
+          && name.equals(field.getFieldDefinition().getName())
+          && !field.getFieldDefinition().isArray()) {
+        return field.getOffsetInPayload();
+      }
+    }
+    return UNKNOWN;
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.message.fields.UInt64FieldCodec;
+import io.mapsmessaging.mavlink.message.fields.WireType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flat, primitive-backed decoded payload for one message type, filled by {@link PayloadLayout#decode}.
+ *
+ * <p>Values are addressed by field ordinal (see {@link PayloadLayout#indexOf(String)}); name-based accessors are
+ * provided for convenience. A record is reused across decodes and is not thread-safe.</p>
+ */
+public final class MessageRecord {
+
+  @Getter
+  private final PayloadLayout layout;
+  private final long[] longs;
+  private final double[] doubles;
+  private final String[] strings;
+
+  /**
+   * Number of leading fields (in ordinal order) carried by the payload. Set by decode; when encoding, fields
+   * from this ordinal on (trailing extensions) are left off the wire.
+   */
+  @Getter
+  @Setter
+  private int presentFieldCount;
+
+  MessageRecord(PayloadLayout layout) {
+    this.layout = layout;
+    this.longs = new long[layout.getLongSlotCount()];
+    this.doubles = new double[layout.getDoubleSlotCount()];
+    this.strings = new String[layout.getStringSlotCount()];
+    this.presentFieldCount = layout.getFieldCount();
+  }
+
+  public int getMessageId() {
+    return layout.getMessageId();
+  }
+
+  public boolean isPresent(int ordinal) {
+    return ordinal < presentFieldCount;
+  }
+
+  public long getLong(int ordinal) {
+    return getLong(ordinal, 0);
+  }
+
+  /**
+   * Integer value (sign- or zero-extended per wire type; raw bits for {@code uint64}).
+   * Floating point fields are truncated toward zero.
+   */
+  public long getLong(int ordinal, int element) {
+    int slot = elementSlot(ordinal, element);
+    return layout.kind(ordinal) == PayloadLayout.SlotKind.DOUBLE ? (long) doubles[slot] : longs[slot];
+  }
+
+  public double getDouble(int ordinal) {
+    return getDouble(ordinal, 0);
+  }
+
+  /**
+   * Floating point value; integer fields are widened ({@code uint64} as unsigned).
+   */
+  public double getDouble(int ordinal, int element) {
+    int slot = elementSlot(ordinal, element);
+    if (layout.kind(ordinal) == PayloadLayout.SlotKind.DOUBLE) {
+      return doubles[slot];
+    }
+    long value = longs[slot];
+    if (layout.wireType(ordinal) == WireType.UINT64 && value < 0) {
+      return (double) (value >>> 1) * 2.0 + (value & 1L);
+    }
+    return value;
+  }
+
+  public String getString(int ordinal) {
+    if (layout.kind(ordinal) != PayloadLayout.SlotKind.STRING) {
+      throw new IllegalArgumentException("Field " + layout.name(ordinal) + " is not a char array");
+    }
+    return strings[layout.slot(ordinal)];
+  }
+
+  public void setLong(int ordinal, long value) {
+    setLong(ordinal, 0, value);
+  }
+
+  /**
+   * Stores an integer value; for floating point fields it is converted to double.
+   */
+  public void setLong(int ordinal, int element, long value) {
+    int slot = elementSlot(ordinal, element);
+    if (layout.kind(ordinal) == PayloadLayout.SlotKind.DOUBLE) {
+      doubles[slot] = value;
+    } else {
+      longs[slot] = value;
+    }
+  }
+
+  public void setDouble(int ordinal, double value) {
+    setDouble(ordinal, 0, value);
+  }
+
+  /**
+   * Stores a floating point value; for integer fields it is truncated toward zero.
+   */
+  public void setDouble(int ordinal, int element, double value) {
+    int slot = elementSlot(ordinal, element);
+    if (layout.kind(ordinal) == PayloadLayout.SlotKind.DOUBLE) {
+      doubles[slot] = value;
+    } else {
+      longs[slot] = (long) value;
+    }
+  }
+
+  public void setString(int ordinal, String value) {
+    if (layout.kind(ordinal) != PayloadLayout.SlotKind.STRING) {
+      throw new IllegalArgumentException("Field " + layout.name(ordinal) + " is not a char array");
+    }
+    strings[layout.slot(ordinal)] = value;
+  }
+
+  public long getLong(String name) {
+    return getLong(ordinalOf(name));
+  }
+
+  public double getDouble(String name) {
+    return getDouble(ordinalOf(name));
+  }
+
+  public String getString(String name) {
+    return getString(ordinalOf(name));
+  }
+
+  /**
+   * Converts to the same field map produced by the map-based payload parser (boxed types per wire type,
+   * numeric arrays as lists, {@code char[]} as strings, absent extensions as {@code null}).
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> result = new HashMap<>();
+    for (int ordinal = 0; ordinal < layout.getFieldCount(); ordinal++) {
+      String name = layout.name(ordinal);
+      if (!isPresent(ordinal)) {
+        result.put(name, null);
+      } else if (layout.kind(ordinal) == PayloadLayout.SlotKind.STRING) {
+        result.put(name, getString(ordinal));
+      } else if (layout.isArray(ordinal)) {
+        int count = layout.elementCount(ordinal);
+        List<Object> values = new ArrayList<>(count);
+        for (int element = 0; element < count; element++) {
+          values.add(boxed(ordinal, element));
+        }
+        result.put(name, values);
+      } else {
+        result.put(name, boxed(ordinal, 0));
+      }
+    }
+    return result;
+  }
+
+  long[] longValues() {
+    return longs;
+  }
+
+  double[] doubleValues() {
+    return doubles;
+  }
+
+  String[] stringValues() {
+    return strings;
+  }
+
+  private Object boxed(int ordinal, int element) {
+    int slot = layout.slot(ordinal) + element;
+    return switch (layout.wireType(ordinal)) {
+      case INT8 -> (byte) longs[slot];
+      case INT16 -> (short) longs[slot];
+      case UINT8, UINT16, INT32, CHAR -> (int) longs[slot];
+      case UINT32, INT64 -> longs[slot];
+      case UINT64 -> UInt64FieldCodec.unsigned(longs[slot]);
+      case FLOAT -> (float) doubles[slot];
+      case DOUBLE -> doubles[slot];
+    };
+  }
+
+  private int elementSlot(int ordinal, int element) {
+    if (element < 0 || element >= layout.elementCount(ordinal)) {
+      throw new IndexOutOfBoundsException("Element " + element + " out of range for field " + layout.name(ordinal));
+    }
+    return layout.slot(ordinal) + element;
+  }
+
+  private int ordinalOf(String name) {
+    int ordinal = layout.indexOf(name);
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("Unknown field " + name + " for message " + layout.getMessageName());
+    }
+    return ordinal;
+  }
+}
@@ -46,6 +46,10 @@ public class MessageRegistry {
 
   private Map<Integer, JsonObject> jsonSchema;
 
+  private MessageLookupTable lookupTable;
+
+  /** Largest payload (including extensions) of any message in the dialect, for sizing buffers. */
+  private int largestPayloadSizeBytes;
 
 
   public static MessageRegistry fromDialectDefinition(DialectDefinition dialectDefinition) {
@@ -65,12 +69,36 @@ public class MessageRegistry {
 
     registry.setCompiledMessages(compiledMessageList);
     registry.setCompiledMessagesById(compiledByIdMap);
+    registry.lookupTable = new MessageLookupTable(compiledMessageList);
+    registry.largestPayloadSizeBytes = compiledMessageList.stream().mapToInt(CompiledMessage::getPayloadSizeBytes).max().orElse(0);
     registry.setEnumsByName(new HashMap<>(dialectDefinition.getEnumsByName()));
     registry.setJsonSchema(schemaMap);
+    if (RecordCodecGenerator.isEnabledByDefault()) {
+      registry.enableGeneratedCodecs();
+    }
 
     return registry;
   }
 
+  /**
+   * Replaces the interpreted record codec of every message with a generated one where possible.
+   * Messages whose codec cannot be generated keep the interpreter.
+   *
+   * @return number of messages now using a generated codec
+   */
+  public int enableGeneratedCodecs() {
+    return RecordCodecGenerator.installAll(compiledMessages);
+  }
+
+  /**
+   * Boxing-free lookup used on the per-frame path.
+   *
+   * @return the compiled message for {@code messageId}, or {@code null} if the dialect does not define it
+   */
+  public CompiledMessage byId(int messageId) {
+    return lookupTable.byId(messageId);
+  }
+
   private void setEnumsByName(Map<String, EnumDefinition> stringMavlinkEnumDefinitionHashMap) {
     this.enumsByName = Collections.unmodifiableMap(new HashMap<>(stringMavlinkEnumDefinitionHashMap));
   }
@@ -96,6 +124,7 @@ public class MessageRegistry {
     List<CompiledField> compiledFields = new ArrayList<>();
 
     int currentOffset = 0;
+    int baseSize = 0;
     for (FieldDefinition fieldDefinition : messageDefinition.getFields()) {
       AbstractMavlinkFieldCodec fieldCodec = FieldCodecFactory.createCodec(fieldDefinition);
 
@@ -107,10 +136,15 @@ public class MessageRegistry {
 
       compiledFields.add(compiledField);
       currentOffset = currentOffset + fieldCodec.getSizeInBytes();
+      if (!fieldDefinition.isExtension()) {
+        baseSize = currentOffset; // extensions always follow the base fields on the wire
+      }
     }
 
     compiledMessage.setCompiledFields(compiledFields);
     compiledMessage.setPayloadSizeBytes(currentOffset);
+    compiledMessage.setMinimumPayloadSizeBytes(baseSize);
+    compiledMessage.setLayout(new PayloadLayout(compiledMessage));
 
     return compiledMessage;
   }
@@ -0,0 +1,177 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.message.fields.WireType;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Flyweight, lazily decoding view over a raw payload.
+ *
+ * <p>A view is bound to a payload buffer and a {@link CompiledMessage} with {@link #wrap}; each accessor then
+ * decodes just the requested field at its precomputed offset. Nothing is copied or allocated (apart from
+ * strings), so one view can be re-wrapped for every frame on a link, even across message types. The view reads
+ * the buffer in place, so it is only valid while the underlying bytes are.</p>
+ *
+ * <p>Missing trailing bytes read as zero (MAVLink v2 truncation); use {@link #isPresent(int)} to tell an absent
+ * extension from a zero one. Views are not thread-safe.</p>
+ */
+public final class MessageView {
+
+  @Getter
+  private CompiledMessage compiledMessage;
+  private PayloadLayout layout;
+  private ByteBuffer buffer;
+  private int payloadStart;
+  @Getter
+  private int payloadLength;
+  private ByteBuffer arrayWrapper;
+
+  /**
+   * Binds the view to the bytes between the buffer's position and limit. The buffer is not modified.
+   *
+   * @return this view
+   */
+  public MessageView wrap(CompiledMessage compiledMessage, ByteBuffer payload) {
+    return wrap(compiledMessage, payload, payload.position(), payload.remaining());
+  }
+
+  /**
+   * Binds the view to {@code length} payload bytes starting at absolute index {@code start}.
+   *
+   * @return this view
+   */
+  public MessageView wrap(CompiledMessage compiledMessage, ByteBuffer payload, int start, int length) {
+    this.compiledMessage = compiledMessage;
+    this.layout = compiledMessage.getLayout();
+    this.buffer = payload;
+    this.payloadStart = start;
+    this.payloadLength = length;
+    return this;
+  }
+
+  /**
+   * Binds the view to the first {@code length} bytes of an array, for example a reused frame payload array.
+   * The wrapping buffer is cached, so re-binding to the same array allocates nothing.
+   *
+   * @return this view
+   */
+  public MessageView wrap(CompiledMessage compiledMessage, byte[] payload, int length) {
+    if (arrayWrapper == null || !arrayWrapper.hasArray() || arrayWrapper.array() != payload) {
+      arrayWrapper = ByteBuffer.wrap(payload);
+    }
+    return wrap(compiledMessage, arrayWrapper, 0, length);
+  }
+
+  public int getMessageId() {
+    return compiledMessage.getMessageId();
+  }
+
+  /**
+   * @return the field ordinal for {@code name}, or {@code -1} if the message has no such field
+   */
+  public int indexOf(String name) {
+    return layout.indexOf(name);
+  }
+
+  public boolean isPresent(int fieldIndex) {
+    return layout.isPresent(fieldIndex, payloadLength);
+  }
+
+  /**
+   * @return array length for array fields, {@code 1} for scalars
+   */
+  public int getElementCount(int fieldIndex) {
+    return layout.elementCount(fieldIndex);
+  }
+
+  public long getLong(int fieldIndex) {
+    return getLong(fieldIndex, 0);
+  }
+
+  /**
+   * Integer value (sign- or zero-extended per wire type; raw bits for {@code uint64}).
+   * Floating point fields are truncated toward zero.
+   */
+  public long getLong(int fieldIndex, int element) {
+    int offset = elementOffset(fieldIndex, element);
+    if (layout.kind(fieldIndex) == PayloadLayout.SlotKind.DOUBLE) {
+      return (long) PayloadReader.readFloating(buffer, payloadStart, payloadLength, offset, layout.wireType(fieldIndex));
+    }
+    return PayloadReader.readInteger(buffer, payloadStart, payloadLength, offset, layout.wireType(fieldIndex));
+  }
+
+  public double getDouble(int fieldIndex) {
+    return getDouble(fieldIndex, 0);
+  }
+
+  /**
+   * Floating point value; integer fields are widened ({@code uint64} as unsigned).
+   */
+  public double getDouble(int fieldIndex, int element) {
+    int offset = elementOffset(fieldIndex, element);
+    WireType wireType = layout.wireType(fieldIndex);
+    if (layout.kind(fieldIndex) == PayloadLayout.SlotKind.DOUBLE) {
+      return PayloadReader.readFloating(buffer, payloadStart, payloadLength, offset, wireType);
+    }
+    long value = PayloadReader.readInteger(buffer, payloadStart, payloadLength, offset, wireType);
+    if (wireType == WireType.UINT64 && value < 0) {
+      return (double) (value >>> 1) * 2.0 + (value & 1L);
+    }
+    return value;
+  }
+
+  public String getString(int fieldIndex) {
+    if (layout.kind(fieldIndex) != PayloadLayout.SlotKind.STRING) {
+      throw new IllegalArgumentException("Field " + layout.name(fieldIndex) + " is not a char array");
+    }
+    return PayloadReader.readString(buffer, payloadStart, payloadLength, layout.offset(fieldIndex), layout.elementCount(fieldIndex));
+  }
+
+  public long getLong(String name) {
+    return getLong(ordinalOf(name));
+  }
+
+  public double getDouble(String name) {
+    return getDouble(ordinalOf(name));
+  }
+
+  public String getString(String name) {
+    return getString(ordinalOf(name));
+  }
+
+  private int elementOffset(int fieldIndex, int element) {
+    if (element < 0 || element >= layout.elementCount(fieldIndex)) {
+      throw new IndexOutOfBoundsException("Element " + element + " out of range for field " + layout.name(fieldIndex));
+    }
+    return layout.offset(fieldIndex) + element * layout.wireType(fieldIndex).getSizeInBytes();
+  }
+
+  private int ordinalOf(String name) {
+    int ordinal = layout.indexOf(name);
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("Unknown field " + name + " for message " + compiledMessage.getName());
+    }
+    return ordinal;
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reusable, caller-owned decode target for the allocation-free framing path.
+ *
+ * <p>The payload and signature arrays are allocated once at their MAVLink maximum sizes and are
+ * overwritten by every decode. Only the first {@link #getPayloadLength()} bytes of the payload
+ * array are meaningful, and the signature array is only meaningful when {@link #isSigned()} is true.</p>
+ *
+ * <p>Instances are not thread-safe; use one per decoding thread or link. Use {@link #toFrame()} when
+ * a decoded frame has to outlive the next decode.</p>
+ */
+@Getter
+@Setter
+public class MutableFrame {
+
+  public static final int MAX_PAYLOAD_LENGTH = 255;
+  public static final int SIGNATURE_LENGTH = 13;
+
+  private Version version;
+  private int sequence;
+  private int systemId;
+  private int componentId;
+  private int messageId;
+  private int payloadLength;
+  private int checksum;
+  private boolean signed;
+  private byte incompatibilityFlags;
+  private byte compatibilityFlags;
+  private FrameFailureReason validated = FrameFailureReason.OK;
+
+  /**
+   * Location of the frame in the buffer it was decoded from. Only valid until that buffer is compacted or refilled.
+   */
+  private int frameStartIndex;
+  private int frameLength;
+  private int payloadStartIndex;
+
+  @Setter(AccessLevel.NONE)
+  private final byte[] payload = new byte[MAX_PAYLOAD_LENGTH];
+
+  @Setter(AccessLevel.NONE)
+  private final byte[] signature = new byte[SIGNATURE_LENGTH];
+
+  /**
+   * Copies {@code length} payload bytes from absolute {@code index} of the source buffer
+   * without moving its position.
+   */
+  public void setPayload(ByteBuffer source, int index, int length) {
+    source.get(index, payload, 0, length);
+    payloadLength = length;
+  }
+
+  /**
+   * Copies the 13-byte signature block from absolute {@code index} of the source buffer
+   * without moving its position.
+   */
+  public void setSignature(ByteBuffer source, int index) {
+    source.get(index, signature, 0, SIGNATURE_LENGTH);
+  }
+
+  /**
+   * Returns a read-only view of the complete frame (STX through CRC/signature) in the source buffer.
+   * No bytes are copied; the view is only valid until the source buffer is compacted or refilled.
+   */
+  public ByteBuffer frameView(ByteBuffer source) {
+    return source.slice(frameStartIndex, frameLength).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns a read-only view of the payload in the source buffer.
+   * No bytes are copied; the view is only valid until the source buffer is compacted or refilled.
+   */
+  public ByteBuffer payloadView(ByteBuffer source) {
+    return source.slice(payloadStartIndex, payloadLength).asReadOnlyBuffer();
+  }
+
+  public void reset() {
+    version = null;
+    sequence = 0;
+    systemId = 0;
+    componentId = 0;
+    messageId = 0;
+    payloadLength = 0;
+    checksum = 0;
+    signed = false;
+    incompatibilityFlags = 0;
+    compatibilityFlags = 0;
+    validated = FrameFailureReason.OK;
+    frameStartIndex = 0;
+    frameLength = 0;
+    payloadStartIndex = 0;
+  }
+
+  /**
+   * Creates an independent {@link Frame} holding copies of the current payload and signature.
+   */
+  public Frame toFrame() {
+    return toFrame(Arrays.copyOf(payload, payloadLength), signed ? Arrays.copyOf(signature, SIGNATURE_LENGTH) : null);
+  }
+
+  /**
+   * Creates an independent {@link Frame} for a frame located by a header-only decode, copying the payload and
+   * signature once, straight from the source buffer. The payload array of this frame is not used.
+   */
+  public Frame toFrame(ByteBuffer source) {
+    byte[] payloadCopy = new byte[payloadLength];
+    source.get(payloadStartIndex, payloadCopy, 0, payloadLength);
+    byte[] signatureCopy = null;
+    if (signed) {
+      signatureCopy = new byte[SIGNATURE_LENGTH];
+      source.get(frameStartIndex + frameLength - SIGNATURE_LENGTH, signatureCopy, 0, SIGNATURE_LENGTH);
+    }
+    return toFrame(payloadCopy, signatureCopy);
+  }
+
+  private Frame toFrame(byte[] payloadCopy, byte[] signatureCopy) {
+    Frame frame = new Frame();
+    frame.setVersion(version);
+    frame.setSequence(sequence);
+    frame.setSystemId(systemId);
+    frame.setComponentId(componentId);
+    frame.setMessageId(messageId);
+    frame.setPayloadLength(payloadLength);
+    frame.setPayload(payloadCopy);
+    frame.setChecksum(checksum);
+    frame.setSigned(signed);
+    frame.setIncompatibilityFlags(incompatibilityFlags);
+    frame.setCompatibilityFlags(compatibilityFlags);
+    frame.setSignature(signatureCopy);
+    frame.setValidated(validated);
+    return frame;
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.message.fields.FieldDefinition;
+import io.mapsmessaging.mavlink.message.fields.WireType;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flattened, array-backed description of a message payload, built once per {@link CompiledMessage}.
+ *
+ * <p>Fields are addressed by ordinal (their position in {@link CompiledMessage#getCompiledFields()}, i.e. wire
+ * order). Each field is assigned slots in one of three flat arrays of a {@link MessageRecord}: integers (including
+ * {@code char} scalars and raw {@code uint64} bits) in {@code long} slots, {@code float}/{@code double} in
+ * {@code double} slots, and {@code char[]} strings in string slots. Array fields take one slot per element.</p>
+ *
+ * <p>{@link #decode(ByteBuffer, MessageRecord)} is the compiled decoder: a single pass over the ordinals reading
+ * each field at its precomputed absolute offset, with no maps, boxing or per-field codec objects. The pass itself
+ * is delegated to the installed {@link RecordCodec}, which may be a generated class.</p>
+ */
+public final class PayloadLayout {
+
+  public enum SlotKind {
+    LONG,
+    DOUBLE,
+    STRING
+  }
+
+  @Getter
+  private final int messageId;
+  @Getter
+  private final String messageName;
+  @Getter
+  private final int payloadSize;
+  @Getter
+  private final int fieldCount;
+  @Getter
+  private final int longSlotCount;
+  @Getter
+  private final int doubleSlotCount;
+  @Getter
+  private final int stringSlotCount;
+
+  private final String[] names;
+  private final WireType[] wireTypes;
+  private final SlotKind[] kinds;
+  private final int[] offsets;
+  private final int[] elementCounts;
+  private final int[] slots;
+  private final boolean[] extensions;
+  private final boolean[] arrays;
+  private final Map<String, Integer> ordinalByName;
+
+  /** Interpreter by default; replaced by a generated codec when code generation is enabled. */
+  @Getter
+  private volatile RecordCodec recordCodec;
+
+  public PayloadLayout(CompiledMessage compiledMessage) {
+    List<CompiledField> compiledFields = compiledMessage.getCompiledFields();
+    this.messageId = compiledMessage.getMessageId();
+    this.messageName = compiledMessage.getName();
+    this.payloadSize = compiledMessage.getPayloadSizeBytes();
+    this.fieldCount = compiledFields.size();
+
+    names = new String[fieldCount];
+    wireTypes = new WireType[fieldCount];
+    kinds = new SlotKind[fieldCount];
+    offsets = new int[fieldCount];
+    elementCounts = new int[fieldCount];
+    slots = new int[fieldCount];
+    extensions = new boolean[fieldCount];
+    arrays = new boolean[fieldCount];
+    ordinalByName = new HashMap<>();
+
+    int longSlots = 0;
+    int doubleSlots = 0;
+    int stringSlots = 0;
+    for (int ordinal = 0; ordinal < fieldCount; ordinal++) {
+      CompiledField compiledField = compiledFields.get(ordinal);
+      FieldDefinition definition = compiledField.getFieldDefinition();
+      WireType wireType = definition.getWireType();
+
+      names[ordinal] = definition.getName();
+      wireTypes[ordinal] = wireType;
+      offsets[ordinal] = compiledField.getOffsetInPayload();
+      extensions[ordinal] = definition.isExtension();
+      arrays[ordinal] = definition.isArray();
+      elementCounts[ordinal] = definition.isArray() ? definition.getArrayLength() : 1;
+      ordinalByName.put(definition.getName(), ordinal);
+
+      if (wireType == WireType.CHAR && definition.isArray()) {
+        kinds[ordinal] = SlotKind.STRING;
+        slots[ordinal] = stringSlots++;
+      } else if (wireType == WireType.FLOAT || wireType == WireType.DOUBLE) {
+        kinds[ordinal] = SlotKind.DOUBLE;
+        slots[ordinal] = doubleSlots;
+        doubleSlots += elementCounts[ordinal];
+      } else {
+        kinds[ordinal] = SlotKind.LONG;
+        slots[ordinal] = longSlots;
+        longSlots += elementCounts[ordinal];
+      }
+    }
+    longSlotCount = longSlots;
+    doubleSlotCount = doubleSlots;
+    stringSlotCount = stringSlots;
+    recordCodec = new InterpretedRecordCodec(this);
+  }
+
+  /**
+   * Installs a generated codec for this message, or {@code null} to fall back to the interpreter.
+   */
+  public void setRecordCodec(RecordCodec codec) {
+    this.recordCodec = codec != null ? codec : new InterpretedRecordCodec(this);
+  }
+
+  /**
+   * @return true if a generated (rather than interpreted) codec is installed
+   */
+  public boolean isGenerated() {
+    return !(recordCodec instanceof InterpretedRecordCodec);
+  }
+
+  /**
+   * @return the field ordinal for {@code name}, or {@code -1} if the message has no such field
+   */
+  public int indexOf(String name) {
+    Integer ordinal = ordinalByName.get(name);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  public String name(int ordinal) {
+    return names[ordinal];
+  }
+
+  public WireType wireType(int ordinal) {
+    return wireTypes[ordinal];
+  }
+
+  public SlotKind kind(int ordinal) {
+    return kinds[ordinal];
+  }
+
+  public int offset(int ordinal) {
+    return offsets[ordinal];
+  }
+
+  /**
+   * @return array length for array fields, {@code 1} for scalars
+   */
+  public int elementCount(int ordinal) {
+    return elementCounts[ordinal];
+  }
+
+  public int slot(int ordinal) {
+    return slots[ordinal];
+  }
+
+  public boolean isExtension(int ordinal) {
+    return extensions[ordinal];
+  }
+
+  public boolean isArray(int ordinal) {
+    return arrays[ordinal];
+  }
+
+  /**
+   * Returns true if the field carries data in a payload of {@code payloadLength} bytes. Base fields are always
+   * present (missing trailing bytes are zero); an extension is present only if the payload reaches it.
+   */
+  public boolean isPresent(int ordinal, int payloadLength) {
+    return !extensions[ordinal] || offsets[ordinal] < payloadLength;
+  }
+
+  /**
+   * Creates a record sized for this message. Records are reusable across {@link #decode} calls.
+   */
+  public MessageRecord newRecord() {
+    return new MessageRecord(this);
+  }
+
+  /**
+   * Decodes the bytes between the buffer's position and limit into {@code target}.
+   * The buffer position, limit and byte order are not modified; nothing is allocated except {@code char[]} strings.
+   *
+   * @throws IllegalArgumentException if {@code target} was created for a different layout
+   */
+  public void decode(ByteBuffer payload, MessageRecord target) {
+    checkRecord(target);
+    int start = payload.position();
+    int length = payload.remaining();
+    recordCodec.decode(payload, start, length, target.longValues(), target.doubleValues(), target.stringValues());
+
+    int present = fieldCount;
+    for (int ordinal = 0; ordinal < fieldCount; ordinal++) {
+      if (!isPresent(ordinal, length)) {
+        present = ordinal; // extensions trail the base fields, so every later field is absent too
+        break;
+      }
+    }
+    target.setPresentFieldCount(present);
+  }
+
+  /**
+   * Encodes a record at the buffer's position and advances the position past the payload.
+   *
+   * <p>The payload runs up to the first absent extension (or the full size if every field is present).
+   * The buffer needs room for the full payload size.</p>
+   *
+   * @return number of payload bytes written
+   * @throws IllegalArgumentException if {@code source} was created for a different layout or the buffer is too small
+   */
+  public int encode(MessageRecord source, ByteBuffer out) {
+    checkRecord(source);
+    if (out.remaining() < payloadSize) {
+      throw new IllegalArgumentException("Insufficient space in output buffer. required=" + payloadSize + " remaining=" + out.remaining());
+    }
+    int start = out.position();
+    recordCodec.encode(out, start, source.longValues(), source.doubleValues(), source.stringValues());
+    int present = source.getPresentFieldCount();
+    int length = present < fieldCount ? offsets[present] : payloadSize;
+    out.position(start + length);
+    return length;
+  }
+
+  private void checkRecord(MessageRecord record) {
+    if (record.getLayout() != this) {
+      throw new IllegalArgumentException("Record belongs to message " + record.getLayout().getMessageId()
+          + ", not " + messageId);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.message.fields.WireType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Little-endian absolute reads of payload fields.
+ *
+ * <p>Every read takes the payload start and the number of payload bytes actually received. Bytes at or beyond
+ * that length read as zero, which is the MAVLink v2 rule for truncated payloads, so a field cut part-way still
+ * decodes to its real value. Reads never move the buffer position and ignore the buffer's byte order.</p>
+ */
+public final class PayloadReader {
+
+  private static final VarHandle SHORT_LE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle INT_LE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private PayloadReader() {
+  }
+
+  /**
+   * Reads an integer field (or {@code char} byte) and widens it to a long: signed types are sign-extended,
+   * unsigned types zero-extended. {@code uint64} values are returned as their raw 64 bits.
+   */
+  public static long readInteger(ByteBuffer buffer, int payloadStart, int payloadLength, int offset, WireType wireType) {
+    return switch (wireType) {
+      case INT8 -> readInt8(buffer, payloadStart, payloadLength, offset);
+      case UINT8, CHAR -> readUInt8(buffer, payloadStart, payloadLength, offset);
+      case INT16 -> readInt16(buffer, payloadStart, payloadLength, offset);
+      case UINT16 -> readUInt16(buffer, payloadStart, payloadLength, offset);
+      case INT32 -> readInt32(buffer, payloadStart, payloadLength, offset);
+      case UINT32 -> readUInt32(buffer, payloadStart, payloadLength, offset);
+      case INT64, UINT64 -> readInt64(buffer, payloadStart, payloadLength, offset);
+      default -> throw new IllegalArgumentException("Not an integer wire type: " + wireType);
+    };
+  }
+
+  /**
+   * Reads a {@code float} or {@code double} field.
+   */
+  public static double readFloating(ByteBuffer buffer, int payloadStart, int payloadLength, int offset, WireType wireType) {
+    return switch (wireType) {
+      case FLOAT -> readFloat(buffer, payloadStart, payloadLength, offset);
+      case DOUBLE -> readDouble(buffer, payloadStart, payloadLength, offset);
+      default -> throw new IllegalArgumentException("Not a floating point wire type: " + wireType);
+    };
+  }
+
+  // Type-specialised reads; also the call targets of generated record codecs
+
+  public static long readInt8(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    return offset < payloadLength ? buffer.get(payloadStart + offset) : 0;
+  }
+
+  public static long readUInt8(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    return offset < payloadLength ? buffer.get(payloadStart + offset) & 0xFFL : 0;
+  }
+
+  public static long readInt16(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    int index = payloadStart + offset;
+    if (offset + 2 <= payloadLength) {
+      return (short) SHORT_LE.get(buffer, index);
+    }
+    return (short) readPartial(buffer, index, payloadLength - offset, 2);
+  }
+
+  public static long readUInt16(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    return readInt16(buffer, payloadStart, payloadLength, offset) & 0xFFFFL;
+  }
+
+  public static long readInt32(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    int index = payloadStart + offset;
+    if (offset + 4 <= payloadLength) {
+      return (int) INT_LE.get(buffer, index);
+    }
+    return (int) readPartial(buffer, index, payloadLength - offset, 4);
+  }
+
+  public static long readUInt32(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    return readInt32(buffer, payloadStart, payloadLength, offset) & 0xFFFFFFFFL;
+  }
+
+  public static long readInt64(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    int index = payloadStart + offset;
+    if (offset + 8 <= payloadLength) {
+      return (long) LONG_LE.get(buffer, index);
+    }
+    return readPartial(buffer, index, payloadLength - offset, 8);
+  }
+
+  public static double readFloat(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    return Float.intBitsToFloat((int) readInt32(buffer, payloadStart, payloadLength, offset));
+  }
+
+  public static double readDouble(ByteBuffer buffer, int payloadStart, int payloadLength, int offset) {
+    return Double.longBitsToDouble(readInt64(buffer, payloadStart, payloadLength, offset));
+  }
+
+  /**
+   * Reads a {@code char[length]} field as a string terminated by the first NUL byte or the field end.
+   */
+  public static String readString(ByteBuffer buffer, int payloadStart, int payloadLength, int offset, int length) {
+    int available = Math.min(length, Math.max(0, payloadLength - offset));
+    int index = payloadStart + offset;
+    int end = 0;
+    while (end < available && buffer.get(index + end) != 0) {
+      end++;
+    }
+    if (end == 0) {
+      return "";
+    }
+    byte[] raw = new byte[end];
+    buffer.get(index, raw, 0, end);
+    return new String(raw, StandardCharsets.UTF_8);
+  }
+
+  private static long readPartial(ByteBuffer buffer, int index, int available, int size) {
+    long value = 0;
+    int count = Math.max(0, Math.min(available, size));
+    for (int i = 0; i < count; i++) {
+      value |= (buffer.get(index + i) & 0xFFL) << (8 * i);
+    }
+    return value;
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.message.fields.WireType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Little-endian absolute writes of payload fields, the counterpart of {@link PayloadReader}.
+ * Writes never move the buffer position and ignore the buffer's byte order.
+ */
+public final class PayloadWriter {
+
+  private static final VarHandle SHORT_LE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle INT_LE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private PayloadWriter() {
+  }
+
+  /**
+   * Writes the low {@code wireType.getSizeInBytes()} bytes of an integer value.
+   */
+  public static void writeInteger(ByteBuffer out, int payloadStart, int offset, WireType wireType, long value) {
+    switch (wireType.getSizeInBytes()) {
+      case 1 -> writeInt8(out, payloadStart, offset, value);
+      case 2 -> writeInt16(out, payloadStart, offset, value);
+      case 4 -> writeInt32(out, payloadStart, offset, value);
+      default -> writeInt64(out, payloadStart, offset, value);
+    }
+  }
+
+  public static void writeFloating(ByteBuffer out, int payloadStart, int offset, WireType wireType, double value) {
+    if (wireType == WireType.FLOAT) {
+      writeFloat(out, payloadStart, offset, value);
+    } else {
+      writeDouble(out, payloadStart, offset, value);
+    }
+  }
+
+  // Type-specialised writes; also the call targets of generated record codecs
+
+  public static void writeInt8(ByteBuffer out, int payloadStart, int offset, long value) {
+    out.put(payloadStart + offset, (byte) value);
+  }
+
+  public static void writeInt16(ByteBuffer out, int payloadStart, int offset, long value) {
+    SHORT_LE.set(out, payloadStart + offset, (short) value);
+  }
+
+  public static void writeInt32(ByteBuffer out, int payloadStart, int offset, long value) {
+    INT_LE.set(out, payloadStart + offset, (int) value);
+  }
+
+  public static void writeInt64(ByteBuffer out, int payloadStart, int offset, long value) {
+    LONG_LE.set(out, payloadStart + offset, value);
+  }
+
+  public static void writeFloat(ByteBuffer out, int payloadStart, int offset, double value) {
+    INT_LE.set(out, payloadStart + offset, Float.floatToRawIntBits((float) value));
+  }
+
+  public static void writeDouble(ByteBuffer out, int payloadStart, int offset, double value) {
+    LONG_LE.set(out, payloadStart + offset, Double.doubleToRawLongBits(value));
+  }
+
+  /**
+   * Writes a {@code char[length]} field: UTF-8 bytes truncated to the field, NUL padded. {@code null} writes zeros.
+   */
+  public static void writeString(ByteBuffer out, int payloadStart, int offset, int length, String value) {
+    int index = payloadStart + offset;
+    int written = 0;
+    if (value != null && !value.isEmpty()) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      written = Math.min(bytes.length, length);
+      out.put(index, bytes, 0, written);
+    }
+    for (int i = written; i < length; i++) {
+      out.put(index + i, (byte) 0);
+    }
+  }
+}
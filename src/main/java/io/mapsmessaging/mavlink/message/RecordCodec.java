@@ -0,0 +1,44 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Moves one message type's payload between wire bytes and the flat slot arrays of a {@link MessageRecord}.
+ *
+ * <p>Implementations are either the layout-driven interpreter or a class generated at runtime for a single
+ * message (see {@link RecordCodecGenerator}). Both read and write at absolute indices and never move the buffer
+ * position.</p>
+ */
+public interface RecordCodec {
+
+  /**
+   * Decodes {@code length} payload bytes starting at absolute index {@code start}. Every slot is written; fields
+   * beyond {@code length} read as zero.
+   */
+  void decode(ByteBuffer payload, int start, int length, long[] longs, double[] doubles, String[] strings);
+
+  /**
+   * Encodes every field of the message (the full payload size) starting at absolute index {@code start}.
+   */
+  void encode(ByteBuffer out, int start, long[] longs, double[] doubles, String[] strings);
+}
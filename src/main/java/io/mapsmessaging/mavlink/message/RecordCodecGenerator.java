@@ -0,0 +1,431 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message;
+
+import io.mapsmessaging.mavlink.message.fields.WireType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a straight-line {@link RecordCodec} class per message and defines it as a hidden class.
+ *
+ * <p>Each generated {@code decode}/{@code encode} method is one unrolled sequence of calls to the type-specialised
+ * static helpers in {@link PayloadReader}/{@link PayloadWriter}, with every offset and slot index baked in as a
+ * constant. There are no loops, no field objects and no virtual dispatch per field, so the JIT sees a small,
+ * monomorphic method per message instead of the shared, megamorphic field codec call sites.</p>
+ *
+ * <p>The generated code has no branches, so it needs no stack map frames and the class file writer below stays
+ * minimal. If generation or class definition fails for any reason the caller keeps the interpreter; such failures
+ * are counted in {@link #getFailureCount()} and the most recent one is kept in {@link #getLastFailure()}.</p>
+ *
+ * <p>Only the {@link MessageRecord}/{@link PayloadLayout} path is generated. The {@code Map}-returning parse and
+ * pack paths keep the shared field codecs.</p>
+ */
+public final class RecordCodecGenerator {
+
+  /** System property that enables generated codecs for every dialect loaded afterwards. */
+  public static final String GENERATE_PROPERTY = "io.mapsmessaging.mavlink.generatedCodecs";
+
+  private static final int CLASS_FILE_VERSION = 61; // Java 17
+
+  private static final String READER = "io/mapsmessaging/mavlink/message/PayloadReader";
+  private static final String WRITER = "io/mapsmessaging/mavlink/message/PayloadWriter";
+  private static final String CODEC_INTERFACE = "io/mapsmessaging/mavlink/message/RecordCodec";
+  private static final String CLASS_NAME = "io/mapsmessaging/mavlink/message/GeneratedRecordCodec";
+
+  private static final String READ_INTEGER_DESCRIPTOR = "(Ljava/nio/ByteBuffer;III)J";
+  private static final String READ_FLOATING_DESCRIPTOR = "(Ljava/nio/ByteBuffer;III)D";
+  private static final String READ_STRING_DESCRIPTOR = "(Ljava/nio/ByteBuffer;IIII)Ljava/lang/String;";
+  private static final String WRITE_INTEGER_DESCRIPTOR = "(Ljava/nio/ByteBuffer;IIJ)V";
+  private static final String WRITE_FLOATING_DESCRIPTOR = "(Ljava/nio/ByteBuffer;IID)V";
+  private static final String WRITE_STRING_DESCRIPTOR = "(Ljava/nio/ByteBuffer;IIILjava/lang/String;)V";
+
+  // decode(ByteBuffer payload, int start, int length, long[] longs, double[] doubles, String[] strings)
+  private static final int DECODE_PAYLOAD = 1;
+  private static final int DECODE_START = 2;
+  private static final int DECODE_LENGTH = 3;
+  private static final int DECODE_LONGS = 4;
+  private static final int DECODE_DOUBLES = 5;
+  private static final int DECODE_STRINGS = 6;
+
+  // encode(ByteBuffer out, int start, long[] longs, double[] doubles, String[] strings)
+  private static final int ENCODE_OUT = 1;
+  private static final int ENCODE_START = 2;
+  private static final int ENCODE_LONGS = 3;
+  private static final int ENCODE_DOUBLES = 4;
+  private static final int ENCODE_STRINGS = 5;
+
+  private static final AtomicLong FAILURES = new AtomicLong();
+  private static volatile Throwable lastFailure;
+
+  private RecordCodecGenerator() {
+  }
+
+  /**
+   * @return number of layouts, over the life of the JVM, whose codec could not be generated
+   */
+  public static long getFailureCount() {
+    return FAILURES.get();
+  }
+
+  /**
+   * @return the most recent generation failure, or {@code null} if there has been none
+   */
+  public static Throwable getLastFailure() {
+    return lastFailure;
+  }
+
+  /**
+   * @return true if {@link #GENERATE_PROPERTY} is set to {@code true}
+   */
+  public static boolean isEnabledByDefault() {
+    return Boolean.getBoolean(GENERATE_PROPERTY);
+  }
+
+  /**
+   * Generates and installs codecs for every message. Messages whose codec cannot be generated keep the
+   * interpreter; compare the result with the message count, and see {@link #getLastFailure()} for the cause.
+   *
+   * @return number of messages now using a generated codec
+   */
+  public static int installAll(List<CompiledMessage> messages) {
+    int installed = 0;
+    for (CompiledMessage message : messages) {
+      PayloadLayout layout = message.getLayout();
+      RecordCodec codec = tryGenerate(layout);
+      if (codec != null) {
+        layout.setRecordCodec(codec);
+        installed++;
+      }
+    }
+    return installed;
+  }
+
+  /**
+   * @return a generated codec for the layout, or {@code null} if one could not be generated (the failure is
+   *     recorded, see {@link #getFailureCount()})
+   */
+  public static RecordCodec tryGenerate(PayloadLayout layout) {
+    try {
+      return generate(layout);
+    } catch (ReflectiveOperationException | LinkageError | IOException | RuntimeException exception) {
+      lastFailure = exception;
+      FAILURES.incrementAndGet();
+      return null;
+    }
+  }
+
+  static RecordCodec generate(PayloadLayout layout) throws ReflectiveOperationException, IOException {
+    byte[] classBytes = buildClass(layout);
+    MethodHandles.Lookup hidden = MethodHandles.lookup().defineHiddenClass(classBytes, true);
+    try {
+      return (RecordCodec) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+    } catch (ReflectiveOperationException | RuntimeException | Error exception) {
+      throw exception;
+    } catch (Throwable throwable) {
+      throw new IllegalStateException(throwable);
+    }
+  }
+
+  static byte[] buildClass(PayloadLayout layout) throws IOException {
+    ConstantPool pool = new ConstantPool();
+    int thisClass = pool.classRef(CLASS_NAME);
+    int superClass = pool.classRef("java/lang/Object");
+    int codecInterface = pool.classRef(CODEC_INTERFACE);
+    int codeName = pool.utf8("Code");
+
+    byte[] constructor = constructorCode(pool);
+    byte[] decode = decodeCode(layout, pool);
+    byte[] encode = encodeCode(layout, pool);
+    // Every constant must be interned before the pool is written
+    int[] constructorNames = {pool.utf8("<init>"), pool.utf8("()V")};
+    int[] decodeNames = {pool.utf8("decode"), pool.utf8("(Ljava/nio/ByteBuffer;II[J[D[Ljava/lang/String;)V")};
+    int[] encodeNames = {pool.utf8("encode"), pool.utf8("(Ljava/nio/ByteBuffer;I[J[D[Ljava/lang/String;)V")};
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(0xCAFEBABE);
+    out.writeShort(0);
+    out.writeShort(CLASS_FILE_VERSION);
+    pool.writeTo(out);
+    out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+    out.writeShort(thisClass);
+    out.writeShort(superClass);
+    out.writeShort(1);
+    out.writeShort(codecInterface);
+    out.writeShort(0); // fields
+    out.writeShort(3); // methods
+    writeMethod(out, codeName, constructorNames, constructor, 1, 1);
+    writeMethod(out, codeName, decodeNames, decode, 8, 7);
+    writeMethod(out, codeName, encodeNames, encode, 8, 6);
+    out.writeShort(0); // attributes
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static byte[] constructorCode(ConstantPool pool) {
+    Code code = new Code();
+    code.op(0x2a); // aload_0
+    code.op(0xb7); // invokespecial
+    code.u2(pool.methodRef("java/lang/Object", "<init>", "()V"));
+    code.op(0xb1); // return
+    return code.toByteArray();
+  }
+
+  private static byte[] decodeCode(PayloadLayout layout, ConstantPool pool) {
+    Code code = new Code();
+    for (int ordinal = 0; ordinal < layout.getFieldCount(); ordinal++) {
+      WireType wireType = layout.wireType(ordinal);
+      int offset = layout.offset(ordinal);
+      int slot = layout.slot(ordinal);
+      int count = layout.elementCount(ordinal);
+      switch (layout.kind(ordinal)) {
+        case LONG -> {
+          int helper = pool.methodRef(READER, readIntegerHelper(wireType), READ_INTEGER_DESCRIPTOR);
+          for (int element = 0; element < count; element++) {
+            emitDecodeElement(code, DECODE_LONGS, slot + element, offset + element * wireType.getSizeInBytes(), helper);
+            code.op(0x50); // lastore
+          }
+        }
+        case DOUBLE -> {
+          String name = wireType == WireType.FLOAT ? "readFloat" : "readDouble";
+          int helper = pool.methodRef(READER, name, READ_FLOATING_DESCRIPTOR);
+          for (int element = 0; element < count; element++) {
+            emitDecodeElement(code, DECODE_DOUBLES, slot + element, offset + element * wireType.getSizeInBytes(), helper);
+            code.op(0x52); // dastore
+          }
+        }
+        case STRING -> {
+          code.load(0x19, DECODE_STRINGS);
+          code.push(slot);
+          code.load(0x19, DECODE_PAYLOAD);
+          code.load(0x15, DECODE_START);
+          code.load(0x15, DECODE_LENGTH);
+          code.push(offset);
+          code.push(count);
+          code.op(0xb8);
+          code.u2(pool.methodRef(READER, "readString", READ_STRING_DESCRIPTOR));
+          code.op(0x53); // aastore
+        }
+      }
+    }
+    code.op(0xb1);
+    return code.toByteArray();
+  }
+
+  private static void emitDecodeElement(Code code, int arrayLocal, int slot, int offset, int helper) {
+    code.load(0x19, arrayLocal);
+    code.push(slot);
+    code.load(0x19, DECODE_PAYLOAD);
+    code.load(0x15, DECODE_START);
+    code.load(0x15, DECODE_LENGTH);
+    code.push(offset);
+    code.op(0xb8); // invokestatic
+    code.u2(helper);
+  }
+
+  private static byte[] encodeCode(PayloadLayout layout, ConstantPool pool) {
+    Code code = new Code();
+    for (int ordinal = 0; ordinal < layout.getFieldCount(); ordinal++) {
+      WireType wireType = layout.wireType(ordinal);
+      int offset = layout.offset(ordinal);
+      int slot = layout.slot(ordinal);
+      int count = layout.elementCount(ordinal);
+      switch (layout.kind(ordinal)) {
+        case LONG -> {
+          String name = "writeInt" + (wireType.getSizeInBytes() * 8);
+          int helper = pool.methodRef(WRITER, name, WRITE_INTEGER_DESCRIPTOR);
+          for (int element = 0; element < count; element++) {
+            emitEncodeElement(code, ENCODE_LONGS, 0x2f, slot + element, offset + element * wireType.getSizeInBytes(), helper);
+          }
+        }
+        case DOUBLE -> {
+          String name = wireType == WireType.FLOAT ? "writeFloat" : "writeDouble";
+          int helper = pool.methodRef(WRITER, name, WRITE_FLOATING_DESCRIPTOR);
+          for (int element = 0; element < count; element++) {
+            emitEncodeElement(code, ENCODE_DOUBLES, 0x31, slot + element, offset + element * wireType.getSizeInBytes(), helper);
+          }
+        }
+        case STRING -> {
+          code.load(0x19, ENCODE_OUT);
+          code.load(0x15, ENCODE_START);
+          code.push(offset);
+          code.push(count);
+          code.load(0x19, ENCODE_STRINGS);
+          code.push(slot);
+          code.op(0x32); // aaload
+          code.op(0xb8);
+          code.u2(pool.methodRef(WRITER, "writeString", WRITE_STRING_DESCRIPTOR));
+        }
+      }
+    }
+    code.op(0xb1);
+    return code.toByteArray();
+  }
+
+  private static void emitEncodeElement(Code code, int arrayLocal, int arrayLoadOp, int slot, int offset, int helper) {
+    code.load(0x19, ENCODE_OUT);
+    code.load(0x15, ENCODE_START);
+    code.push(offset);
+    code.load(0x19, arrayLocal);
+    code.push(slot);
+    code.op(arrayLoadOp); // laload / daload
+    code.op(0xb8); // invokestatic
+    code.u2(helper);
+  }
+
+  private static String readIntegerHelper(WireType wireType) {
+    return switch (wireType) {
+      case INT8 -> "readInt8";
+      case UINT8, CHAR -> "readUInt8";
+      case INT16 -> "readInt16";
+      case UINT16 -> "readUInt16";
+      case INT32 -> "readInt32";
+      case UINT32 -> "readUInt32";
+      default -> "readInt64";
+    };
+  }
+
+  private static void writeMethod(DataOutputStream out, int codeName, int[] nameAndDescriptor, byte[] code,
+                                  int maxStack, int maxLocals) throws IOException {
+    if (code.length > 65535) {
+      throw new IllegalStateException("Generated method too large: " + code.length);
+    }
+    out.writeShort(0x0001); // public
+    out.writeShort(nameAndDescriptor[0]);
+    out.writeShort(nameAndDescriptor[1]);
+    out.writeShort(1);
+    out.writeShort(codeName);
+    out.writeInt(2 + 2 + 4 + code.length + 2 + 2);
+    out.writeShort(maxStack);
+    out.writeShort(maxLocals);
+    out.writeInt(code.length);
+    out.write(code);
+    out.writeShort(0); // exception table
+    out.writeShort(0); // code attributes
+  }
+
+  private static final class Code {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    void op(int opcode) {
+      bytes.write(opcode);
+    }
+
+    void u2(int value) {
+      bytes.write(value >>> 8);
+      bytes.write(value);
+    }
+
+    void load(int opcode, int local) {
+      op(opcode);
+      op(local);
+    }
+
+    void push(int value) {
+      if (value >= -1 && value <= 5) {
+        op(0x03 + value); // iconst_m1 .. iconst_5
+      } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        op(0x10); // bipush
+        op(value & 0xFF);
+      } else {
+        op(0x11); // sipush
+        u2(value & 0xFFFF);
+      }
+    }
+
+    byte[] toByteArray() {
+      return bytes.toByteArray();
+    }
+  }
+
+  private static final class ConstantPool {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<String, Integer> entries = new HashMap<>();
+    private int count = 1;
+
+    int utf8(String value) {
+      return entry("U" + value, () -> {
+        out.writeByte(1);
+        out.writeUTF(value);
+      });
+    }
+
+    int classRef(String internalName) {
+      int name = utf8(internalName);
+      return entry("C" + internalName, () -> {
+        out.writeByte(7);
+        out.writeShort(name);
+      });
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+      int ownerIndex = classRef(owner);
+      int nameIndex = utf8(name);
+      int descriptorIndex = utf8(descriptor);
+      int nameAndType = entry("N" + name + descriptor, () -> {
+        out.writeByte(12);
+        out.writeShort(nameIndex);
+        out.writeShort(descriptorIndex);
+      });
+      return entry("M" + owner + "." + name + descriptor, () -> {
+        out.writeByte(10);
+        out.writeShort(ownerIndex);
+        out.writeShort(nameAndType);
+      });
+    }
+
+    void writeTo(DataOutputStream target) throws IOException {
+      out.flush();
+      target.writeShort(count);
+      bytes.writeTo(target);
+    }
+
+    private int entry(String key, EntryWriter writer) {
+      Integer existing = entries.get(key);
+      if (existing != null) {
+        return existing;
+      }
+      try {
+        writer.write();
+      } catch (IOException exception) {
+        throw new IllegalStateException(exception);
+      }
+      int index = count++;
+      entries.put(key, index);
+      return index;
+    }
+  }
+
+  @FunctionalInterface
+  private interface EntryWriter {
+    void write() throws IOException;
+  }
+}
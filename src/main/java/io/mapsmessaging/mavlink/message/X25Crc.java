@@ -20,6 +20,11 @@
 
 package io.mapsmessaging.mavlink.message;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * MAVLink CRC-16/X25 implementation.
  *
@@ -29,12 +34,20 @@ package io.mapsmessaging.mavlink.message;
  * RefIn  : true
  * RefOut : true
  * XorOut : 0x0000  (IMPORTANT: MAVLink does NOT apply final XOR)
+ *
+ * The CRC is table driven (one lookup per byte). The static {@code accumulate} methods work directly on a
+ * running CRC value so the hot framing paths can checksum a buffer region without allocating an instance.
  */
 public final class X25Crc {
 
-  private static final int INITIAL_CRC = 0xFFFF;
+  public static final int INITIAL_CRC = 0xFFFF;
   private static final int POLYNOMIAL = 0x8408;
 
+  private static final int[] TABLE = buildTable();
+
+  // Reads 8 bytes little-endian regardless of the buffer's own byte order, and works for direct buffers
+  private static final VarHandle LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
   private int currentCrc;
 
   public X25Crc() {
@@ -54,6 +67,64 @@ public final class X25Crc {
     return calculate(buffer, 0, buffer.length);
   }
 
+  /**
+   * Computes the CRC of {@code length} bytes starting at absolute {@code index}.
+   * The buffer position and limit are not modified.
+   */
+  public static int calculate(ByteBuffer buffer, int index, int length) {
+    return accumulate(INITIAL_CRC, buffer, index, length);
+  }
+
+  /**
+   * Folds a single byte into a running CRC value.
+   */
+  public static int accumulate(int crc, int value) {
+    return (crc >>> 8) ^ TABLE[(crc ^ value) & 0xFF];
+  }
+
+  /**
+   * Folds {@code length} bytes of the array into a running CRC value.
+   */
+  public static int accumulate(int crc, byte[] buffer, int offset, int length) {
+    int value = crc;
+    int endIndex = offset + length;
+    for (int index = offset; index < endIndex; index++) {
+      value = (value >>> 8) ^ TABLE[(value ^ buffer[index]) & 0xFF];
+    }
+    return value;
+  }
+
+  /**
+   * Folds {@code length} bytes starting at absolute {@code index} into a running CRC value.
+   *
+   * <p>Heap buffers are walked through their backing array. Direct (and read-only) buffers are read
+   * eight bytes at a time, so there is one buffer access per word rather than per byte.
+   * The buffer position and limit are not modified.</p>
+   */
+  public static int accumulate(int crc, ByteBuffer buffer, int index, int length) {
+    if (buffer.hasArray()) {
+      return accumulate(crc, buffer.array(), buffer.arrayOffset() + index, length);
+    }
+
+    int value = crc;
+    int currentIndex = index;
+    int endIndex = index + length;
+
+    while (currentIndex + Long.BYTES <= endIndex) {
+      long word = (long) LONG_LE.get(buffer, currentIndex);
+      for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+        value = (value >>> 8) ^ TABLE[(value ^ (int) (word >>> shift)) & 0xFF];
+      }
+      currentIndex += Long.BYTES;
+    }
+
+    while (currentIndex < endIndex) {
+      value = (value >>> 8) ^ TABLE[(value ^ buffer.get(currentIndex)) & 0xFF];
+      currentIndex++;
+    }
+    return value;
+  }
+
   public void reset() {
     currentCrc = INITIAL_CRC;
   }
@@ -63,18 +134,7 @@ public final class X25Crc {
   }
 
   public void update(int value) {
-    int data = value & 0xFF;
-    currentCrc ^= data;
-
-    for (int bitIndex = 0; bitIndex < 8; bitIndex++) {
-      if ((currentCrc & 0x0001) != 0) {
-        currentCrc = (currentCrc >>> 1) ^ POLYNOMIAL;
-      } else {
-        currentCrc = currentCrc >>> 1;
-      }
-    }
-
-    currentCrc = currentCrc & 0xFFFF;
+    currentCrc = accumulate(currentCrc, value);
   }
 
   public void update(byte[] buffer) {
@@ -88,11 +148,18 @@ public final class X25Crc {
     if (buffer == null) {
       return;
     }
+    currentCrc = accumulate(currentCrc, buffer, offset, length);
+  }
 
-    int endIndex = offset + length;
-    for (int index = offset; index < endIndex; index++) {
-      update(buffer[index] & 0xFF);
+  /**
+   * Updates the CRC with {@code length} bytes starting at absolute {@code index}.
+   * The buffer position and limit are not modified.
+   */
+  public void update(ByteBuffer buffer, int index, int length) {
+    if (buffer == null) {
+      return;
     }
+    currentCrc = accumulate(currentCrc, buffer, index, length);
   }
 
   /**
@@ -112,4 +179,20 @@ public final class X25Crc {
   public int getRawCrc() {
     return currentCrc & 0xFFFF;
   }
+
+  private static int[] buildTable() {
+    int[] table = new int[256];
+    for (int value = 0; value < 256; value++) {
+      int crc = value;
+      for (int bitIndex = 0; bitIndex < 8; bitIndex++) {
+        if ((crc & 0x0001) != 0) {
+          crc = (crc >>> 1) ^ POLYNOMIAL;
+        } else {
+          crc = crc >>> 1;
+        }
+      }
+      table[value] = crc & 0xFFFF;
+    }
+    return table;
+  }
 }
@@ -59,6 +59,20 @@ public class ArrayFieldCodec extends AbstractMavlinkFieldCodec {
     return elementCodec.decode(buffer);
   }
 
+  /**
+   * Decodes the whole numeric array in one bulk read into a primitive array
+   * (see {@link PrimitiveArrays} for the array type used per wire type).
+   */
+  public Object decodeArray(ByteBuffer buffer) {
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return PrimitiveArrays.read(buffer, getWireType(), arrayLength);
+  }
+
+  /**
+   * Encodes the array, zero-filling elements beyond the supplied values. Numeric arrays may be given as a
+   * {@code List} of numbers or as a primitive array; primitive arrays whose element size matches the wire type are
+   * written with a single bulk copy.
+   */
   @Override
   public void encode(ByteBuffer buffer, Object value) {
     buffer.order(ByteOrder.LITTLE_ENDIAN);
@@ -68,9 +82,15 @@ public class ArrayFieldCodec extends AbstractMavlinkFieldCodec {
       byte[] bytes = text.getBytes();
       int length = Math.min(bytes.length, arrayLength);
       buffer.put(bytes, 0, length);
-      for (int index = length; index < arrayLength; index++) {
-        buffer.put((byte) 0);
-      }
+      PrimitiveArrays.zeroFill(buffer, arrayLength - length);
+      return;
+    }
+
+    int elementSize = elementCodec.getSizeInBytes();
+    if (PrimitiveArrays.isNumericArray(value)) {
+      int limit = Math.min(PrimitiveArrays.length(value), arrayLength);
+      PrimitiveArrays.write(buffer, getWireType(), value, limit);
+      PrimitiveArrays.zeroFill(buffer, (arrayLength - limit) * elementSize);
       return;
     }
 
@@ -85,8 +105,6 @@ public class ArrayFieldCodec extends AbstractMavlinkFieldCodec {
     for (int index = 0; index < limit; index++) {
       elementCodec.encode(buffer, values.get(index));
     }
-    for (int index = limit; index < arrayLength; index++) {
-      elementCodec.encode(buffer, 0);
-    }
+    PrimitiveArrays.zeroFill(buffer, (arrayLength - limit) * elementSize);
   }
 }
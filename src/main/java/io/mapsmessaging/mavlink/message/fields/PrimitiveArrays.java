@@ -0,0 +1,272 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.message.fields;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Bulk encode/decode of numeric array fields as primitive arrays.
+ *
+ * <p>Each wire type has one primitive array type, widened for unsigned types so values keep their meaning:</p>
+ * <ul>
+ *   <li>{@code int8} &rarr; {@code byte[]}, {@code uint8} and {@code int16} &rarr; {@code short[]}</li>
+ *   <li>{@code uint16} and {@code int32} &rarr; {@code int[]}, {@code uint32}, {@code int64} and {@code uint64} &rarr; {@code long[]}
+ *       ({@code uint64} keeps its bit pattern)</li>
+ *   <li>{@code float} &rarr; {@code float[]}, {@code double} &rarr; {@code double[]}</li>
+ * </ul>
+ *
+ * <p>Arrays whose element size matches the wire size are copied with a single bulk transfer through a typed buffer
+ * view; other combinations are converted element by element without boxing. All buffers must be little-endian.</p>
+ */
+public final class PrimitiveArrays {
+
+  private static final byte[] ZEROS = new byte[256];
+
+  private PrimitiveArrays() {
+  }
+
+  /**
+   * @return true if {@code value} is an array of a numeric primitive type
+   */
+  public static boolean isNumericArray(Object value) {
+    return value instanceof byte[] || value instanceof short[] || value instanceof int[]
+        || value instanceof long[] || value instanceof float[] || value instanceof double[];
+  }
+
+  /**
+   * @return the element count of a numeric primitive array
+   */
+  public static int length(Object array) {
+    if (array instanceof byte[] values) return values.length;
+    if (array instanceof short[] values) return values.length;
+    if (array instanceof int[] values) return values.length;
+    if (array instanceof long[] values) return values.length;
+    if (array instanceof float[] values) return values.length;
+    if (array instanceof double[] values) return values.length;
+    throw new IllegalArgumentException("Not a numeric primitive array: " + (array == null ? "null" : array.getClass().getName()));
+  }
+
+  /**
+   * Writes {@code count} zero bytes at the buffer's position.
+   */
+  public static void zeroFill(ByteBuffer buffer, int count) {
+    while (count > 0) {
+      int chunk = Math.min(count, ZEROS.length);
+      buffer.put(ZEROS, 0, chunk);
+      count -= chunk;
+    }
+  }
+
+  /**
+   * Writes the first {@code count} elements of a numeric primitive array at the buffer's position as {@code wireType}.
+   */
+  public static void write(ByteBuffer buffer, WireType wireType, Object array, int count) {
+    int position = buffer.position();
+    int size = wireType.getSizeInBytes();
+    if (buffer.order() == ByteOrder.LITTLE_ENDIAN && writeBulk(buffer, wireType, array, count)) {
+      buffer.position(position + count * size);
+      return;
+    }
+    for (int index = 0; index < count; index++) {
+      switch (wireType) {
+        case FLOAT -> buffer.putFloat((float) doubleAt(array, index));
+        case DOUBLE -> buffer.putDouble(doubleAt(array, index));
+        default -> putInteger(buffer, size, longAt(array, index));
+      }
+    }
+  }
+
+  private static boolean writeBulk(ByteBuffer buffer, WireType wireType, Object array, int count) {
+    switch (wireType) {
+      case INT8, UINT8, CHAR -> {
+        if (array instanceof byte[] values) {
+          buffer.put(buffer.position(), values, 0, count);
+          return true;
+        }
+      }
+      case INT16, UINT16 -> {
+        if (array instanceof short[] values) {
+          buffer.asShortBuffer().put(values, 0, count);
+          return true;
+        }
+      }
+      case INT32, UINT32 -> {
+        if (array instanceof int[] values) {
+          buffer.asIntBuffer().put(values, 0, count);
+          return true;
+        }
+      }
+      case INT64, UINT64 -> {
+        if (array instanceof long[] values) {
+          buffer.asLongBuffer().put(values, 0, count);
+          return true;
+        }
+      }
+      case FLOAT -> {
+        if (array instanceof float[] values) {
+          buffer.asFloatBuffer().put(values, 0, count);
+          return true;
+        }
+      }
+      case DOUBLE -> {
+        if (array instanceof double[] values) {
+          buffer.asDoubleBuffer().put(values, 0, count);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Reads {@code count} elements of {@code wireType} at the buffer's position into a new primitive array
+   * (see the class comment for the array type per wire type) and advances the position.
+   */
+  public static Object read(ByteBuffer buffer, WireType wireType, int count) {
+    int position = buffer.position();
+    Object result;
+    switch (wireType) {
+      case INT8, CHAR -> {
+        byte[] values = new byte[count];
+        buffer.get(position, values);
+        result = values;
+      }
+      case UINT8 -> {
+        short[] values = new short[count];
+        for (int index = 0; index < count; index++) {
+          values[index] = (short) Byte.toUnsignedInt(buffer.get(position + index));
+        }
+        result = values;
+      }
+      case INT16 -> {
+        short[] values = new short[count];
+        buffer.asShortBuffer().get(values);
+        result = values;
+      }
+      case UINT16 -> {
+        int[] values = new int[count];
+        for (int index = 0; index < count; index++) {
+          values[index] = Short.toUnsignedInt(buffer.getShort(position + index * 2));
+        }
+        result = values;
+      }
+      case INT32 -> {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        result = values;
+      }
+      case UINT32 -> {
+        long[] values = new long[count];
+        for (int index = 0; index < count; index++) {
+          values[index] = Integer.toUnsignedLong(buffer.getInt(position + index * 4));
+        }
+        result = values;
+      }
+      case INT64, UINT64 -> {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        result = values;
+      }
+      case FLOAT -> {
+        float[] values = new float[count];
+        buffer.asFloatBuffer().get(values);
+        result = values;
+      }
+      case DOUBLE -> {
+        double[] values = new double[count];
+        buffer.asDoubleBuffer().get(values);
+        result = values;
+      }
+      default -> throw new IllegalArgumentException("Unsupported wire type: " + wireType);
+    }
+    buffer.position(position + count * wireType.getSizeInBytes());
+    return result;
+  }
+
+  /**
+   * Returns an unmodifiable list view over a primitive array produced by {@link #read}, boxing each element on
+   * access to the same type the scalar field codec would produce for {@code wireType}.
+   */
+  public static List<Object> asList(Object array, WireType wireType) {
+    return new BoxingList(array, wireType, length(array));
+  }
+
+  private static long longAt(Object array, int index) {
+    if (array instanceof byte[] values) return values[index];
+    if (array instanceof short[] values) return values[index];
+    if (array instanceof int[] values) return values[index];
+    if (array instanceof long[] values) return values[index];
+    if (array instanceof float[] values) return (long) values[index];
+    return (long) ((double[]) array)[index];
+  }
+
+  private static double doubleAt(Object array, int index) {
+    if (array instanceof float[] values) return values[index];
+    if (array instanceof double[] values) return values[index];
+    return longAt(array, index);
+  }
+
+  private static void putInteger(ByteBuffer buffer, int size, long value) {
+    switch (size) {
+      case 1 -> buffer.put((byte) value);
+      case 2 -> buffer.putShort((short) value);
+      case 4 -> buffer.putInt((int) value);
+      default -> buffer.putLong(value);
+    }
+  }
+
+  private static final class BoxingList extends AbstractList<Object> implements RandomAccess {
+    private final Object array;
+    private final WireType wireType;
+    private final int size;
+
+    private BoxingList(Object array, WireType wireType, int size) {
+      this.array = array;
+      this.wireType = wireType;
+      this.size = size;
+    }
+
+    @Override
+    public Object get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+      }
+      return switch (wireType) {
+        case INT8 -> ((byte[]) array)[index];
+        case INT16 -> ((short[]) array)[index];
+        case UINT8, UINT16, INT32, CHAR -> (int) longAt(array, index);
+        case UINT32, INT64 -> longAt(array, index);
+        case UINT64 -> UInt64FieldCodec.unsigned(longAt(array, index));
+        case FLOAT -> ((float[]) array)[index];
+        case DOUBLE -> ((double[]) array)[index];
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
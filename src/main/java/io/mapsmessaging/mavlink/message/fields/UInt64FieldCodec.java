@@ -20,6 +20,7 @@
 
 package io.mapsmessaging.mavlink.message.fields;
 
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -32,7 +33,19 @@ public class UInt64FieldCodec extends AbstractMavlinkFieldCodec {
   @Override
   public Object decode(ByteBuffer buffer) {
     buffer.order(ByteOrder.LITTLE_ENDIAN);
-    return buffer.getLong(); // assumes fits in signed long
+    return unsigned(buffer.getLong());
+  }
+
+  /**
+   * Boxes a raw {@code uint64} value: a {@link Long} when it fits, otherwise a {@link BigInteger} holding the
+   * unsigned value, so values above {@link Long#MAX_VALUE} keep their meaning in maps and JSON.
+   * {@link Number#longValue()} on either returns the original bits, so decoded values re-encode unchanged.
+   */
+  public static Number unsigned(long raw) {
+    if (raw >= 0) {
+      return raw;
+    }
+    return BigInteger.valueOf(raw >>> 1).shiftLeft(1).or(BigInteger.valueOf(raw & 1));
   }
 
   @Override
@@ -0,0 +1,79 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink.signing;
+
+import io.mapsmessaging.mavlink.framing.SigningKeyProvider;
+
+/**
+ * Wraps another provider and remembers, per thread, the last key it returned.
+ *
+ * <p>A link usually carries one (system, component, link) for long runs of frames, so most lookups are answered
+ * from the thread's last entry without reaching the delegate. Call {@link #invalidate()} after changing the
+ * delegate's keys; every thread then fetches afresh on its next lookup.</p>
+ */
+public class CachingSigningKeyProvider implements SigningKeyProvider {
+
+  private final SigningKeyProvider delegate;
+  private final ThreadLocal<LastKey> lastKey = ThreadLocal.withInitial(LastKey::new);
+  private volatile long generation;
+
+  public CachingSigningKeyProvider(SigningKeyProvider delegate) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("delegate must not be null");
+    }
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean canValidate() {
+    return delegate.canValidate();
+  }
+
+  @Override
+  public byte[] getSigningKey(int systemId, int componentId, int linkId) {
+    long packed = ((long) systemId << 32) ^ ((long) componentId << 16) ^ (linkId & 0xFFFFL);
+    long currentGeneration = generation;
+    LastKey last = lastKey.get();
+    if (last.valid && last.packed == packed && last.generation == currentGeneration) {
+      return last.key;
+    }
+    byte[] key = delegate.getSigningKey(systemId, componentId, linkId);
+    last.packed = packed;
+    last.generation = currentGeneration;
+    last.key = key;
+    last.valid = true;
+    return key;
+  }
+
+  /**
+   * Discards every thread's remembered key.
+   */
+  public synchronized void invalidate() {
+    generation++;
+  }
+
+  private static final class LastKey {
+    private boolean valid;
+    private long packed;
+    private long generation;
+    private byte[] key;
+  }
+}
@@ -21,27 +21,62 @@
 package io.mapsmessaging.mavlink.signing;
 
 import io.mapsmessaging.mavlink.framing.SigningKeyProvider;
-import lombok.Value;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Signing keys registered per (systemId, componentId, linkId), with optional wildcards.
+ *
+ * <p>Lookups index a sparse table over the packed key {@code systemId << 16 | componentId << 8 | linkId}: one
+ * 256 x 256 page set per system that has keys, with wildcards already applied, rebuilt whenever that system's
+ * registrations change. {@link #getSigningKey(int, int, int)} is therefore two array loads,
+ * whatever wildcards are registered, and allocates nothing.</p>
+ *
+ * <p>Resolution order: exact match, then (component, {@link #ANY} link), then ({@link #ANY} component, link),
+ * then ({@link #ANY} component, {@link #ANY} link). Returned arrays are shared and must not be modified.</p>
+ */
 public class MapSigningKeyProvider implements SigningKeyProvider {
 
-  private final Map<SigningKey, byte[]> signingKeys;
+  /** Wildcard component or link id for {@link #register(int, int, int, byte[])}. */
+  public static final int ANY = -1;
+
+  private static final int IDS = 256;
+  private static final int WILDCARD = 0xFF + 1;
+
+  // Cold path: packed registrations, including wildcards (encoded as 256)
+  private final Map<Integer, byte[]> registrations;
+  // Hot path: per-system resolved [componentId][linkId] tables, replaced whole on change
+  private final AtomicReferenceArray<byte[][][]> resolved;
 
   public MapSigningKeyProvider() {
-    signingKeys = new ConcurrentHashMap<>();
+    registrations = new HashMap<>();
+    resolved = new AtomicReferenceArray<>(IDS);
   }
 
+  /**
+   * Registers a key. {@code componentId} and {@code linkId} may be {@link #ANY}.
+   */
   public void register(int systemId, int componentId, int linkId, byte[] signature) {
-    SigningKey signingKey = new SigningKey(systemId, componentId, linkId);
-    signingKeys.put(signingKey, signature);
+    if (signature == null) {
+      throw new IllegalArgumentException("signature must not be null");
+    }
+    int packed = pack(systemId, componentId, linkId);
+    synchronized (registrations) {
+      registrations.put(packed, Arrays.copyOf(signature, signature.length));
+      rebuild(systemId);
+    }
   }
 
   public void unregister(int systemId, int componentId, int linkId) {
-    signingKeys.remove(new SigningKey(systemId, componentId, linkId));
-
+    int packed = pack(systemId, componentId, linkId);
+    synchronized (registrations) {
+      if (registrations.remove(packed) != null) {
+        rebuild(systemId);
+      }
+    }
   }
 
   @Override
@@ -51,14 +86,87 @@ public class MapSigningKeyProvider implements SigningKeyProvider {
 
   @Override
   public byte[] getSigningKey(int systemId, int componentId, int linkId) {
-    SigningKey signingKey = new SigningKey(systemId, componentId, linkId);
-    return signingKeys.get(signingKey);
+    if (((systemId | componentId | linkId) & ~0xFF) != 0) {
+      return null;
+    }
+    byte[][][] components = resolved.get(systemId);
+    if (components == null) {
+      return null;
+    }
+    byte[][] links = components[componentId];
+    return links == null ? null : links[linkId];
   }
 
-  @Value
-  private static class SigningKey{
-    int systemId;
-    int componentId;
-    int linkId;
+  private static int pack(int systemId, int componentId, int linkId) {
+    if (systemId < 0 || systemId >= IDS) {
+      throw new IllegalArgumentException("Invalid systemId: " + systemId);
+    }
+    return systemId << 18 | packPart(componentId, "componentId") << 9 | packPart(linkId, "linkId");
+  }
+
+  private static int packPart(int id, String name) {
+    if (id == ANY) {
+      return WILDCARD;
+    }
+    if (id < 0 || id >= IDS) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + id);
+    }
+    return id;
+  }
+
+  // Caller holds the registrations monitor
+  private void rebuild(int systemId) {
+    byte[] anyAny = null;
+    byte[][] anyComponentLinks = new byte[IDS][];
+    byte[][] componentAnyLink = new byte[IDS][];
+    byte[][][] exact = new byte[IDS][][];
+    for (Map.Entry<Integer, byte[]> entry : registrations.entrySet()) {
+      int packed = entry.getKey();
+      if (packed >>> 18 != systemId) {
+        continue;
+      }
+      int component = (packed >>> 9) & 0x1FF;
+      int link = packed & 0x1FF;
+      if (component == WILDCARD && link == WILDCARD) {
+        anyAny = entry.getValue();
+      } else if (component == WILDCARD) {
+        anyComponentLinks[link] = entry.getValue();
+      } else if (link == WILDCARD) {
+        componentAnyLink[component] = entry.getValue();
+      } else {
+        if (exact[component] == null) {
+          exact[component] = new byte[IDS][];
+        }
+        exact[component][link] = entry.getValue();
+      }
+    }
+
+    boolean anyComponent = false;
+    for (int link = 0; link < IDS; link++) {
+      if (anyComponentLinks[link] == null) {
+        anyComponentLinks[link] = anyAny;
+      }
+      anyComponent |= anyComponentLinks[link] != null;
+    }
+
+    byte[][][] components = new byte[IDS][][];
+    boolean any = false;
+    for (int component = 0; component < IDS; component++) {
+      byte[][] links = null;
+      if (exact[component] != null || componentAnyLink[component] != null) {
+        links = new byte[IDS][];
+        for (int link = 0; link < IDS; link++) {
+          byte[] key = exact[component] != null ? exact[component][link] : null;
+          if (key == null) {
+            key = componentAnyLink[component];
+          }
+          links[link] = key != null ? key : anyComponentLinks[link];
+        }
+      }
+      // Components with no registrations of their own share the wildcard page
+      components[component] = links != null ? links : (anyComponent ? anyComponentLinks : null);
+      any |= components[component] != null;
+    }
+    resolved.set(systemId, any ? components : null);
   }
-}
\ No newline at end of file
+}
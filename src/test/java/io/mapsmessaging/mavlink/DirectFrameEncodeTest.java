@@ -0,0 +1,166 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MessageRecord;
+import io.mapsmessaging.mavlink.message.Version;
+import io.mapsmessaging.mavlink.signing.MapSigningKeyProvider;
+import io.mapsmessaging.mavlink.signing.StaticSigningKeyProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectFrameEncodeTest {
+
+  @Test
+  void encodeFrameMatchesTwoStepPack_allMessages() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+
+    for (boolean truncate : new boolean[]{false, true}) {
+      frameCodec.setTruncateTrailingZeros(truncate);
+      for (CompiledMessage message : payloadCodec.getRegistry().getCompiledMessages()) {
+        for (ExtensionMode mode : new ExtensionMode[]{ExtensionMode.OMIT_ALL, ExtensionMode.SOME_PRESENT}) {
+          Map<String, Object> values = RandomValueFactory.buildValues(payloadCodec.getRegistry(), message, mode, message.getMessageId() * 3L);
+          int messageId = message.getMessageId();
+          Version[] versions = messageId <= 255 && mode == ExtensionMode.OMIT_ALL
+              ? new Version[]{Version.V1, Version.V2}
+              : new Version[]{Version.V2};
+          for (Version version : versions) {
+            byte[] expected = twoStep(frameCodec, version, messageId, values);
+
+            ByteBuffer out = ByteBuffer.allocate(300);
+            out.position(5);
+            int written = frameCodec.encodeFrame(out, version, 42, 7, 9, messageId, values, false);
+            assertEquals(5 + written, out.position());
+            assertArrayEquals(expected, Arrays.copyOfRange(out.array(), 5, 5 + written),
+                message.getName() + " " + version + " truncate=" + truncate);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void recordEncodeFrame_andV1DropsExtensions() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+
+    // SYS_STATUS carries extensions; a v1 frame must contain only the base payload
+    CompiledMessage message = payloadCodec.getRegistry().byId(1);
+    Map<String, Object> values = RandomValueFactory.buildValues(payloadCodec.getRegistry(), message, ExtensionMode.SOME_PRESENT, 11L);
+    byte[] payload = payloadCodec.encodePayload(1, values);
+
+    MessageRecord record = payloadCodec.newRecord(1);
+    payloadCodec.decodeRecord(ByteBuffer.wrap(payload), record);
+    ByteBuffer fromRecord = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(fromRecord, Version.V2, 42, 7, 9, record, false);
+    assertArrayEquals(twoStep(frameCodec, Version.V2, 1, values), Arrays.copyOf(fromRecord.array(), fromRecord.position()));
+
+    ByteBuffer v1 = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(v1, Version.V1, 42, 7, 9, 1, values, false);
+    assertEquals(message.getMinimumPayloadSizeBytes(), v1.get(1) & 0xFF);
+    v1.flip();
+    Frame decoded = frameCodec.tryUnpackFrame(v1).orElseThrow();
+    assertEquals(Version.V1, decoded.getVersion());
+    assertArrayEquals(Arrays.copyOf(payload, message.getMinimumPayloadSizeBytes()), decoded.getPayload());
+  }
+
+  @Test
+  void signedFrameValidates_andFailureRestoresPosition() throws Exception {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x5A);
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec, new StaticSigningKeyProvider(key));
+
+    Map<String, Object> values = new HashMap<>();
+    values.put("custom_mode", 5L);
+    values.put("type", 2);
+    values.put("autopilot", 3);
+    values.put("base_mode", 0);
+    values.put("system_status", 4);
+    values.put("mavlink_version", 3);
+
+    ByteBuffer out = ByteBuffer.allocate(300);
+    int written = frameCodec.encodeFrame(out, Version.V2, 1, 1, 1, 0, values, true);
+    assertEquals(1 + 9 + 9 + 2 + 13, written);
+    out.flip();
+    Frame decoded = frameCodec.tryUnpackFrame(out).orElseThrow();
+    assertTrue(decoded.isSigned());
+    assertEquals(4, ((Number) frameCodec.parsePayload(decoded).get("system_status")).intValue());
+
+    ByteBuffer failing = ByteBuffer.allocate(300);
+    failing.position(3);
+    values.put("type", "not-a-number");
+    assertThrows(IOException.class, () -> frameCodec.encodeFrame(failing, Version.V2, 1, 1, 1, 0, values, false));
+    assertEquals(3, failing.position());
+    assertThrows(IOException.class, () -> frameCodec.encodeFrame(failing, Version.V2, 1, 1, 1, 0x7FFFFF, values, false));
+    assertThrows(IllegalArgumentException.class, () -> frameCodec.encodeFrame(ByteBuffer.allocate(10), Version.V2, 1, 1, 1, 0, Map.of(), false));
+  }
+
+  @Test
+  void signedFrameWithoutKeyLeavesBufferUntouched() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec, new MapSigningKeyProvider());
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(0), ExtensionMode.OMIT_ALL, 1L);
+
+    ByteBuffer out = ByteBuffer.allocate(300);
+    out.position(5);
+    assertThrows(IllegalArgumentException.class, () -> frameCodec.encodeFrame(out, Version.V2, 1, 1, 1, 0, values, true));
+    assertEquals(5, out.position());
+    assertArrayEquals(new byte[300], out.array(), "nothing written");
+
+    Frame frame = new Frame();
+    frame.setVersion(Version.V2);
+    frame.setSystemId(1);
+    frame.setComponentId(1);
+    frame.setSigned(true);
+    frame.setPayload(new byte[9]);
+    frame.setPayloadLength(9);
+    assertThrows(IllegalArgumentException.class, () -> frameCodec.packFrame(out, frame));
+    assertEquals(5, out.position());
+    assertArrayEquals(new byte[300], out.array(), "nothing written");
+  }
+
+  private static byte[] twoStep(MavlinkFrameCodec frameCodec, Version version, int messageId, Map<String, Object> values) throws IOException {
+    Frame frame = new Frame();
+    frame.setVersion(version);
+    frame.setSequence(42);
+    frame.setSystemId(7);
+    frame.setComponentId(9);
+    frameCodec.encodePayloadIntoFrame(frame, messageId, values);
+    ByteBuffer out = ByteBuffer.allocate(300);
+    frameCodec.packFrame(out, frame);
+    return Arrays.copyOf(out.array(), out.position());
+  }
+}
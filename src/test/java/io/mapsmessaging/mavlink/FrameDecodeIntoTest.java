@@ -0,0 +1,180 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MutableFrame;
+import io.mapsmessaging.mavlink.message.Version;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameDecodeIntoTest {
+
+  @Test
+  void decodeInto_reusesTarget_andMatchesOptionalPath() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+
+    ByteBuffer network = ByteBuffer.allocate(512);
+    frameCodec.packFrame(network, heartbeatFrame(frameCodec, 7, 3));
+    frameCodec.packFrame(network, heartbeatFrame(frameCodec, 8, 4));
+    byte[] wire = Arrays.copyOf(network.array(), network.position());
+
+    MutableFrame target = new MutableFrame();
+    byte[] payloadArray = target.getPayload();
+
+    ByteBuffer input = ByteBuffer.wrap(wire.clone());
+    assertTrue(frameCodec.tryUnpackFrameInto(input, target));
+    assertEquals(7, target.getSequence());
+    assertEquals(3, frameCodec.parsePayload(target).get("type"));
+
+    input.flip();
+    assertTrue(frameCodec.tryUnpackFrameInto(input, target));
+    assertEquals(8, target.getSequence());
+    assertEquals(Version.V2, target.getVersion());
+    assertEquals(FrameFailureReason.UNSIGNED, target.getValidated());
+    assertSame(payloadArray, target.getPayload(), "payload array must be reused");
+    assertEquals(4, frameCodec.parsePayload(target).get("type"));
+
+    input.flip();
+    assertFalse(frameCodec.tryUnpackFrameInto(input, target));
+
+    Optional<Frame> legacy = frameCodec.tryUnpackFrame(ByteBuffer.wrap(wire.clone()));
+    assertTrue(legacy.isPresent());
+    assertTrue(frameCodec.tryUnpackFrameInto(ByteBuffer.wrap(wire.clone()), target));
+    assertEquals(legacy.get().getPayloadLength(), target.getPayloadLength());
+    assertArrayEquals(legacy.get().getPayload(), Arrays.copyOf(payloadArray, target.getPayloadLength()));
+    assertEquals(legacy.get(), target.toFrame());
+  }
+
+  @Test
+  void decodeInto_v1Frame() throws Exception {
+    int[] load = new int[]{0xfe, 0x09, 0x81, 0xff, 0xbe, 0x00, 0x00, 0x00, 0x00, 0x00, 0x06, 0x08, 0xc0, 0x04, 0x03, 0xa4, 0xe2};
+    byte[] wire = new byte[load.length];
+    for (int index = 0; index < load.length; index++) {
+      wire[index] = (byte) load[index];
+    }
+
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(MavlinkTestSupport.codec());
+    MutableFrame target = new MutableFrame();
+
+    assertTrue(frameCodec.tryUnpackFrameInto(ByteBuffer.wrap(wire), target));
+    assertEquals(Version.V1, target.getVersion());
+    assertEquals(0x81, target.getSequence());
+    assertEquals(0xff, target.getSystemId());
+    assertEquals(9, target.getPayloadLength());
+    assertFalse(target.isSigned());
+
+    Frame copy = target.toFrame();
+    assertEquals(9, copy.getPayload().length);
+    assertNull(copy.getSignature());
+  }
+
+  @Test
+  void headerAndPayloadView_referencesSourceBuffer() throws Exception {
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(MavlinkTestSupport.codec());
+
+    ByteBuffer network = ByteBuffer.allocate(512);
+    frameCodec.packFrame(network, heartbeatFrame(frameCodec, 7, 3));
+    int firstLength = network.position();
+    frameCodec.packFrame(network, heartbeatFrame(frameCodec, 8, 4));
+    network.put((byte) 0xFD); // start of an incomplete frame
+    network.flip();
+
+    Optional<MavlinkFrameView> first = frameCodec.tryUnpackHeaderAndPayloadView(network);
+    Optional<MavlinkFrameView> second = frameCodec.tryUnpackHeaderAndPayloadView(network);
+    assertTrue(first.isPresent());
+    assertTrue(second.isPresent());
+    assertTrue(frameCodec.tryUnpackHeaderAndPayloadView(network).isEmpty());
+    assertEquals(network.limit() - 1, network.position(), "partial frame must be kept for the caller to compact");
+
+    MavlinkFrameView view = first.get();
+    assertEquals(7, view.getSequence());
+    assertTrue(view.getPayload().isReadOnly());
+    assertEquals(view.getPayloadLength(), view.getPayload().remaining());
+    assertEquals(firstLength, view.getFrame().remaining());
+    assertEquals(ByteBuffer.wrap(network.array(), 0, firstLength), view.getFrame());
+    assertEquals(3, frameCodec.parsePayload(view).get("type"));
+    assertEquals(4, frameCodec.parsePayload(second.get()).get("type"));
+
+    // Forwarding the view bytes yields an identical decodable frame
+    ByteBuffer forwarded = ByteBuffer.allocate(64);
+    forwarded.put(view.getFrame().duplicate());
+    Optional<Frame> reDecoded = frameCodec.tryUnpackFrame(forwarded.flip());
+    assertTrue(reDecoded.isPresent());
+    assertEquals(7, reDecoded.get().getSequence());
+  }
+
+  @Test
+  void drainFrames_deliversEveryCompleteFrame_andKeepsPartialTail() throws Exception {
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(MavlinkTestSupport.codec());
+
+    ByteBuffer network = ByteBuffer.allocate(4096);
+    for (int sequence = 0; sequence < 20; sequence++) {
+      network.put((byte) 0x55); // noise between frames
+      frameCodec.packFrame(network, heartbeatFrame(frameCodec, sequence, sequence % 5));
+    }
+    int tailStart = network.position();
+    frameCodec.packFrame(network, heartbeatFrame(frameCodec, 99, 1));
+    int tailLength = network.position() - tailStart - 4;
+    network.position(tailStart + tailLength);
+    network.flip();
+
+    List<Integer> sequences = new ArrayList<>();
+    int count = frameCodec.drainFrames(network, frame -> sequences.add(frame.getSequence()));
+
+    assertEquals(20, count);
+    assertEquals(20, sequences.size());
+    for (int sequence = 0; sequence < 20; sequence++) {
+      assertEquals(sequence, sequences.get(sequence));
+    }
+    assertEquals(tailLength, network.position(), "partial frame must be compacted to the front");
+    assertEquals(0xFD, network.get(0) & 0xFF);
+  }
+
+  private static Frame heartbeatFrame(MavlinkFrameCodec frameCodec, int sequence, int type) throws Exception {
+    Frame frame = new Frame();
+    frame.setVersion(Version.V2);
+    frame.setSequence(sequence);
+    frame.setSystemId(1);
+    frame.setComponentId(1);
+    frameCodec.encodePayloadIntoFrame(frame, 0, Map.of(
+        "type", type,
+        "autopilot", 8,
+        "base_mode", 0,
+        "custom_mode", 0,
+        "system_status", 4,
+        "mavlink_version", 3
+    ));
+    return frame;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.framing.FrameFilter;
+import io.mapsmessaging.mavlink.message.Version;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameFilterTest {
+
+  private static final int HEARTBEAT = 0;
+  private static final int SYS_STATUS = 1;
+  private static final int ATTITUDE = 30;
+
+  @Test
+  void filterBitsetAndAllowDenySets() {
+    FrameFilter all = FrameFilter.builder().build();
+    assertTrue(all.accepts(12345, 1, 1));
+
+    FrameFilter filter = FrameFilter.builder()
+        .allowMessageIds(HEARTBEAT, ATTITUDE, 0xFFFFFF)
+        .allowSystems(1, 2, 255)
+        .denyComponents(190)
+        .build();
+    assertTrue(filter.accepts(HEARTBEAT, 1, 1));
+    assertTrue(filter.accepts(0xFFFFFF, 255, 0));
+    assertFalse(filter.accepts(SYS_STATUS, 1, 1));
+    assertFalse(filter.accepts(ATTITUDE, 3, 1));
+    assertFalse(filter.accepts(ATTITUDE, 2, 190));
+    assertFalse(filter.isVerifyCrc());
+
+    FrameFilter denied = FrameFilter.builder().denySystems(7).allowComponents(1).build();
+    assertTrue(denied.accepts(SYS_STATUS, 6, 1));
+    assertFalse(denied.accepts(SYS_STATUS, 7, 1));
+    assertFalse(denied.accepts(SYS_STATUS, 6, 2));
+
+    assertThrows(IllegalArgumentException.class, () -> FrameFilter.builder().allowSystems(256));
+    assertThrows(IllegalArgumentException.class, () -> FrameFilter.builder().allowMessageIds(-1));
+  }
+
+  @Test
+  void rejectedFramesAreSkippedInTheFramer() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    frameCodec.setFrameFilter(FrameFilter.builder()
+        .allowMessageIds(HEARTBEAT, ATTITUDE)
+        .denySystems(9)
+        .build());
+
+    ByteBuffer network = ByteBuffer.allocate(4096);
+    List<String> expected = new ArrayList<>();
+    int[][] traffic = {
+        {HEARTBEAT, 1}, {SYS_STATUS, 1}, {ATTITUDE, 1}, {HEARTBEAT, 9}, {ATTITUDE, 2}, {SYS_STATUS, 2}
+    };
+    for (Version version : Version.values()) {
+      for (int[] entry : traffic) {
+        encode(frameCodec, payloadCodec, network, version, entry[0], entry[1]);
+        if (entry[0] != SYS_STATUS && entry[1] != 9) {
+          expected.add(version + ":" + entry[0] + ":" + entry[1]);
+        }
+      }
+    }
+
+    network.flip();
+    List<String> delivered = new ArrayList<>();
+    int count = frameCodec.drainFrames(network, frame ->
+        delivered.add(frame.getVersion() + ":" + frame.getMessageId() + ":" + frame.getSystemId()));
+    assertEquals(expected, delivered);
+    assertEquals(expected.size(), count);
+    assertEquals(6, frameCodec.getFilteredFrameCount());
+    assertEquals(0, frameCodec.getFilteredCrcFailureCount());
+    assertEquals(0, network.position(), "filtered frames are consumed, not left in the buffer");
+
+    frameCodec.setFrameFilter(null);
+    encode(frameCodec, payloadCodec, network, Version.V2, SYS_STATUS, 1);
+    network.flip();
+    assertTrue(frameCodec.tryUnpackFrame(network).isPresent());
+  }
+
+  @Test
+  void crcAuditCountsCorruptFilteredFrames() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    frameCodec.setFrameFilter(FrameFilter.builder().allowMessageIds(HEARTBEAT).verifyCrc(true).build());
+
+    ByteBuffer network = ByteBuffer.allocate(1024);
+    encode(frameCodec, payloadCodec, network, Version.V2, SYS_STATUS, 1);
+    network.put(network.position() - 1, (byte) (network.get(network.position() - 1) ^ 0x5A));
+    encode(frameCodec, payloadCodec, network, Version.V2, SYS_STATUS, 1);
+    encode(frameCodec, payloadCodec, network, Version.V2, HEARTBEAT, 1);
+    network.flip();
+
+    assertEquals(1, frameCodec.drainFrames(network, frame -> assertEquals(HEARTBEAT, frame.getMessageId())));
+    assertEquals(2, frameCodec.getFilteredFrameCount());
+    assertEquals(1, frameCodec.getFilteredCrcFailureCount());
+  }
+
+  private static void encode(MavlinkFrameCodec frameCodec, MavlinkCodec payloadCodec, ByteBuffer out,
+                             Version version, int messageId, int systemId) throws Exception {
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(messageId), ExtensionMode.OMIT_ALL, messageId);
+    frameCodec.encodeFrame(out, version, 0, systemId, 1, messageId, values, false);
+  }
+}
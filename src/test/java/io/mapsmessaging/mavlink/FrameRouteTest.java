@@ -0,0 +1,160 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageLookupTable;
+import io.mapsmessaging.mavlink.message.Version;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameRouteTest {
+
+  @Test
+  void routesEveryMessageFromHeaderAndTargetBytes() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+
+    ByteBuffer network = ByteBuffer.allocate(1 << 17);
+    List<byte[]> frames = new ArrayList<>();
+    List<Map<String, Object>> fieldMaps = new ArrayList<>();
+    for (CompiledMessage message : payloadCodec.getRegistry().getCompiledMessages()) {
+      Map<String, Object> values = RandomValueFactory.buildValues(payloadCodec.getRegistry(), message, ExtensionMode.SOME_PRESENT, message.getMessageId());
+      int start = network.position();
+      network.put((byte) 0x55); // noise between frames
+      int frameStart = network.position();
+      frameCodec.encodeFrame(network, Version.V2, 1, 10, 20, message.getMessageId(), values, false);
+      frames.add(Arrays.copyOfRange(network.array(), frameStart, network.position()));
+      fieldMaps.add(payloadCodec.parsePayload(message.getMessageId(), payloadCodec.encodePayload(message.getMessageId(), values)));
+      assertTrue(network.position() > start);
+    }
+    network.flip();
+
+    FrameRoute route = new FrameRoute();
+    ByteBuffer forwarded = ByteBuffer.allocate(1 << 17);
+    int index = 0;
+    while (frameCodec.tryRoute(network, route)) {
+      Map<String, Object> fields = fieldMaps.get(index);
+      assertEquals(10, route.getSystemId());
+      assertEquals(20, route.getComponentId());
+      assertEquals(expectedTarget(fields, "target_system"), route.getTargetSystem(), "message " + route.getMessageId());
+      assertEquals(expectedTarget(fields, "target_component"), route.getTargetComponent(), "message " + route.getMessageId());
+
+      ByteBuffer copy = ByteBuffer.allocate(route.getFrameLength());
+      route.copyFrameTo(network, copy);
+      assertArrayEquals(frames.get(index), copy.array());
+      assertEquals(ByteBuffer.wrap(frames.get(index)), route.frameView(network));
+      route.copyFrameTo(network, forwarded);
+      index++;
+    }
+    assertEquals(frames.size(), index);
+
+    // The forwarded stream decodes to exactly the original frames
+    forwarded.flip();
+    FrameRoute again = new FrameRoute();
+    int count = 0;
+    while (frameCodec.tryRoute(forwarded, again)) {
+      count++;
+    }
+    assertEquals(frames.size(), count);
+  }
+
+  @Test
+  void addressing_andTruncatedTargetIsBroadcast() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    frameCodec.setTruncateTrailingZeros(true);
+
+    // COMMAND_LONG: target bytes sit after the floats and the command; zero targets are trimmed away
+    Map<String, Object> values = new java.util.HashMap<>(RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(76), ExtensionMode.OMIT_ALL, 1L));
+    values.put("target_system", 0);
+    values.put("target_component", 0);
+    values.put("confirmation", 0);
+    ByteBuffer buffer = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(buffer, Version.V2, 0, 1, 1, 76, values, false);
+    buffer.flip();
+
+    FrameRoute route = new FrameRoute();
+    assertTrue(frameCodec.tryRoute(buffer, route));
+    assertTrue(route.getFrameLength() < 12 + 33);
+    assertEquals(0, route.getTargetSystem());
+    assertTrue(route.isBroadcast());
+
+    route.setTargetSystem(5);
+    route.setTargetComponent(0);
+    assertTrue(route.isAddressedTo(5, 7));
+    assertFalse(route.isAddressedTo(6, 7));
+    route.setTargetComponent(7);
+    assertTrue(route.isAddressedTo(5, 7));
+    assertFalse(route.isAddressedTo(5, 8));
+    route.setTargetSystem(FrameRoute.NO_TARGET);
+    assertTrue(route.isAddressedTo(9, 9));
+
+    MessageLookupTable table = payloadCodec.getRegistry().getLookupTable();
+    assertEquals(MessageLookupTable.UNKNOWN, table.targetSystemOffset(0)); // HEARTBEAT
+    assertEquals(MessageLookupTable.UNKNOWN, table.targetSystemOffset(0x7FFFFF));
+  }
+
+  @Test
+  void frameWithBadCrcIsSkipped() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(0), ExtensionMode.OMIT_ALL, 1L);
+
+    ByteBuffer buffer = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(buffer, Version.V2, 0, 1, 1, 0, values, false);
+    int corruptedEnd = buffer.position();
+    buffer.put(corruptedEnd - 1, (byte) (buffer.get(corruptedEnd - 1) ^ 0xFF));
+    frameCodec.encodeFrame(buffer, Version.V2, 1, 2, 1, 0, values, false);
+    buffer.flip();
+
+    FrameRoute route = new FrameRoute();
+    assertTrue(frameCodec.tryRoute(buffer, route));
+    assertEquals(2, route.getSystemId(), "the corrupted frame is not routed");
+    assertFalse(route.getValidated().isIntegrityFailure());
+    assertFalse(frameCodec.tryRoute(buffer, route));
+
+    route.setValidated(FrameFailureReason.CRC_FAILED);
+    assertFalse(route.isAddressedTo(1, 1));
+  }
+
+  // No such field: NO_TARGET. Absent extension: zero-extended, i.e. broadcast
+  private static int expectedTarget(Map<String, Object> fields, String name) {
+    if (!fields.containsKey(name)) {
+      return FrameRoute.NO_TARGET;
+    }
+    Object value = fields.get(name);
+    return value == null ? 0 : ((Number) value).intValue();
+  }
+}
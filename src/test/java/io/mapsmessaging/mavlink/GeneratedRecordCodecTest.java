@@ -0,0 +1,106 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageRecord;
+import io.mapsmessaging.mavlink.message.MessageRegistry;
+import io.mapsmessaging.mavlink.message.PayloadLayout;
+import io.mapsmessaging.mavlink.message.RecordCodecGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import static io.mapsmessaging.mavlink.MavlinkDialectLoadTest.resourcePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneratedRecordCodecTest {
+
+  @Test
+  void generatedCodecsMatchInterpreter_allMessages() throws Exception {
+    for (String dialect : new String[]{"mavlink/common.xml", "mavlink/ardupilot/all.xml"}) {
+      MavlinkCodec interpreted = MavlinkTestSupport.loadPath(resourcePath(dialect));
+      MavlinkCodec generated = MavlinkTestSupport.loadPath(resourcePath(dialect));
+      MessageRegistry registry = generated.getRegistry();
+
+      long failuresBefore = RecordCodecGenerator.getFailureCount();
+      int installed = generated.enableGeneratedCodecs();
+      assertEquals(registry.getCompiledMessages().size(), installed,
+          () -> dialect + ": " + RecordCodecGenerator.getLastFailure());
+      assertEquals(failuresBefore, RecordCodecGenerator.getFailureCount());
+
+      for (CompiledMessage message : registry.getCompiledMessages()) {
+        int messageId = message.getMessageId();
+        PayloadLayout layout = message.getLayout();
+        assertTrue(layout.isGenerated(), message.getName());
+        assertFalse(interpreted.getRegistry().byId(messageId).getLayout().isGenerated());
+
+        MessageRecord expectedRecord = interpreted.newRecord(messageId);
+        MessageRecord actualRecord = generated.newRecord(messageId);
+        for (ExtensionMode mode : new ExtensionMode[]{ExtensionMode.OMIT_ALL, ExtensionMode.SOME_PRESENT}) {
+          Map<String, Object> values = RandomValueFactory.buildValues(registry, message, mode, messageId * 17L + mode.ordinal());
+          byte[] payload = interpreted.encodePayload(messageId, values);
+
+          for (int length : new int[]{payload.length, Math.max(1, payload.length / 2), 1}) {
+            ByteBuffer prefix = ByteBuffer.wrap(Arrays.copyOf(payload, length));
+            interpreted.decodeRecord(prefix, expectedRecord);
+            generated.decodeRecord(prefix, actualRecord);
+            assertEquals(expectedRecord.toMap(), actualRecord.toMap(), message.getName() + " length " + length);
+          }
+
+          interpreted.decodeRecord(ByteBuffer.wrap(payload), expectedRecord);
+          generated.decodeRecord(ByteBuffer.wrap(payload), actualRecord);
+          ByteBuffer expectedOut = ByteBuffer.allocate(layout.getPayloadSize());
+          ByteBuffer actualOut = ByteBuffer.allocate(layout.getPayloadSize());
+          int expectedLength = interpreted.encodeRecord(expectedRecord, expectedOut);
+          int actualLength = generated.encodeRecord(actualRecord, actualOut);
+
+          assertEquals(expectedLength, actualLength, message.getName());
+          assertArrayEquals(Arrays.copyOf(expectedOut.array(), expectedLength),
+              Arrays.copyOf(actualOut.array(), actualLength), message.getName());
+          assertArrayEquals(payload, Arrays.copyOf(actualOut.array(), actualLength), message.getName());
+        }
+      }
+    }
+  }
+
+  @Test
+  void settingNullCodecRestoresInterpreter() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.loadPath(resourcePath("mavlink/common.xml"));
+    PayloadLayout layout = codec.getRegistry().byId(30).getLayout();
+    codec.enableGeneratedCodecs();
+    assertTrue(layout.isGenerated());
+    layout.setRecordCodec(null);
+    assertFalse(layout.isGenerated());
+  }
+
+  @Test
+  void generationFailureIsRecorded() {
+    long failuresBefore = RecordCodecGenerator.getFailureCount();
+    assertNull(RecordCodecGenerator.tryGenerate(null));
+    assertEquals(failuresBefore + 1, RecordCodecGenerator.getFailureCount());
+    assertNotNull(RecordCodecGenerator.getLastFailure());
+  }
+}
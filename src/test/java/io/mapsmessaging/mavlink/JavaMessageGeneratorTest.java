@@ -0,0 +1,122 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.generator.JavaMessageGenerator;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageRegistry;
+import io.mapsmessaging.mavlink.message.PayloadReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaMessageGeneratorTest {
+
+  private static final String PACKAGE = "generated.mavlink";
+
+  @Test
+  void generatedClassesCompileAndRoundTrip_allCommonMessages(@TempDir Path temp) throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+    MessageRegistry registry = codec.getRegistry();
+    JavaMessageGenerator generator = new JavaMessageGenerator(PACKAGE);
+    Map<String, String> sources = generator.generate(registry, List.of());
+    assertEquals(registry.getCompiledMessages().size(), sources.size());
+
+    try (URLClassLoader loader = compile(generator, sources, temp)) {
+      for (CompiledMessage message : registry.getCompiledMessages()) {
+        Class<?> type = loader.loadClass(PACKAGE + "." + JavaMessageGenerator.className(message.getName()));
+        assertEquals(message.getMessageId(), type.getField("MESSAGE_ID").getInt(null));
+        assertEquals(message.getCrcExtra(), type.getField("CRC_EXTRA").getInt(null));
+        assertEquals(message.getPayloadSizeBytes(), type.getField("PAYLOAD_LENGTH").getInt(null));
+
+        Map<String, Object> values = RandomValueFactory.buildValues(registry, message, ExtensionMode.SOME_PRESENT, message.getMessageId() * 7L);
+        byte[] payload = codec.encodePayload(message.getMessageId(), values);
+
+        Object instance = type.getConstructor().newInstance();
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        type.getMethod("decodeFrom", ByteBuffer.class).invoke(instance, in);
+        assertEquals(payload.length, in.position(), message.getName());
+
+        ByteBuffer out = ByteBuffer.allocate(message.getPayloadSizeBytes() + 2);
+        out.position(2);
+        int written = (int) type.getMethod("encodeTo", ByteBuffer.class).invoke(instance, out);
+        assertEquals(message.getPayloadSizeBytes(), written);
+        assertArrayEquals(Arrays.copyOf(payload, written), Arrays.copyOfRange(out.array(), 2, 2 + written), message.getName());
+      }
+
+      Class<?> paramValue = loader.loadClass(PACKAGE + ".ParamValue");
+      Object instance = paramValue.getConstructor().newInstance();
+      paramValue.getMethod("setParamId", String.class).invoke(instance, "SYSID_THISMAV");
+      paramValue.getMethod("setParamValue", float.class).invoke(instance, 1.5f);
+      ByteBuffer out = ByteBuffer.allocate(64);
+      paramValue.getMethod("encodeTo", ByteBuffer.class).invoke(instance, out);
+      out.flip();
+      Map<String, Object> decoded = codec.parsePayload(22, Arrays.copyOf(out.array(), out.limit()));
+      assertEquals("SYSID_THISMAV", decoded.get("param_id"));
+      assertEquals(1.5f, decoded.get("param_value"));
+    }
+  }
+
+  @Test
+  void selectedMessagesOnly_andUnknownNameRejected() throws Exception {
+    MessageRegistry registry = MavlinkTestSupport.codec().getRegistry();
+    JavaMessageGenerator generator = new JavaMessageGenerator(PACKAGE);
+    Map<String, String> sources = generator.generate(registry, List.of("HEARTBEAT", "GPS_RAW_INT"));
+    assertEquals(List.of("Heartbeat", "GpsRawInt"), new ArrayList<>(sources.keySet()));
+    assertThrows(IllegalArgumentException.class, () -> generator.generate(registry, List.of("NOT_A_MESSAGE")));
+  }
+
+  private static URLClassLoader compile(JavaMessageGenerator generator, Map<String, String> sources, Path temp) throws Exception {
+    Path sourceDir = temp.resolve("src");
+    Path classDir = temp.resolve("classes");
+    Files.createDirectories(classDir);
+    generator.write(sources, sourceDir);
+
+    List<String> arguments = new ArrayList<>(List.of(
+        "-d", classDir.toString(),
+        "-classpath", Path.of(PayloadReader.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString(),
+        "-proc:none", "-Xlint:none", "-nowarn"));
+    try (Stream<Path> files = Files.walk(sourceDir)) {
+      files.filter(path -> path.toString().endsWith(".java")).map(Path::toString).forEach(arguments::add);
+    }
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    assertNotNull(compiler, "a JDK is required to compile generated sources");
+    assertEquals(0, compiler.run(null, null, System.err, arguments.toArray(new String[0])));
+    return new URLClassLoader(new URL[]{classDir.toUri().toURL()},
+        JavaMessageGeneratorTest.class.getClassLoader());
+  }
+}
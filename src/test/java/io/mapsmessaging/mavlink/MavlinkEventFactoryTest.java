@@ -26,11 +26,14 @@ import io.mapsmessaging.mavlink.context.FrameFailureReason;
 import io.mapsmessaging.mavlink.message.CompiledMessage;
 import io.mapsmessaging.mavlink.message.Frame;
 import io.mapsmessaging.mavlink.message.MessageRegistry;
+import io.mapsmessaging.mavlink.message.Version;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -79,7 +82,7 @@ class MavlinkEventFactoryTest {
 
     CompiledMessage compiledMessage = mock(CompiledMessage.class);
     when(compiledMessage.getName()).thenReturn("HEARTBEAT");
-    when(registry.getCompiledMessagesById()).thenReturn(Map.of(messageId, compiledMessage));
+    when(registry.byId(messageId)).thenReturn(compiledMessage);
 
     List<Detection> detections = List.of(mock(Detection.class));
     when(frame.getValidated()).thenReturn(FrameFailureReason.OK);
@@ -95,7 +98,12 @@ class MavlinkEventFactoryTest {
     // Adjust getter names if your ProcessedFrame uses different ones.
     assertEquals("HEARTBEAT", result.getMessageName());
     assertSame(frame, result.getFrame());
+    // Payload is decoded on first access only, then memoised
+    assertFalse(result.isDecoded());
+    verify(frameCodec, never()).parsePayload(frame);
     assertEquals(Map.of("a", 1, "b", "x"), result.getFields());
+    assertEquals(Map.of("a", 1, "b", "x"), result.getFields());
+    verify(frameCodec, times(1)).parsePayload(frame);
     assertTrue(result.isValid());
     assertEquals(detections, result.getDetections());
 
@@ -116,14 +124,13 @@ class MavlinkEventFactoryTest {
     int systemId = 9;
 
     when(frameCodec.tryUnpackFrame(payload)).thenReturn(Optional.of(frame));
-    when(frameCodec.parsePayload(frame)).thenReturn(Map.of("shouldNot", "matter"));
     when(frameCodec.getRegistry()).thenReturn(registry);
 
     when(frame.getMessageId()).thenReturn(messageId);
     when(frame.getSystemId()).thenReturn(systemId);
 
     // No compiled message found -> name should stay ""
-    when(registry.getCompiledMessagesById()).thenReturn(Map.of());
+    when(registry.byId(messageId)).thenReturn(null);
 
     when(frame.getValidated()).thenReturn(FrameFailureReason.CRC_FAILED);
 
@@ -142,6 +149,7 @@ class MavlinkEventFactoryTest {
     assertEquals("", result.getMessageName());
     assertSame(frame, result.getFrame());
     assertEquals(Map.of(), result.getFields());
+    verify(frameCodec, never()).parsePayload(frame);
     assertFalse(result.isValid());
     assertEquals(detections, result.getDetections());
 
@@ -149,4 +157,47 @@ class MavlinkEventFactoryTest {
         .onInvalidFrame(eq(systemId), eq("streamA"), anyLong(), eq(FrameFailureReason.CRC_FAILED));
     verify(systemContextManager, never()).onValidatedFrame(any(), anyString(), anyLong());
   }
+
+  @Test
+  void unpack_realCodec_viewReadsWithoutDecodingFields() throws Exception {
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(MavlinkTestSupport.codec());
+    MavlinkEventFactory factory = new MavlinkEventFactory(frameCodec, new SystemContextManager());
+
+    Map<String, Object> values = Map.of("custom_mode", 77L, "type", 2, "autopilot", 3,
+        "base_mode", 0, "system_status", 4, "mavlink_version", 3);
+    ByteBuffer network = ByteBuffer.allocate(64);
+    frameCodec.encodeFrame(network, Version.V2, 0, 1, 1, 0, values, false);
+    network.flip();
+
+    ProcessedFrame result = factory.unpack("streamA", network).orElseThrow();
+    assertEquals("HEARTBEAT", result.getMessageName());
+    assertEquals(77L, result.getView().getLong("custom_mode"));
+    assertSame(result.getView(), result.getView());
+    assertFalse(result.isDecoded());
+    assertEquals(4, result.getFields().get("system_status"));
+    assertTrue(result.isDecoded());
+  }
+
+  @Test
+  void processedFrame_nullEagerFieldsReadAsEmpty() {
+    ProcessedFrame processed = new ProcessedFrame("X", new Frame(), null, false, List.of());
+    assertTrue(processed.isDecoded());
+    assertEquals(Map.of(), processed.getFields());
+  }
+
+  @Test
+  void processedFrame_equalityDoesNotDecode() {
+    Frame frame = new Frame();
+    frame.setPayload(new byte[]{1, 2, 3});
+    ProcessedFrame.FieldDecoder failing = f -> {
+      throw new IOException("undecodable");
+    };
+    ProcessedFrame first = new ProcessedFrame("X", frame, null, failing, false, List.of());
+    ProcessedFrame second = new ProcessedFrame("X", frame, null, failing, false, List.of());
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertTrue(new HashSet<>(List.of(first, second)).contains(first));
+    assertFalse(first.isDecoded());
+  }
 }
@@ -0,0 +1,172 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.context.PipelineConfig;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.Version;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MavlinkPipelineTest {
+
+  private static final int SYSTEMS = 5;
+  private static final int FRAMES_PER_SYSTEM = 250; // below the 8-bit sequence wrap
+
+  @Test
+  void framesFlowThroughAllStagesWithSequenceOrderKept() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    SystemContextManager contextManager = new SystemContextManager();
+    MavlinkEventFactory factory = new MavlinkEventFactory(frameCodec, contextManager);
+
+    PipelineConfig config = new PipelineConfig();
+    config.setParseThreads(4);
+    config.setSequenceThreads(2);
+    config.setQueueCapacity(16); // small, so submit has to wait on the downstream stages
+    Queue<ProcessedFrame> received = new ConcurrentLinkedQueue<>();
+
+    Map<String, Object> values = new HashMap<>(RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(30), ExtensionMode.OMIT_ALL, 1L));
+    MavlinkPipeline pipeline = factory.createPipeline(config, received::add);
+    ByteBuffer network = ByteBuffer.allocate(64 * 1024);
+    int queued = 0;
+    for (int sequence = 0; sequence < FRAMES_PER_SYSTEM; sequence++) {
+      values.put("time_boot_ms", (long) sequence); // distinct payloads, so sequence wrap is not a duplicate
+      for (int system = 1; system <= SYSTEMS; system++) {
+        frameCodec.encodeFrame(network, Version.V2, sequence & 0xFF, system, 1, 30, values, false);
+      }
+      if (sequence % 50 == 49) {
+        network.flip();
+        queued += pipeline.submit("udp", network);
+      }
+    }
+    pipeline.close();
+
+    assertEquals(SYSTEMS * FRAMES_PER_SYSTEM, queued);
+    assertEquals(SYSTEMS * FRAMES_PER_SYSTEM, received.size());
+    for (ProcessedFrame frame : received) {
+      assertTrue(frame.isValid());
+      assertTrue(frame.isDecoded(), "payload decoded on the parse stage");
+      assertEquals(values.get("roll"), frame.getFields().get("roll"));
+      // Any reordering within a system would show up as a sequence detection
+      assertTrue(frame.getDetections().isEmpty(), () -> frame.getDetections().toString());
+    }
+    assertEquals(0, pipeline.getSinkFailures());
+    assertThrows(IllegalStateException.class, () -> pipeline.submit("udp", ByteBuffer.allocate(8)));
+  }
+
+  @Test
+  void failingFramesAreCountedAndDoNotStallTheStages() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    MavlinkEventFactory factory = new MavlinkEventFactory(frameCodec, new SystemContextManager()) {
+      @Override
+      ProcessedFrame process(String streamName, Frame frame, long timestamp) {
+        if (frame.getSystemId() == 2) {
+          throw new IllegalStateException("bad frame");
+        }
+        return super.process(streamName, frame, timestamp);
+      }
+    };
+
+    PipelineConfig config = new PipelineConfig();
+    config.setParseThreads(1);
+    config.setSequenceThreads(1);
+    config.setQueueCapacity(4); // a dead stage thread would fill this and block submit
+    Queue<ProcessedFrame> received = new ConcurrentLinkedQueue<>();
+    MavlinkPipeline pipeline = factory.createPipeline(config, frame -> {
+      if (frame.getFrame().getSystemId() == 3) {
+        throw new AssertionError("sink error");
+      }
+      received.add(frame);
+    });
+
+    Map<String, Object> values = new HashMap<>(RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(30), ExtensionMode.OMIT_ALL, 1L));
+    ByteBuffer network = ByteBuffer.allocate(64 * 1024);
+    for (int sequence = 0; sequence < 100; sequence++) {
+      values.put("time_boot_ms", (long) sequence);
+      for (int system = 1; system <= 3; system++) {
+        frameCodec.encodeFrame(network, Version.V2, sequence, system, 1, 30, values, false);
+      }
+    }
+    network.flip();
+    assertEquals(300, pipeline.submit("udp", network));
+    pipeline.close();
+
+    assertEquals(100, received.size());
+    assertEquals(200, pipeline.getStageFailures());
+  }
+
+  @Test
+  void boundedQueueUnderContention() throws Exception {
+    BoundedMpmcQueue<Long> queue = new BoundedMpmcQueue<>(100);
+    assertEquals(128, queue.capacity());
+    int producers = 4;
+    int perProducer = 50_000;
+    AtomicLong sum = new AtomicLong();
+    AtomicLong count = new AtomicLong();
+    Thread[] threads = new Thread[producers * 2];
+    for (int p = 0; p < producers; p++) {
+      long base = (long) p * perProducer;
+      threads[p] = new Thread(() -> {
+        for (int i = 1; i <= perProducer; i++) {
+          queue.put(base + i);
+        }
+      });
+      threads[producers + p] = new Thread(() -> {
+        int idle = 0;
+        while (count.get() < (long) producers * perProducer) {
+          Long value = queue.poll();
+          if (value == null) {
+            idle = BoundedMpmcQueue.backoff(idle);
+            continue;
+          }
+          sum.addAndGet(value);
+          count.incrementAndGet();
+        }
+      });
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    long n = (long) producers * perProducer;
+    assertEquals(n, count.get());
+    assertEquals(n * (n + 1) / 2, sum.get());
+    assertTrue(queue.isEmpty());
+    assertNull(queue.poll());
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageRecord;
+import io.mapsmessaging.mavlink.message.MessageRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
+
+import static io.mapsmessaging.mavlink.MavlinkDialectLoadTest.resourcePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageRecordDecodeTest {
+
+  @Test
+  void recordMatchesMapParser_allMessages_allTruncations() throws Exception {
+    for (MavlinkCodec codec : new MavlinkCodec[]{
+        MavlinkTestSupport.codec(),
+        MavlinkTestSupport.loadPath(resourcePath("mavlink/ardupilot/all.xml"))}) {
+      MessageRegistry registry = codec.getRegistry();
+      for (CompiledMessage message : registry.getCompiledMessages()) {
+        MessageRecord record = codec.newRecord(message.getMessageId());
+        for (ExtensionMode mode : new ExtensionMode[]{ExtensionMode.OMIT_ALL, ExtensionMode.SOME_PRESENT}) {
+          Map<String, Object> values = RandomValueFactory.buildValues(registry, message, mode, message.getMessageId() * 31L);
+          byte[] payload = codec.encodePayload(message.getMessageId(), values);
+
+          for (int length = payload.length; length >= 1; length--) {
+            byte[] prefix = Arrays.copyOf(payload, length);
+            Map<String, Object> expected = codec.parsePayload(message.getMessageId(), prefix);
+
+            // Offset, big-endian buffer: the decoder must use absolute little-endian reads from position
+            ByteBuffer buffer = ByteBuffer.allocate(length + 3).order(ByteOrder.BIG_ENDIAN);
+            buffer.position(3);
+            buffer.put(prefix);
+            buffer.position(3);
+            codec.decodeRecord(buffer, record);
+
+            assertEquals(expected, record.toMap(), message.getName() + " length " + length);
+            assertEquals(3, buffer.position());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void typedAccessors() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+    Map<String, Object> values = Map.of(
+        "time_boot_ms", 4_000_000_000L,
+        "roll", 0.5f,
+        "pitch", -0.25f,
+        "yaw", 1.0f,
+        "rollspeed", 0f,
+        "pitchspeed", 0f,
+        "yawspeed", 0f
+    );
+    byte[] payload = codec.encodePayload(30, values); // ATTITUDE
+
+    MessageRecord record = codec.newRecord(30);
+    codec.decodeRecord(ByteBuffer.wrap(payload), record);
+
+    int roll = record.getLayout().indexOf("roll");
+    assertEquals(0.5, record.getDouble(roll));
+    assertEquals(-0.25, record.getDouble("pitch"));
+    assertEquals(4_000_000_000L, record.getLong("time_boot_ms"));
+    assertThrows(IllegalArgumentException.class, () -> record.getLong("no_such_field"));
+    assertThrows(IndexOutOfBoundsException.class, () -> record.getDouble(roll, 1));
+  }
+}
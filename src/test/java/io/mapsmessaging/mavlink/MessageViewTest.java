@@ -0,0 +1,119 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.MessageRecord;
+import io.mapsmessaging.mavlink.message.MessageView;
+import io.mapsmessaging.mavlink.message.PayloadLayout;
+import io.mapsmessaging.mavlink.message.Version;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageViewTest {
+
+  @Test
+  void viewMatchesRecord_everyFieldAndElement_allMessages() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+    MessageView view = new MessageView();
+
+    for (CompiledMessage message : codec.getRegistry().getCompiledMessages()) {
+      Map<String, Object> values = RandomValueFactory.buildValues(codec.getRegistry(), message, ExtensionMode.SOME_PRESENT, 7L * message.getMessageId());
+      byte[] payload = codec.encodePayload(message.getMessageId(), values);
+      // Drop a few trailing bytes to exercise zero-extension of partial fields
+      int length = Math.max(1, payload.length - (message.getMessageId() % 5));
+
+      MessageRecord record = codec.newRecord(message.getMessageId());
+      codec.decodeRecord(ByteBuffer.wrap(payload, 0, length), record);
+      view.wrap(message, Arrays.copyOf(payload, length), length);
+
+      PayloadLayout layout = message.getLayout();
+      for (int field = 0; field < layout.getFieldCount(); field++) {
+        assertEquals(record.isPresent(field), view.isPresent(field), message.getName());
+        if (!record.isPresent(field)) {
+          continue;
+        }
+        if (layout.kind(field) == PayloadLayout.SlotKind.STRING) {
+          assertEquals(record.getString(field), view.getString(field));
+          continue;
+        }
+        for (int element = 0; element < view.getElementCount(field); element++) {
+          assertEquals(record.getLong(field, element), view.getLong(field, element), message.getName() + "." + layout.name(field));
+          assertEquals(Double.doubleToLongBits(record.getDouble(field, element)),
+              Double.doubleToLongBits(view.getDouble(field, element)), message.getName() + "." + layout.name(field));
+        }
+      }
+    }
+  }
+
+  @Test
+  void uint64AboveLongMaxReadsAsUnsignedDouble() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+    CompiledMessage message = codec.getRegistry().byId(2); // SYSTEM_TIME
+    byte[] payload = new byte[12];
+    ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN).putLong(0, 0x8000000000000801L);
+
+    MessageView view = new MessageView();
+    view.wrap(message, payload, payload.length);
+    MessageRecord record = codec.newRecord(message.getMessageId());
+    codec.decodeRecord(ByteBuffer.wrap(payload), record);
+
+    double expected = 9.223372036854777856E18; // 2^63 + 2^11
+    assertEquals(expected, view.getDouble("time_unix_usec"));
+    assertEquals(record.getDouble(view.indexOf("time_unix_usec"), 0), view.getDouble("time_unix_usec"));
+  }
+
+  @Test
+  void viewOverZeroCopyFrame() throws Exception {
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(MavlinkTestSupport.codec());
+    Frame frame = new Frame();
+    frame.setVersion(Version.V2);
+    frame.setSystemId(1);
+    frame.setComponentId(1);
+    frameCodec.encodePayloadIntoFrame(frame, 0, Map.of(
+        "type", 2, "autopilot", 3, "base_mode", 81, "custom_mode", 65536L, "system_status", 4, "mavlink_version", 3));
+
+    ByteBuffer network = ByteBuffer.allocate(64);
+    frameCodec.packFrame(network, frame);
+    network.flip();
+
+    Optional<MavlinkFrameView> frameView = frameCodec.tryUnpackHeaderAndPayloadView(network);
+    assertTrue(frameView.isPresent());
+
+    MessageView view = frameCodec.bindView(frameView.get(), new MessageView());
+    assertEquals(0, view.getMessageId());
+    assertEquals(81, view.getLong("base_mode"));
+    assertEquals(65536L, view.getLong(view.indexOf("custom_mode")));
+    assertEquals(3.0, view.getDouble("autopilot"));
+    assertThrows(IllegalArgumentException.class, () -> view.getString("type"));
+  }
+}
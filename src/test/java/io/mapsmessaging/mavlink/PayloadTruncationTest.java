@@ -0,0 +1,133 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.Version;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadTruncationTest {
+
+  @Test
+  void truncatedFramesDecodeToSameValues_allMessages() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    frameCodec.setTruncateTrailingZeros(true);
+
+    for (CompiledMessage message : payloadCodec.getRegistry().getCompiledMessages()) {
+      for (ExtensionMode mode : new ExtensionMode[]{ExtensionMode.OMIT_ALL, ExtensionMode.SOME_PRESENT}) {
+        Map<String, Object> values = RandomValueFactory.buildValues(payloadCodec.getRegistry(), message, mode, message.getMessageId());
+        byte[] payload = payloadCodec.encodePayload(message.getMessageId(), values);
+        Map<String, Object> expected = payloadCodec.parsePayload(message.getMessageId(), payload);
+
+        Frame frame = new Frame();
+        frame.setVersion(Version.V2);
+        frame.setMessageId(message.getMessageId());
+        frame.setPayload(payload);
+        frame.setPayloadLength(payload.length);
+
+        ByteBuffer network = ByteBuffer.allocate(300);
+        frameCodec.packFrame(network, frame);
+        assertTrue(frame.getPayloadLength() >= 1);
+        assertTrue(frame.getPayloadLength() <= payload.length);
+
+        network.flip();
+        Optional<Frame> decoded = frameCodec.tryUnpackFrame(network);
+        assertTrue(decoded.isPresent(), message.getName());
+        assertSameOrTruncatedExtension(expected, frameCodec.parsePayload(decoded.get()), message.getName());
+      }
+    }
+  }
+
+  // A trailing extension that was all zero is indistinguishable from one that was never sent
+  private static void assertSameOrTruncatedExtension(Map<String, Object> expected, Map<String, Object> actual, String name) {
+    assertEquals(expected.keySet(), actual.keySet(), name);
+    for (Map.Entry<String, Object> entry : expected.entrySet()) {
+      Object actualValue = actual.get(entry.getKey());
+      if (actualValue == null && entry.getValue() != null) {
+        assertTrue(isZero(entry.getValue()), name + "." + entry.getKey());
+      } else {
+        assertEquals(entry.getValue(), actualValue, name + "." + entry.getKey());
+      }
+    }
+  }
+
+  private static boolean isZero(Object value) {
+    if (value instanceof Number number) {
+      return number.doubleValue() == 0.0;
+    }
+    if (value instanceof String text) {
+      return text.isEmpty();
+    }
+    if (value instanceof List<?> list) {
+      return list.stream().allMatch(PayloadTruncationTest::isZero);
+    }
+    return false;
+  }
+
+  @Test
+  void sparseMessageIsShorterOnTheWire_andPartialFieldsAreZeroExtended() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+
+    // HEARTBEAT: custom_mode (uint32) is first on the wire, mavlink_version (uint8) last
+    Map<String, Object> values = new HashMap<>();
+    values.put("custom_mode", 0x0105L);
+    values.put("type", 0);
+    values.put("autopilot", 0);
+    values.put("base_mode", 0);
+    values.put("system_status", 0);
+    values.put("mavlink_version", 0);
+
+    Frame frame = new Frame();
+    frame.setVersion(Version.V2);
+    frameCodec.encodePayloadIntoFrame(frame, 0, values);
+    assertEquals(9, frame.getPayloadLength());
+
+    ByteBuffer full = ByteBuffer.allocate(64);
+    frameCodec.packFrame(full, frame);
+
+    frameCodec.setTruncateTrailingZeros(true);
+    frame.setPayloadLength(9);
+    ByteBuffer truncated = ByteBuffer.allocate(64);
+    frameCodec.packFrame(truncated, frame);
+    assertEquals(2, frame.getPayloadLength());
+    assertEquals(full.position() - 7, truncated.position());
+
+    truncated.flip();
+    Frame decoded = frameCodec.tryUnpackFrame(truncated).orElseThrow();
+    Map<String, Object> fields = frameCodec.parsePayload(decoded);
+    assertEquals(0x0105L, ((Number) fields.get("custom_mode")).longValue());
+    assertEquals(0, ((Number) fields.get("mavlink_version")).intValue());
+  }
+}
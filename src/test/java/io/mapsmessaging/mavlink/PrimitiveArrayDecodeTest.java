@@ -0,0 +1,115 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.JsonValuesExtractor;
+import io.mapsmessaging.mavlink.message.CompiledField;
+import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageRecord;
+import io.mapsmessaging.mavlink.message.fields.FieldDefinition;
+import io.mapsmessaging.mavlink.message.fields.WireType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveArrayDecodeTest {
+
+  private static final int SYSTEM_TIME = 2;
+
+  @Test
+  void primitiveArraysMatchListDecode_allMessages() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+    for (CompiledMessage message : codec.getRegistry().getCompiledMessages()) {
+      Map<String, Object> values = RandomValueFactory.buildValues(codec.getRegistry(), message, ExtensionMode.SOME_PRESENT, message.getMessageId());
+      byte[] payload = codec.encodePayload(message.getMessageId(), values);
+
+      Map<String, Object> lists = codec.parsePayload(message.getMessageId(), payload);
+      Map<String, Object> arrays = codec.parsePayloadWithPrimitiveArrays(message.getMessageId(), ByteBuffer.wrap(payload));
+      assertEquals(lists.keySet(), arrays.keySet());
+
+      for (CompiledField field : message.getCompiledFields()) {
+        FieldDefinition definition = field.getFieldDefinition();
+        Object listValue = lists.get(definition.getName());
+        Object arrayValue = arrays.get(definition.getName());
+        if (!definition.isArray() || definition.getWireType() == WireType.CHAR || listValue == null) {
+          assertEquals(listValue, arrayValue, message.getName() + "." + definition.getName());
+          continue;
+        }
+        assertEquals(expectedArrayType(definition.getWireType()), arrayValue.getClass(), definition.getName());
+        List<?> list = (List<?>) listValue;
+        assertEquals(list.size(), java.lang.reflect.Array.getLength(arrayValue));
+        for (int i = 0; i < list.size(); i++) {
+          Number expected = (Number) list.get(i);
+          Number actual = (Number) java.lang.reflect.Array.get(arrayValue, i);
+          assertEquals(expected.doubleValue(), actual.doubleValue(), message.getName() + "." + definition.getName() + "[" + i + "]");
+        }
+      }
+      // Primitive arrays re-encode to the same payload
+      assertArrayEquals(payload, codec.encodePayload(message.getMessageId(), arrays), message.getName());
+    }
+  }
+
+  @Test
+  void uint64AboveLongMaxKeepsUnsignedValue() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+    BigInteger max = new BigInteger("18446744073709551615");
+    byte[] payload = codec.encodePayload(SYSTEM_TIME, Map.of("time_unix_usec", max, "time_boot_ms", 7L));
+
+    Map<String, Object> decoded = codec.parsePayload(SYSTEM_TIME, payload);
+    assertEquals(max, decoded.get("time_unix_usec"));
+
+    MessageRecord record = codec.newRecord(SYSTEM_TIME);
+    codec.decodeRecord(ByteBuffer.wrap(payload), record);
+    assertEquals(decoded, record.toMap());
+    assertEquals(-1L, record.getLong("time_unix_usec"));
+
+    // Through JSON and back: the unsigned value survives and re-encodes to the same bits
+    Gson gson = new Gson();
+    JsonObject json = gson.fromJson(gson.toJson(decoded), JsonObject.class);
+    assertEquals("18446744073709551615", json.get("time_unix_usec").getAsString());
+    Map<String, Object> fromJson = new JsonValuesExtractor().extractValues(json, codec.getRegistry().byId(SYSTEM_TIME));
+    assertArrayEquals(payload, codec.encodePayload(SYSTEM_TIME, fromJson));
+
+    byte[] small = codec.encodePayload(SYSTEM_TIME, Map.of("time_unix_usec", 5L, "time_boot_ms", 7L));
+    assertEquals(5L, codec.parsePayload(SYSTEM_TIME, small).get("time_unix_usec"));
+  }
+
+  private static Class<?> expectedArrayType(WireType wireType) {
+    return switch (wireType) {
+      case INT8 -> byte[].class;
+      case UINT8, INT16 -> short[].class;
+      case UINT16, INT32 -> int[].class;
+      case UINT32, INT64, UINT64 -> long[].class;
+      case FLOAT -> float[].class;
+      case DOUBLE -> double[].class;
+      case CHAR -> String.class;
+    };
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveArrayEncodeTest {
+
+  private static final int OBSTACLE_DISTANCE = 330;
+  private static final int FILE_TRANSFER_PROTOCOL = 110;
+
+  @Test
+  void primitiveArraysEncodeLikeLists() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+
+    short[] shorts = new short[72];
+    int[] ints = new int[72];
+    List<Object> list = new ArrayList<>();
+    for (int i = 0; i < 72; i++) {
+      int distance = 60000 + i; // above Short.MAX_VALUE: the unsigned bit pattern must survive
+      shorts[i] = (short) distance;
+      ints[i] = distance;
+      list.add(distance);
+    }
+
+    byte[] fromList = codec.encodePayload(OBSTACLE_DISTANCE, obstacleValues(list));
+    assertArrayEquals(fromList, codec.encodePayload(OBSTACLE_DISTANCE, obstacleValues(shorts)));
+    assertArrayEquals(fromList, codec.encodePayload(OBSTACLE_DISTANCE, obstacleValues(ints)));
+
+    Map<String, Object> decoded = codec.parsePayload(OBSTACLE_DISTANCE, fromList);
+    assertEquals(list, decoded.get("distances"));
+    assertEquals(Integer.class, ((List<?>) decoded.get("distances")).get(0).getClass());
+  }
+
+  @Test
+  void shortArrayIsZeroFilledWithoutShiftingLaterFields() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+
+    for (Object distances : new Object[]{List.of(1, 2, 3), new int[]{1, 2, 3}}) {
+      Map<String, Object> decoded = codec.parsePayload(OBSTACLE_DISTANCE,
+          codec.encodePayload(OBSTACLE_DISTANCE, obstacleValues(distances)));
+
+      List<?> values = (List<?>) decoded.get("distances");
+      assertEquals(72, values.size());
+      assertEquals(List.of(1, 2, 3, 0), values.subList(0, 4));
+      assertEquals(0, values.get(71));
+      assertEquals(20, decoded.get("min_distance"));
+      assertEquals(4000, decoded.get("max_distance"));
+    }
+  }
+
+  @Test
+  void byteArrayPayloadIsWrittenInBulk() throws Exception {
+    MavlinkCodec codec = MavlinkTestSupport.codec();
+    byte[] data = new byte[100];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i * 3);
+    }
+    Map<String, Object> values = new HashMap<>();
+    values.put("target_network", 0);
+    values.put("target_system", 1);
+    values.put("target_component", 2);
+    values.put("payload", data);
+
+    byte[] payload = codec.encodePayload(FILE_TRANSFER_PROTOCOL, values);
+    assertEquals(254, payload.length);
+    List<?> decoded = (List<?>) codec.parsePayload(FILE_TRANSFER_PROTOCOL, payload).get("payload");
+    assertEquals(251, decoded.size());
+    for (int i = 0; i < 251; i++) {
+      assertEquals(i < data.length ? Byte.toUnsignedInt(data[i]) : 0, decoded.get(i), "element " + i);
+    }
+  }
+
+  private static Map<String, Object> obstacleValues(Object distances) {
+    Map<String, Object> values = new HashMap<>();
+    values.put("time_usec", 1L);
+    values.put("sensor_type", 0);
+    values.put("distances", distances);
+    values.put("increment", 5);
+    values.put("min_distance", 20);
+    values.put("max_distance", 4000);
+    return values;
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.context.DetectionSeverity;
+import io.mapsmessaging.mavlink.context.DetectionType;
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.framing.MonotonicSigningContext;
+import io.mapsmessaging.mavlink.framing.SigningContext;
+import io.mapsmessaging.mavlink.framing.SigningTimestampTable;
+import io.mapsmessaging.mavlink.message.Version;
+import io.mapsmessaging.mavlink.signing.StaticSigningKeyProvider;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayProtectionTest {
+
+  @Test
+  void timestampsMustIncreasePerLink() {
+    SigningTimestampTable table = new SigningTimestampTable();
+    assertEquals(-1L, table.lastTimestamp(1, 1, 0));
+    assertTrue(table.accept(1, 1, 0, 0L, 0L));
+    assertFalse(table.accept(1, 1, 0, 0L, 0L));
+    assertTrue(table.accept(1, 1, 0, 10L, 0L));
+    assertFalse(table.accept(1, 1, 0, 9L, 0L));
+
+    // Other links, components and systems are independent
+    assertTrue(table.accept(1, 1, 1, 5L, 0L));
+    assertTrue(table.accept(1, 2, 0, 5L, 0L));
+    assertTrue(table.accept(2, 1, 0, 5L, 0L));
+    assertEquals(10L, table.lastTimestamp(1, 1, 0));
+
+    table.accept(2, 1, 0, 6L, 1_000L);
+    assertEquals(2, table.sweep(1_500L, 1_000L));
+    assertEquals(-1L, table.lastTimestamp(1, 1, 0));
+    assertEquals(6L, table.lastTimestamp(2, 1, 0));
+    assertTrue(table.accept(1, 1, 0, 1L, 2_000L), "swept link starts a new stream");
+  }
+
+  @Test
+  void concurrentAcceptAndSweep() throws Exception {
+    SigningTimestampTable table = new SigningTimestampTable();
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread sweeper = new Thread(() -> {
+      while (running.get()) {
+        table.sweep(1_000L, 500L);
+      }
+    });
+    sweeper.start();
+
+    // Fresh entries (now = 1000) are never stale for this sweep, so every accepted timestamp must stick
+    Thread[] accepters = new Thread[4];
+    for (int t = 0; t < accepters.length; t++) {
+      int system = t + 1;
+      accepters[t] = new Thread(() -> {
+        try {
+          for (int round = 1; round <= 200; round++) {
+            for (int component = 0; component < 256; component++) {
+              assertTrue(table.accept(system, component, 0, round, 1_000L));
+              assertFalse(table.accept(system, component, 0, round, 1_000L), "replay accepted");
+            }
+          }
+          // Stale entries (now = 0) are swept continuously: accept must never fail on a vanished entry
+          for (int round = 1; round <= 200; round++) {
+            table.accept(system + 100, round & 0xFF, 0, round, 0L);
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        }
+      });
+      accepters[t].start();
+    }
+    for (Thread accepter : accepters) {
+      accepter.join();
+    }
+    running.set(false);
+    sweeper.join();
+    assertNull(failure.get(), () -> String.valueOf(failure.get()));
+    for (int system = 1; system <= accepters.length; system++) {
+      assertEquals(200L, table.lastTimestamp(system, 255, 0));
+    }
+  }
+
+  @Test
+  void replayedSignedFrameIsRejectedAndDetected() throws Exception {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x23);
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec, new StaticSigningKeyProvider(key));
+    SigningTimestampTable table = new SigningTimestampTable();
+    frameCodec.setSigningTimestampTable(table);
+    MavlinkEventFactory factory = new MavlinkEventFactory(frameCodec, new SystemContextManager());
+
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(0), ExtensionMode.OMIT_ALL, 3L);
+    ByteBuffer encoded = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(encoded, Version.V2, 7, 4, 1, 0, values, true);
+    byte[] frame = Arrays.copyOf(encoded.array(), encoded.position());
+
+    ProcessedFrame first = factory.unpack("udp", ByteBuffer.wrap(frame)).orElseThrow();
+    assertTrue(first.isValid());
+    assertEquals(FrameFailureReason.OK, first.getFrame().getValidated());
+
+    ProcessedFrame replayed = factory.unpack("udp", ByteBuffer.wrap(frame)).orElseThrow();
+    assertFalse(replayed.isValid());
+    assertEquals(FrameFailureReason.REPLAYED, replayed.getFrame().getValidated());
+    assertEquals(1, replayed.getDetections().size());
+    assertEquals(DetectionType.SIGNATURE_REPLAY, replayed.getDetections().get(0).getType());
+    assertEquals(DetectionSeverity.ALERT, replayed.getDetections().get(0).getSeverity());
+
+    // Without the table the same bytes are accepted again
+    frameCodec.setSigningTimestampTable(null);
+    assertEquals(FrameFailureReason.OK, factory.unpack("udp", ByteBuffer.wrap(frame)).orElseThrow().getFrame().getValidated());
+  }
+
+  @Test
+  void replayProtectionIsOptIn() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    assertNull(new MavlinkFrameCodec(payloadCodec).getSigningTimestampTable());
+    assertNull(new MavlinkFrameCodec(payloadCodec, new StaticSigningKeyProvider(new byte[32])).getSigningTimestampTable());
+  }
+
+  @Test
+  void rewrittenTimestampOrLinkIdFailsTheSignature() throws Exception {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x23);
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec, new StaticSigningKeyProvider(key));
+    frameCodec.setSigningTimestampTable(new SigningTimestampTable());
+    MavlinkEventFactory factory = new MavlinkEventFactory(frameCodec, new SystemContextManager());
+
+    byte[] frame = encodeSigned(payloadCodec, frameCodec);
+    int signatureIndex = frame.length - 13;
+
+    byte[] forgedTimestamp = frame.clone();
+    Arrays.fill(forgedTimestamp, signatureIndex + 1, signatureIndex + 7, (byte) 0xFF);
+    assertEquals(FrameFailureReason.SIGNATURE_FAILED,
+        factory.unpack("udp", ByteBuffer.wrap(forgedTimestamp)).orElseThrow().getFrame().getValidated());
+
+    byte[] forgedLink = frame.clone();
+    forgedLink[signatureIndex] ^= 0x01;
+    assertEquals(FrameFailureReason.SIGNATURE_FAILED,
+        factory.unpack("udp", ByteBuffer.wrap(forgedLink)).orElseThrow().getFrame().getValidated());
+
+    // The forgeries left the link untouched, so the genuine frame is still accepted
+    assertEquals(FrameFailureReason.OK, factory.unpack("udp", ByteBuffer.wrap(frame)).orElseThrow().getFrame().getValidated());
+  }
+
+  @Test
+  void timestampFarAheadOfTheLocalClockIsRejected() throws Exception {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x23);
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec, new StaticSigningKeyProvider(key));
+    frameCodec.setSigningTimestampTable(new SigningTimestampTable());
+    MavlinkEventFactory factory = new MavlinkEventFactory(frameCodec, new SystemContextManager());
+
+    frameCodec.setSigningContext(new SigningContext() {
+      @Override
+      public int linkId(int systemId, int componentId) {
+        return 0;
+      }
+
+      @Override
+      public long nextTimestamp() {
+        return 0xFFFFFFFFFFFFL;
+      }
+    });
+    byte[] future = encodeSigned(payloadCodec, frameCodec);
+    assertEquals(FrameFailureReason.REPLAYED, factory.unpack("udp", ByteBuffer.wrap(future)).orElseThrow().getFrame().getValidated());
+
+    frameCodec.setSigningContext(new MonotonicSigningContext(0));
+    byte[] current = encodeSigned(payloadCodec, frameCodec);
+    assertEquals(FrameFailureReason.OK, factory.unpack("udp", ByteBuffer.wrap(current)).orElseThrow().getFrame().getValidated());
+  }
+
+  private static byte[] encodeSigned(MavlinkCodec payloadCodec, MavlinkFrameCodec frameCodec) throws Exception {
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(0), ExtensionMode.OMIT_ALL, 3L);
+    ByteBuffer encoded = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(encoded, Version.V2, 7, 4, 1, 0, values, true);
+    return Arrays.copyOf(encoded.array(), encoded.position());
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.framing.MonotonicSigningContext;
+import io.mapsmessaging.mavlink.framing.SigningContext;
+import io.mapsmessaging.mavlink.framing.SigningTimestampTable;
+import io.mapsmessaging.mavlink.framing.V2SigningEngine;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.Version;
+import io.mapsmessaging.mavlink.signing.MapSigningKeyProvider;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningContextTest {
+
+  @Test
+  void timestampsAreUniqueAcrossThreadsAndTrackTheClock() throws Exception {
+    MonotonicSigningContext context = new MonotonicSigningContext(3);
+    long expected = (System.currentTimeMillis() - MonotonicSigningContext.SIGNING_EPOCH_MILLIS) * 100L;
+    long first = context.nextTimestamp();
+    assertTrue(Math.abs(first - expected) < 100_000L, "within a second of the wall clock");
+    assertEquals(3, context.linkId(1, 1));
+
+    Set<Long> seen = ConcurrentHashMap.newKeySet();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] = new Thread(() -> {
+        long previous = 0;
+        for (int i = 0; i < 20_000; i++) {
+          long timestamp = context.nextTimestamp();
+          assertTrue(timestamp > previous);
+          assertTrue(seen.add(timestamp), "duplicate timestamp");
+          previous = timestamp;
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(80_000, seen.size());
+    assertThrows(IllegalArgumentException.class, () -> new MonotonicSigningContext(256));
+  }
+
+  @Test
+  void burstOfSignedFramesPassesReplayProtection() throws Exception {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x31);
+    MapSigningKeyProvider keys = new MapSigningKeyProvider();
+    keys.register(1, 1, 7, key);
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec sender = new MavlinkFrameCodec(payloadCodec, keys);
+    sender.setSigningContext(new MonotonicSigningContext(7));
+    MavlinkFrameCodec receiver = new MavlinkFrameCodec(payloadCodec, keys);
+    receiver.setSigningTimestampTable(new SigningTimestampTable());
+
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(0), ExtensionMode.OMIT_ALL, 5L);
+    ByteBuffer network = ByteBuffer.allocate(64 * 1024);
+    for (int i = 0; i < 500; i++) {
+      sender.encodeFrame(network, Version.V2, i & 0xFF, 1, 1, 0, values, true);
+    }
+    network.flip();
+
+    int[] count = {0};
+    receiver.drainFrames(network, frame -> {
+      assertEquals(FrameFailureReason.OK, frame.getValidated());
+      assertEquals(7, frame.getSignature()[0]);
+      count[0]++;
+    });
+    assertEquals(500, count[0]);
+  }
+
+  @Test
+  void customContextChoosesLinkPerFrame() throws Exception {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x44);
+    MapSigningKeyProvider keys = new MapSigningKeyProvider();
+    keys.register(2, MapSigningKeyProvider.ANY, MapSigningKeyProvider.ANY, key);
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec codec = new MavlinkFrameCodec(payloadCodec, keys);
+    codec.setSigningContext(new SigningContext() {
+      @Override
+      public int linkId(int systemId, int componentId) {
+        return componentId + 10;
+      }
+
+      @Override
+      public long nextTimestamp() {
+        return 42L;
+      }
+    });
+
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(0), ExtensionMode.OMIT_ALL, 5L);
+    ByteBuffer out = ByteBuffer.allocate(300);
+    int length = codec.encodeFrame(out, Version.V2, 0, 2, 5, 0, values, true);
+    int signatureIndex = length - 13;
+    assertEquals(15, V2SigningEngine.readLinkId(out, signatureIndex));
+    assertEquals(42L, V2SigningEngine.readTimestamp(out, signatureIndex));
+
+    out.flip();
+    Frame decoded = codec.tryUnpackFrame(out).orElseThrow();
+    assertEquals(FrameFailureReason.OK, decoded.getValidated());
+    assertArrayEquals(Arrays.copyOfRange(out.array(), signatureIndex, length), decoded.getSignature());
+    assertThrows(NullPointerException.class, () -> codec.setSigningContext(null));
+  }
+}
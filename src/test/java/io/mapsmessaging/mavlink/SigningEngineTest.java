@@ -0,0 +1,94 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.framing.V2FrameSigning;
+import io.mapsmessaging.mavlink.framing.V2SigningEngine;
+import io.mapsmessaging.mavlink.signing.StaticSigningKeyProvider;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningEngineTest {
+
+  @Test
+  void signsInPlaceFromHeapSlicedAndDirectBuffers() throws Exception {
+    Random random = new Random(21);
+    byte[] key = new byte[32];
+    random.nextBytes(key);
+    byte[] packet = new byte[1 + 10 + 40 + 2];
+    random.nextBytes(packet);
+
+    long timestamp = 0x0102030405060708L;
+    MessageDigest sha = MessageDigest.getInstance("SHA-256");
+    sha.update(key);
+    sha.update(packet);
+    sha.update(new byte[]{3, 0x08, 0x07, 0x06, 0x05, 0x04, 0x03});
+    byte[] expectedHash = Arrays.copyOf(sha.digest(), 6);
+
+    ByteBuffer heap = ByteBuffer.allocate(packet.length + 13);
+    ByteBuffer sliced = ByteBuffer.allocate(packet.length + 13 + 7).position(7).slice();
+    ByteBuffer direct = ByteBuffer.allocateDirect(packet.length + 13);
+    for (ByteBuffer buffer : new ByteBuffer[]{heap, sliced, direct}) {
+      buffer.put(packet);
+      V2SigningEngine.get().sign(buffer, 0, packet.length - 2, 3, timestamp, key, packet.length);
+      assertEquals(packet.length, buffer.position(), "position untouched");
+
+      byte[] block = new byte[13];
+      buffer.get(packet.length, block);
+      assertEquals(3, block[0]);
+      assertArrayEquals(new byte[]{0x08, 0x07, 0x06, 0x05, 0x04, 0x03}, Arrays.copyOfRange(block, 1, 7));
+      assertArrayEquals(expectedHash, Arrays.copyOfRange(block, 7, 13));
+
+      V2SigningEngine engine = V2SigningEngine.get();
+      assertEquals(3, V2SigningEngine.readLinkId(buffer, packet.length));
+      assertEquals(timestamp & 0xFFFFFFFFFFFFL, V2SigningEngine.readTimestamp(buffer, packet.length));
+      assertTrue(engine.verify(buffer, 0, packet.length - 2, key, packet.length));
+      buffer.put(packet.length + 12, (byte) (buffer.get(packet.length + 12) ^ 0x80));
+      assertFalse(engine.verify(buffer, 0, packet.length - 2, key, packet.length));
+      assertFalse(engine.verify(buffer, 0, packet.length - 2, key, packet.length + 1), "block past the limit");
+    }
+
+    assertThrows(IllegalArgumentException.class,
+        () -> V2SigningEngine.get().sign(heap, 0, packet.length - 2, 0, 0, key, packet.length + 1));
+  }
+
+  @Test
+  void appendedSignatureValidates() {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x42);
+    byte[] unsigned = new byte[1 + 10 + 9 + 2];
+    new Random(7).nextBytes(unsigned);
+
+    ByteBuffer signed = V2FrameSigning.appendSignature(ByteBuffer.wrap(unsigned), 1, 123456L, key);
+    assertEquals(unsigned.length + 13, signed.remaining());
+    StaticSigningKeyProvider provider = new StaticSigningKeyProvider(key);
+    assertTrue(V2FrameSigning.validateSignature(signed, 0, unsigned.length - 2, 1, 1, provider));
+
+    signed.put(3, (byte) (signed.get(3) ^ 1));
+    assertFalse(V2FrameSigning.validateSignature(signed, 0, unsigned.length - 2, 1, 1, provider));
+  }
+}
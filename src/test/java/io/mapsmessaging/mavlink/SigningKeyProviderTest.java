@@ -0,0 +1,121 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.framing.SigningKeyProvider;
+import io.mapsmessaging.mavlink.signing.CachingSigningKeyProvider;
+import io.mapsmessaging.mavlink.signing.MapSigningKeyProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.mapsmessaging.mavlink.signing.MapSigningKeyProvider.ANY;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SigningKeyProviderTest {
+
+  @Test
+  void exactAndWildcardResolution() {
+    byte[] exact = key(1);
+    byte[] componentAnyLink = key(2);
+    byte[] anyComponentLink = key(3);
+    byte[] anyAny = key(4);
+
+    MapSigningKeyProvider provider = new MapSigningKeyProvider();
+    assertNull(provider.getSigningKey(1, 1, 0));
+
+    provider.register(1, 1, 0, exact);
+    assertArrayEquals(exact, provider.getSigningKey(1, 1, 0));
+    assertNull(provider.getSigningKey(1, 1, 1));
+    assertNull(provider.getSigningKey(1, 2, 0));
+
+    provider.register(1, 1, ANY, componentAnyLink);
+    provider.register(1, ANY, 5, anyComponentLink);
+    provider.register(1, ANY, ANY, anyAny);
+    assertArrayEquals(exact, provider.getSigningKey(1, 1, 0));
+    assertArrayEquals(componentAnyLink, provider.getSigningKey(1, 1, 5));
+    assertArrayEquals(anyComponentLink, provider.getSigningKey(1, 9, 5));
+    assertArrayEquals(anyAny, provider.getSigningKey(1, 9, 6));
+    assertNull(provider.getSigningKey(2, 1, 0), "wildcards never cross systems");
+    assertNull(provider.getSigningKey(1, 256, 0));
+    assertSame(provider.getSigningKey(1, 9, 6), provider.getSigningKey(1, 9, 6));
+
+    provider.unregister(1, ANY, ANY);
+    assertNull(provider.getSigningKey(1, 9, 6));
+    provider.unregister(1, 1, 0);
+    assertArrayEquals(componentAnyLink, provider.getSigningKey(1, 1, 0));
+
+    // Registered keys are copied
+    byte[] mutable = key(7);
+    provider.register(3, 3, 3, mutable);
+    Arrays.fill(mutable, (byte) 0);
+    assertArrayEquals(key(7), provider.getSigningKey(3, 3, 3));
+
+    assertThrows(IllegalArgumentException.class, () -> provider.register(ANY, 1, 1, exact));
+    assertThrows(IllegalArgumentException.class, () -> provider.register(1, 300, 1, exact));
+  }
+
+  @Test
+  void cachingProviderMemoisesPerThreadUntilInvalidated() throws Exception {
+    AtomicInteger lookups = new AtomicInteger();
+    MapSigningKeyProvider map = new MapSigningKeyProvider();
+    map.register(1, 1, 0, key(1));
+    map.register(2, 1, 0, key(2));
+    SigningKeyProvider counting = new SigningKeyProvider() {
+      @Override
+      public boolean canValidate() {
+        return true;
+      }
+
+      @Override
+      public byte[] getSigningKey(int systemId, int componentId, int linkId) {
+        lookups.incrementAndGet();
+        return map.getSigningKey(systemId, componentId, linkId);
+      }
+    };
+    CachingSigningKeyProvider cache = new CachingSigningKeyProvider(counting);
+
+    for (int i = 0; i < 100; i++) {
+      assertArrayEquals(key(1), cache.getSigningKey(1, 1, 0));
+    }
+    assertEquals(1, lookups.get());
+    assertArrayEquals(key(2), cache.getSigningKey(2, 1, 0));
+    assertEquals(2, lookups.get());
+
+    map.register(2, 1, 0, key(9));
+    assertArrayEquals(key(2), cache.getSigningKey(2, 1, 0), "stale until invalidated");
+    cache.invalidate();
+    assertArrayEquals(key(9), cache.getSigningKey(2, 1, 0));
+
+    Thread other = new Thread(() -> cache.getSigningKey(2, 1, 0));
+    other.start();
+    other.join();
+    assertEquals(4, lookups.get(), "each thread has its own entry");
+    assertTrue(cache.canValidate());
+  }
+
+  private static byte[] key(int fill) {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) fill);
+    return key;
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.MavlinkRoundTripAllMessagesTest.ExtensionMode;
+import io.mapsmessaging.mavlink.codec.MavlinkCodec;
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.context.FrameFailureReason;
+import io.mapsmessaging.mavlink.context.StreamDecoderConfig;
+import io.mapsmessaging.mavlink.context.StreamStats;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.Version;
+import io.mapsmessaging.mavlink.signing.StaticSigningKeyProvider;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamDecoderTest {
+
+  @Test
+  void interleavedStreamsKeepPartialFramesAndCounters() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    StreamDecoderConfig config = new StreamDecoderConfig();
+    config.setDirectBuffers(true);
+    config.setBufferSize(1024);
+    StreamDecoder decoder = new StreamDecoder(frameCodec, config);
+
+    byte[] streamA = new byte[0];
+    byte[] streamB = new byte[0];
+    for (int i = 0; i < 20; i++) {
+      streamA = concat(streamA, encode(frameCodec, payloadCodec, 0, 1, i));
+      streamB = concat(streamB, new byte[]{0x11, 0x22, 0x33}); // noise
+      streamB = concat(streamB, encode(frameCodec, payloadCodec, 30, 2, i));
+    }
+    byte[] corrupt = encode(frameCodec, payloadCodec, 0, 3, 0);
+    corrupt[corrupt.length - 1] ^= 0x5A;
+    streamB = concat(streamB, corrupt);
+    byte[] partial = encode(frameCodec, payloadCodec, 0, 1, 99);
+    streamA = concat(streamA, Arrays.copyOf(partial, 5));
+
+    List<Frame> framesA = new ArrayList<>();
+    List<Frame> framesB = new ArrayList<>();
+    // Feed both streams in small uneven chunks, interleaved, so frames straddle reads
+    int a = 0;
+    int b = 0;
+    int step = 1;
+    while (a < streamA.length || b < streamB.length) {
+      int lenA = Math.min(step, streamA.length - a);
+      decoder.decode("udp:a", ByteBuffer.wrap(streamA, a, lenA), f -> framesA.add(f.toFrame()), 0L);
+      a += lenA;
+      int lenB = Math.min(step + 3, streamB.length - b);
+      decoder.decode("serial:b", ByteBuffer.wrap(streamB, b, lenB), f -> framesB.add(f.toFrame()), 0L);
+      b += lenB;
+      step = step % 37 + 1;
+    }
+
+    assertEquals(20, framesA.size());
+    assertEquals(21, framesB.size());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(i, framesA.get(i).getSequence());
+      assertEquals(1, framesA.get(i).getSystemId());
+      assertEquals(30, framesB.get(i).getMessageId());
+      assertFalse(framesB.get(i).getValidated().isIntegrityFailure());
+    }
+    assertEquals(FrameFailureReason.CRC_FAILED, framesB.get(20).getValidated());
+
+    StreamStats statsA = decoder.getStats("udp:a").orElseThrow();
+    assertEquals(streamA.length, statsA.getBytesReceived());
+    assertEquals(20, statsA.getFramesDecoded());
+    assertEquals(0, statsA.getResyncBytesSkipped());
+    assertEquals(5, statsA.getBufferedBytes());
+
+    StreamStats statsB = decoder.getStats("serial:b").orElseThrow();
+    assertEquals(streamB.length, statsB.getBytesReceived());
+    assertEquals(21, statsB.getFramesDecoded());
+    assertEquals(1, statsB.getCrcFailures());
+    assertEquals(0, statsB.getSignatureFailures());
+    assertEquals(60, statsB.getResyncBytesSkipped());
+    assertEquals(0, statsB.getBufferedBytes());
+
+    // The partial frame completes on the next read
+    decoder.decode("udp:a", ByteBuffer.wrap(partial, 5, partial.length - 5), f -> framesA.add(f.toFrame()), 0L);
+    assertEquals(21, framesA.size());
+    assertEquals(99, framesA.get(20).getSequence());
+  }
+
+  @Test
+  void idleStreamsAreEvictedAndBuffersReused() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    StreamDecoderConfig config = new StreamDecoderConfig();
+    config.setIdleTtlNanos(1_000L);
+    StreamDecoder decoder = new StreamDecoder(frameCodec, config);
+
+    byte[] frame = encode(frameCodec, payloadCodec, 0, 1, 0);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(1, decoder.decode("peer-" + i, ByteBuffer.wrap(frame), f -> { }, i < 5 ? 0L : 5_000L));
+    }
+    assertEquals(10, decoder.getStreamCount());
+    assertEquals(5, decoder.sweep(5_500L));
+    assertEquals(5, decoder.getStreamCount());
+    assertTrue(decoder.getStats("peer-0").isEmpty());
+    assertEquals(5, decoder.snapshotAll().size());
+
+    // An evicted stream comes back fresh, without the old partial data or counters
+    assertEquals(1, decoder.decode("peer-0", ByteBuffer.wrap(frame), f -> { }, 6_000L));
+    assertEquals(1, decoder.getStats("peer-0").orElseThrow().getFramesDecoded());
+    assertTrue(decoder.remove("peer-0"));
+    assertFalse(decoder.remove("peer-0"));
+
+    StreamDecoderConfig tooSmall = new StreamDecoderConfig();
+    tooSmall.setBufferSize(100);
+    assertThrows(IllegalArgumentException.class, () -> new StreamDecoder(frameCodec, tooSmall));
+  }
+
+  @Test
+  void racingRemoveAndSweepNeverPoolABufferTwice() throws Exception {
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec);
+    StreamDecoderConfig config = new StreamDecoderConfig();
+    config.setIdleTtlNanos(0L);
+    StreamDecoder decoder = new StreamDecoder(frameCodec, config);
+    byte[] frame = encode(frameCodec, payloadCodec, 0, 1, 0);
+
+    for (int i = 0; i < 500; i++) {
+      decoder.decode("s", ByteBuffer.wrap(frame, 0, 3), f -> { }, 0L);
+      boolean[] removed = new boolean[1];
+      int[] swept = new int[1];
+      Thread remover = new Thread(() -> removed[0] = decoder.remove("s"));
+      Thread sweeper = new Thread(() -> swept[0] = decoder.sweep(10L));
+      remover.start();
+      sweeper.start();
+      remover.join();
+      sweeper.join();
+      assertEquals(1, swept[0] + (removed[0] ? 1 : 0), "exactly one of remove and sweep closes the stream");
+    }
+
+    // Every pooled buffer is handed to at most one stream: interleaved partial frames stay intact
+    int streams = 64;
+    for (int s = 0; s < streams; s++) {
+      decoder.decode("p" + s, ByteBuffer.wrap(frame, 0, 7), f -> { }, 100L);
+    }
+    int[] delivered = {0};
+    for (int s = 0; s < streams; s++) {
+      decoder.decode("p" + s, ByteBuffer.wrap(frame, 7, frame.length - 7), f -> delivered[0]++, 100L);
+    }
+    assertEquals(streams, delivered[0]);
+  }
+
+  @Test
+  void signatureFailuresAreCountedApartFromCrcFailures() throws Exception {
+    byte[] key = new byte[32];
+    Arrays.fill(key, (byte) 0x31);
+    MavlinkCodec payloadCodec = MavlinkTestSupport.codec();
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(payloadCodec, new StaticSigningKeyProvider(key));
+    StreamDecoder decoder = new StreamDecoder(frameCodec, new StreamDecoderConfig());
+
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(0), ExtensionMode.OMIT_ALL, 1L);
+    ByteBuffer out = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(out, Version.V2, 0, 1, 1, 0, values, true);
+    byte[] signed = Arrays.copyOf(out.array(), out.position());
+    signed[signed.length - 1] ^= 0x01; // last hash byte
+
+    List<Frame> frames = new ArrayList<>();
+    assertEquals(1, decoder.decode("s", ByteBuffer.wrap(signed), f -> frames.add(f.toFrame()), 0L));
+    assertEquals(FrameFailureReason.SIGNATURE_FAILED, frames.get(0).getValidated());
+
+    StreamStats stats = decoder.getStats("s").orElseThrow();
+    assertEquals(0, stats.getCrcFailures());
+    assertEquals(1, stats.getSignatureFailures());
+  }
+
+  private static byte[] encode(MavlinkFrameCodec frameCodec, MavlinkCodec payloadCodec, int messageId, int systemId,
+                               int sequence) throws Exception {
+    Map<String, Object> values = RandomValueFactory.buildValues(
+        payloadCodec.getRegistry(), payloadCodec.getRegistry().byId(messageId), ExtensionMode.OMIT_ALL, sequence);
+    ByteBuffer out = ByteBuffer.allocate(300);
+    frameCodec.encodeFrame(out, Version.V2, sequence, systemId, 1, messageId, values, false);
+    return Arrays.copyOf(out.array(), out.position());
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) {
+    byte[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+}
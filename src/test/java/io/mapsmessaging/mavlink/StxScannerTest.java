@@ -0,0 +1,100 @@
+/*
+ *  Copyright [ 2020 - 2024 ] Matthew Buckton
+ *  Copyright [ 2024 - 2026 ] MapsMessaging B.V.
+ *
+ *  Licensed under the Apache License, Version 2.0 with the Commons Clause
+ *  (the "License"); you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at:
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *      https://commonsclause.com/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+
+package io.mapsmessaging.mavlink;
+
+import io.mapsmessaging.mavlink.codec.MavlinkFrameCodec;
+import io.mapsmessaging.mavlink.framing.StxScanner;
+import io.mapsmessaging.mavlink.message.Frame;
+import io.mapsmessaging.mavlink.message.Version;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StxScannerTest {
+
+  @Test
+  void matchesBytewiseScan_heapAndDirect() {
+    Random random = new Random(42);
+    for (int round = 0; round < 500; round++) {
+      byte[] data = new byte[1 + random.nextInt(100)];
+      for (int i = 0; i < data.length; i++) {
+        // Mostly values next to the markers to exercise the bit trick edges
+        int pick = random.nextInt(10);
+        data[i] = (byte) (pick == 0 ? 0xFD : pick == 1 ? 0xFE : 0xF8 + random.nextInt(4) + (random.nextBoolean() ? 7 : 0));
+      }
+      ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+      ByteBuffer heap = ByteBuffer.wrap(data);
+      int from = random.nextInt(data.length);
+      int expected = bytewise(data, from);
+      assertEquals(expected, StxScanner.indexOfStx(heap, from, data.length));
+      assertEquals(expected, StxScanner.indexOfStx(direct, from, data.length));
+    }
+  }
+
+  @Test
+  void noStx_returnsLimit() {
+    byte[] data = new byte[37];
+    assertEquals(37, StxScanner.indexOfStx(ByteBuffer.wrap(data), 0, 37));
+    assertEquals(20, StxScanner.indexOfStx(ByteBuffer.wrap(data), 3, 20));
+  }
+
+  @Test
+  void implausibleHeadersAreSkippedWithoutWaiting() throws Exception {
+    MavlinkFrameCodec frameCodec = new MavlinkFrameCodec(MavlinkTestSupport.codec());
+
+    ByteBuffer network = ByteBuffer.allocate(2048);
+    for (int i = 0; i < 50; i++) {
+      network.put(new byte[]{(byte) 0xFD, (byte) 0xF0, (byte) 0x80, 0, 0, 1, 1, 0, 0, 0, 0}); // unsupported incompat flag
+      network.put(new byte[]{(byte) 0xFD, (byte) 0xF0, 0, 0, 0, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0}); // unknown id
+      network.put(new byte[]{(byte) 0xFE, (byte) 0xF0, 0, 1, 1, (byte) 0xF0}); // unknown v1 id
+    }
+    Frame frame = new Frame();
+    frame.setVersion(Version.V2);
+    frame.setSystemId(1);
+    frame.setComponentId(1);
+    frameCodec.encodePayloadIntoFrame(frame, 0, Map.of(
+        "type", 2, "autopilot", 3, "base_mode", 0, "custom_mode", 0, "system_status", 4, "mavlink_version", 3));
+    frameCodec.packFrame(network, frame);
+    network.flip();
+
+    int[] count = new int[1];
+    assertEquals(1, frameCodec.drainFrames(network, decoded -> {
+      assertEquals(0, decoded.getMessageId());
+      count[0]++;
+    }));
+    assertEquals(1, count[0]);
+    assertEquals(0, network.position(), "nothing left to wait for");
+  }
+
+  private static int bytewise(byte[] data, int from) {
+    for (int i = from; i < data.length; i++) {
+      int value = data[i] & 0xFF;
+      if (value == 0xFD || value == 0xFE) {
+        return i;
+      }
+    }
+    return data.length;
+  }
+}
@@ -23,6 +23,8 @@ package io.mapsmessaging.mavlink;
 import io.mapsmessaging.mavlink.codec.MavlinkCodec;
 import io.mapsmessaging.mavlink.message.CompiledField;
 import io.mapsmessaging.mavlink.message.CompiledMessage;
+import io.mapsmessaging.mavlink.message.MessageDefinition;
+import io.mapsmessaging.mavlink.message.MessageLookupTable;
 import io.mapsmessaging.mavlink.message.MessageRegistry;
 import io.mapsmessaging.mavlink.message.fields.FieldDefinition;
 import java.util.HashSet;
@@ -62,6 +64,68 @@ class TestMavlinkRegistryInvariants {
     Assertions.assertNotNull(registry.getCompiledMessagesById().get(148));
   }
 
+  @Test
+  void lookupTableAgreesWithIdMap() throws Exception {
+    MessageRegistry registry = MavlinkTestSupport.registry(MavlinkTestSupport.codec());
+    MessageLookupTable table = registry.getLookupTable();
+
+    for (CompiledMessage message : registry.getCompiledMessages()) {
+      int id = message.getMessageId();
+      Assertions.assertSame(registry.getCompiledMessagesById().get(id), registry.byId(id));
+      Assertions.assertEquals(message.getCrcExtra() & 0xFF, table.crcExtra(id));
+      Assertions.assertEquals(message.getMinimumPayloadSizeBytes(), table.minimumPayloadLength(id));
+      Assertions.assertEquals(message.getPayloadSizeBytes(), table.maximumPayloadLength(id));
+    }
+    for (int id : new int[]{-1, 65535, 65536, 0xFFFFFF, Integer.MAX_VALUE}) {
+      Assertions.assertNull(registry.byId(id));
+      Assertions.assertEquals(MessageLookupTable.UNKNOWN, table.crcExtra(id));
+    }
+  }
+
+  @Test
+  void minimumPayloadSizeIsBaseFieldsOnly() throws Exception {
+    MessageRegistry registry = MavlinkTestSupport.registry(MavlinkTestSupport.codec());
+
+    for (CompiledMessage message : registry.getCompiledMessages()) {
+      int base = 0;
+      for (CompiledField field : message.getCompiledFields()) {
+        if (!field.getFieldDefinition().isExtension()) {
+          base += field.getSizeInBytes();
+        }
+      }
+      Assertions.assertEquals(base, message.getMinimumPayloadSizeBytes(), message.getName());
+      Assertions.assertTrue(message.getMinimumPayloadSizeBytes() <= message.getPayloadSizeBytes());
+      Assertions.assertTrue(message.getPayloadSizeBytes() <= registry.getLargestPayloadSizeBytes());
+    }
+    Assertions.assertEquals(9, registry.byId(0).getMinimumPayloadSizeBytes());
+    Assertions.assertEquals(31, registry.byId(1).getMinimumPayloadSizeBytes());
+    Assertions.assertTrue(registry.byId(1).getPayloadSizeBytes() > 31);
+  }
+
+  @Test
+  void lookupTableResolvesIdsAboveDirectRange() {
+    CompiledMessage low = syntheticMessage(5);
+    CompiledMessage high = syntheticMessage(70000);
+    CompiledMessage higher = syntheticMessage(0xFFFFFF);
+    MessageLookupTable table = new MessageLookupTable(List.of(higher, low, high));
+
+    Assertions.assertSame(low, table.byId(5));
+    Assertions.assertSame(high, table.byId(70000));
+    Assertions.assertSame(higher, table.byId(0xFFFFFF));
+    Assertions.assertNull(table.byId(70001));
+    Assertions.assertEquals(0x42, table.crcExtra(70000));
+  }
+
+  private static CompiledMessage syntheticMessage(int id) {
+    MessageDefinition definition = new MessageDefinition();
+    definition.setMessageId(id);
+    definition.setExtraCrc(0x42);
+    CompiledMessage message = new CompiledMessage();
+    message.setMessageId(id);
+    message.setMessageDefinition(definition);
+    return message;
+  }
+
   @Test
   void compiledFieldLayoutIsMonotonicAndMatchesPayloadSize() throws Exception {
     MavlinkCodec codec = MavlinkTestSupport.codec();
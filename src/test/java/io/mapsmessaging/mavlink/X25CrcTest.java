@@ -24,7 +24,9 @@ import io.mapsmessaging.mavlink.message.X25Crc;
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -152,6 +154,46 @@ class X25CrcTest {
 
   }
 
+  @Test
+  void testTableMatchesBitwiseReference() {
+    Random random = new Random(0x5EED);
+    byte[] data = new byte[300];
+    random.nextBytes(data);
+
+    for (int length = 0; length <= data.length; length += 7) {
+      X25Crc crc = new X25Crc();
+      crc.update(data, 0, length);
+      assertEquals(bitwiseReference(data, 0, length), crc.getCrc(), "length=" + length);
+    }
+  }
+
+  @Test
+  void testByteBufferRegionMatchesArray_heapDirectAndByteOrder() {
+    Random random = new Random(42);
+    byte[] data = new byte[263];
+    random.nextBytes(data);
+
+    ByteBuffer heap = ByteBuffer.wrap(data);
+    ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+    direct.put(data);
+    direct.flip();
+    ByteBuffer bigEndianDirect = direct.duplicate().order(ByteOrder.BIG_ENDIAN);
+    ByteBuffer littleEndianDirect = direct.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    ByteBuffer readOnly = heap.asReadOnlyBuffer();
+
+    for (int index = 0; index < 20; index++) {
+      for (int length = 0; index + length <= data.length; length += 13) {
+        int expected = X25Crc.calculate(data, index, length);
+
+        assertEquals(expected, X25Crc.calculate(heap, index, length));
+        assertEquals(expected, X25Crc.calculate(bigEndianDirect, index, length));
+        assertEquals(expected, X25Crc.calculate(littleEndianDirect, index, length));
+        assertEquals(expected, X25Crc.calculate(readOnly, index, length));
+      }
+    }
+    assertEquals(0, direct.position(), "absolute reads must not move the buffer position");
+  }
+
   private static void accumulateString(X25Crc crc, String text) {
     byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
     crc.update(bytes);
@@ -162,4 +204,15 @@ class X25CrcTest {
     accumulateString(crc, name + " ");
     // No array_length here for HEARTBEAT fields
   }
-}
\ No newline at end of file
+
+  private static int bitwiseReference(byte[] data, int offset, int length) {
+    int crc = 0xFFFF;
+    for (int index = offset; index < offset + length; index++) {
+      crc ^= data[index] & 0xFF;
+      for (int bit = 0; bit < 8; bit++) {
+        crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x8408 : crc >>> 1;
+      }
+    }
+    return crc & 0xFFFF;
+  }
+}